@@ -0,0 +1,21 @@
+package com.carousel.inventory.config;
+
+import feign.RequestInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+
+@Configuration
+public class FeignConfig {
+    // Asks other services for CBOR, with JSON as the fallback
+    @Bean
+    @ConditionalOnProperty(name = "carousel.feign.prefer-cbor", havingValue = "true", matchIfMissing = true)
+    public RequestInterceptor cborAcceptInterceptor() {
+        return template -> {
+            if (!template.headers().containsKey(HttpHeaders.ACCEPT)) {
+                template.header(HttpHeaders.ACCEPT, "application/cbor", "application/json;q=0.9");
+            }
+        };
+    }
+}
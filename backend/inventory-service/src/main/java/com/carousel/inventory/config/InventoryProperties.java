@@ -0,0 +1,657 @@
+package com.carousel.inventory.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "carousel.inventory")
+public class InventoryProperties {
+    private AuthorizationCache authorizationCache = new AuthorizationCache();
+    private Items items = new Items();
+    private Export export = new Export();
+    private BulkImport bulkImport = new BulkImport();
+    private TypeCatalog typeCatalog = new TypeCatalog();
+    private Search search = new Search();
+    private Summary summary = new Summary();
+    private Changes changes = new Changes();
+    private Stream stream = new Stream();
+    private Reservations reservations = new Reservations();
+    private Ledger ledger = new Ledger();
+    private OptimisticLocking optimisticLocking = new OptimisticLocking();
+    private Idempotency idempotency = new Idempotency();
+    private Locations locations = new Locations();
+    private LowStock lowStock = new LowStock();
+    private Warmup warmup = new Warmup();
+
+    public AuthorizationCache getAuthorizationCache() {
+        return authorizationCache;
+    }
+
+    public void setAuthorizationCache(AuthorizationCache authorizationCache) {
+        this.authorizationCache = authorizationCache;
+    }
+
+    public Items getItems() {
+        return items;
+    }
+
+    public void setItems(Items items) {
+        this.items = items;
+    }
+
+    public Export getExport() {
+        return export;
+    }
+
+    public void setExport(Export export) {
+        this.export = export;
+    }
+
+    public BulkImport getBulkImport() {
+        return bulkImport;
+    }
+
+    public void setBulkImport(BulkImport bulkImport) {
+        this.bulkImport = bulkImport;
+    }
+
+    public TypeCatalog getTypeCatalog() {
+        return typeCatalog;
+    }
+
+    public void setTypeCatalog(TypeCatalog typeCatalog) {
+        this.typeCatalog = typeCatalog;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public void setSearch(Search search) {
+        this.search = search;
+    }
+
+    public Summary getSummary() {
+        return summary;
+    }
+
+    public void setSummary(Summary summary) {
+        this.summary = summary;
+    }
+
+    public Changes getChanges() {
+        return changes;
+    }
+
+    public void setChanges(Changes changes) {
+        this.changes = changes;
+    }
+
+    public Stream getStream() {
+        return stream;
+    }
+
+    public void setStream(Stream stream) {
+        this.stream = stream;
+    }
+
+    public Reservations getReservations() {
+        return reservations;
+    }
+
+    public void setReservations(Reservations reservations) {
+        this.reservations = reservations;
+    }
+
+    public Ledger getLedger() {
+        return ledger;
+    }
+
+    public void setLedger(Ledger ledger) {
+        this.ledger = ledger;
+    }
+
+    public OptimisticLocking getOptimisticLocking() {
+        return optimisticLocking;
+    }
+
+    public void setOptimisticLocking(OptimisticLocking optimisticLocking) {
+        this.optimisticLocking = optimisticLocking;
+    }
+
+    public Idempotency getIdempotency() {
+        return idempotency;
+    }
+
+    public void setIdempotency(Idempotency idempotency) {
+        this.idempotency = idempotency;
+    }
+
+    public Locations getLocations() {
+        return locations;
+    }
+
+    public void setLocations(Locations locations) {
+        this.locations = locations;
+    }
+
+    public LowStock getLowStock() {
+        return lowStock;
+    }
+
+    public void setLowStock(LowStock lowStock) {
+        this.lowStock = lowStock;
+    }
+
+    public Warmup getWarmup() {
+        return warmup;
+    }
+
+    public void setWarmup(Warmup warmup) {
+        this.warmup = warmup;
+    }
+
+    public static class AuthorizationCache {
+        private long ttlSeconds = 60;
+        private int maxEntries = 1000;
+
+        public long getTtlSeconds() {
+            return ttlSeconds;
+        }
+
+        public void setTtlSeconds(long ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    public static class Items {
+        private int defaultPageSize = 50;
+        private int maxPageSize = 200;
+        private int maxBatchSize = 500;
+
+        public int getDefaultPageSize() {
+            return defaultPageSize;
+        }
+
+        public void setDefaultPageSize(int defaultPageSize) {
+            this.defaultPageSize = defaultPageSize;
+        }
+
+        public int getMaxPageSize() {
+            return maxPageSize;
+        }
+
+        public void setMaxPageSize(int maxPageSize) {
+            this.maxPageSize = maxPageSize;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        /**
+         * Page size for a requested limit: the default when none was given, otherwise the limit itself.
+         *
+         * @throws RuntimeException when the limit is outside 1..maxPageSize
+         */
+        public int resolvePageSize(Integer limit) {
+            if (limit == null) {
+                return defaultPageSize;
+            }
+            if (limit < 1 || limit > maxPageSize) {
+                throw new RuntimeException("Page size must be between 1 and " + maxPageSize);
+            }
+            return limit;
+        }
+    }
+
+    public static class Export {
+        private int cursorBatchSize = 500;
+
+        public int getCursorBatchSize() {
+            return cursorBatchSize;
+        }
+
+        public void setCursorBatchSize(int cursorBatchSize) {
+            this.cursorBatchSize = cursorBatchSize;
+        }
+    }
+
+    public static class BulkImport {
+        private int batchSize = 500;
+        private int maxReportedErrors = 1000;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxReportedErrors() {
+            return maxReportedErrors;
+        }
+
+        public void setMaxReportedErrors(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+    }
+
+    public static class TypeCatalog {
+        private long maxAgeSeconds = 30;
+        private long renameRetryIntervalMillis = 60000;
+        private long moveLeaseSeconds = 300;
+
+        public long getMaxAgeSeconds() {
+            return maxAgeSeconds;
+        }
+
+        public void setMaxAgeSeconds(long maxAgeSeconds) {
+            this.maxAgeSeconds = maxAgeSeconds;
+        }
+
+        public long getRenameRetryIntervalMillis() {
+            return renameRetryIntervalMillis;
+        }
+
+        public void setRenameRetryIntervalMillis(long renameRetryIntervalMillis) {
+            this.renameRetryIntervalMillis = renameRetryIntervalMillis;
+        }
+
+        public long getMoveLeaseSeconds() {
+            return moveLeaseSeconds;
+        }
+
+        public void setMoveLeaseSeconds(long moveLeaseSeconds) {
+            this.moveLeaseSeconds = moveLeaseSeconds;
+        }
+    }
+
+    public static class Search {
+        private int maxResultWindow = 1000;
+
+        public int getMaxResultWindow() {
+            return maxResultWindow;
+        }
+
+        public void setMaxResultWindow(int maxResultWindow) {
+            this.maxResultWindow = maxResultWindow;
+        }
+    }
+
+    public static class Summary {
+        private long cacheTtlSeconds = 15;
+
+        public long getCacheTtlSeconds() {
+            return cacheTtlSeconds;
+        }
+
+        public void setCacheTtlSeconds(long cacheTtlSeconds) {
+            this.cacheTtlSeconds = cacheTtlSeconds;
+        }
+    }
+
+    public static class Changes {
+        private long settleMillis = 1000;
+
+        public long getSettleMillis() {
+            return settleMillis;
+        }
+
+        public void setSettleMillis(long settleMillis) {
+            this.settleMillis = settleMillis;
+        }
+    }
+
+    public static class Stream {
+        private int subscriberBufferSize = 256;
+        private int maxSubscribers = 500;
+        private int dispatcherThreads = 4;
+        private long heartbeatSeconds = 15;
+        private long emitterTimeoutMinutes = 30;
+
+        public int getSubscriberBufferSize() {
+            return subscriberBufferSize;
+        }
+
+        public void setSubscriberBufferSize(int subscriberBufferSize) {
+            this.subscriberBufferSize = subscriberBufferSize;
+        }
+
+        public int getMaxSubscribers() {
+            return maxSubscribers;
+        }
+
+        public void setMaxSubscribers(int maxSubscribers) {
+            this.maxSubscribers = maxSubscribers;
+        }
+
+        public int getDispatcherThreads() {
+            return dispatcherThreads;
+        }
+
+        public void setDispatcherThreads(int dispatcherThreads) {
+            this.dispatcherThreads = dispatcherThreads;
+        }
+
+        public long getHeartbeatSeconds() {
+            return heartbeatSeconds;
+        }
+
+        public void setHeartbeatSeconds(long heartbeatSeconds) {
+            this.heartbeatSeconds = heartbeatSeconds;
+        }
+
+        public long getEmitterTimeoutMinutes() {
+            return emitterTimeoutMinutes;
+        }
+
+        public void setEmitterTimeoutMinutes(long emitterTimeoutMinutes) {
+            this.emitterTimeoutMinutes = emitterTimeoutMinutes;
+        }
+    }
+
+    public static class Reservations {
+        private long defaultTtlSeconds = 900;
+        private long maxTtlSeconds = 86400;
+        private long reaperIntervalMillis = 15000;
+        private int reaperBatchSize = 200;
+        private long retentionDays = 7;
+        private long returnLeaseSeconds = 60;
+
+        public long getDefaultTtlSeconds() {
+            return defaultTtlSeconds;
+        }
+
+        public void setDefaultTtlSeconds(long defaultTtlSeconds) {
+            this.defaultTtlSeconds = defaultTtlSeconds;
+        }
+
+        public long getMaxTtlSeconds() {
+            return maxTtlSeconds;
+        }
+
+        public void setMaxTtlSeconds(long maxTtlSeconds) {
+            this.maxTtlSeconds = maxTtlSeconds;
+        }
+
+        public long getReaperIntervalMillis() {
+            return reaperIntervalMillis;
+        }
+
+        public void setReaperIntervalMillis(long reaperIntervalMillis) {
+            this.reaperIntervalMillis = reaperIntervalMillis;
+        }
+
+        public int getReaperBatchSize() {
+            return reaperBatchSize;
+        }
+
+        public void setReaperBatchSize(int reaperBatchSize) {
+            this.reaperBatchSize = reaperBatchSize;
+        }
+
+        public long getRetentionDays() {
+            return retentionDays;
+        }
+
+        public void setRetentionDays(long retentionDays) {
+            this.retentionDays = retentionDays;
+        }
+
+        public long getReturnLeaseSeconds() {
+            return returnLeaseSeconds;
+        }
+
+        public void setReturnLeaseSeconds(long returnLeaseSeconds) {
+            this.returnLeaseSeconds = returnLeaseSeconds;
+        }
+    }
+
+    public static class Ledger {
+        private long snapshotIntervalMillis = 3600000;
+        private long snapshotSettleSeconds = 60;
+        private int maxHistoryEntries = 500;
+        private long driftReconcileIntervalMillis = 300000;
+        private int driftReconcileBatchSize = 100;
+
+        public long getSnapshotIntervalMillis() {
+            return snapshotIntervalMillis;
+        }
+
+        public void setSnapshotIntervalMillis(long snapshotIntervalMillis) {
+            this.snapshotIntervalMillis = snapshotIntervalMillis;
+        }
+
+        public long getSnapshotSettleSeconds() {
+            return snapshotSettleSeconds;
+        }
+
+        public void setSnapshotSettleSeconds(long snapshotSettleSeconds) {
+            this.snapshotSettleSeconds = snapshotSettleSeconds;
+        }
+
+        public int getMaxHistoryEntries() {
+            return maxHistoryEntries;
+        }
+
+        public void setMaxHistoryEntries(int maxHistoryEntries) {
+            this.maxHistoryEntries = maxHistoryEntries;
+        }
+
+        public long getDriftReconcileIntervalMillis() {
+            return driftReconcileIntervalMillis;
+        }
+
+        public void setDriftReconcileIntervalMillis(long driftReconcileIntervalMillis) {
+            this.driftReconcileIntervalMillis = driftReconcileIntervalMillis;
+        }
+
+        public int getDriftReconcileBatchSize() {
+            return driftReconcileBatchSize;
+        }
+
+        public void setDriftReconcileBatchSize(int driftReconcileBatchSize) {
+            this.driftReconcileBatchSize = driftReconcileBatchSize;
+        }
+    }
+
+    public static class OptimisticLocking {
+        private int maxAttempts = 5;
+        private long initialBackoffMillis = 5;
+        private long maxBackoffMillis = 100;
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getInitialBackoffMillis() {
+            return initialBackoffMillis;
+        }
+
+        public void setInitialBackoffMillis(long initialBackoffMillis) {
+            this.initialBackoffMillis = initialBackoffMillis;
+        }
+
+        public long getMaxBackoffMillis() {
+            return maxBackoffMillis;
+        }
+
+        public void setMaxBackoffMillis(long maxBackoffMillis) {
+            this.maxBackoffMillis = maxBackoffMillis;
+        }
+    }
+
+    public static class Idempotency {
+        private long retentionHours = 24;
+        private long leaseSeconds = 60;
+        private int cacheMaxEntries = 10000;
+
+        public long getRetentionHours() {
+            return retentionHours;
+        }
+
+        public void setRetentionHours(long retentionHours) {
+            this.retentionHours = retentionHours;
+        }
+
+        public long getLeaseSeconds() {
+            return leaseSeconds;
+        }
+
+        public void setLeaseSeconds(long leaseSeconds) {
+            this.leaseSeconds = leaseSeconds;
+        }
+
+        public int getCacheMaxEntries() {
+            return cacheMaxEntries;
+        }
+
+        public void setCacheMaxEntries(int cacheMaxEntries) {
+            this.cacheMaxEntries = cacheMaxEntries;
+        }
+    }
+
+    public static class Locations {
+        private long transferLeaseSeconds = 30;
+        private long transferRecoveryIntervalMillis = 30000;
+        private int recoveryBatchSize = 100;
+        private int transferRetentionDays = 7;
+
+        public long getTransferLeaseSeconds() {
+            return transferLeaseSeconds;
+        }
+
+        public void setTransferLeaseSeconds(long transferLeaseSeconds) {
+            this.transferLeaseSeconds = transferLeaseSeconds;
+        }
+
+        public long getTransferRecoveryIntervalMillis() {
+            return transferRecoveryIntervalMillis;
+        }
+
+        public void setTransferRecoveryIntervalMillis(long transferRecoveryIntervalMillis) {
+            this.transferRecoveryIntervalMillis = transferRecoveryIntervalMillis;
+        }
+
+        public int getRecoveryBatchSize() {
+            return recoveryBatchSize;
+        }
+
+        public void setRecoveryBatchSize(int recoveryBatchSize) {
+            this.recoveryBatchSize = recoveryBatchSize;
+        }
+
+        public int getTransferRetentionDays() {
+            return transferRetentionDays;
+        }
+
+        public void setTransferRetentionDays(int transferRetentionDays) {
+            this.transferRetentionDays = transferRetentionDays;
+        }
+    }
+
+    public static class LowStock {
+        private long debounceSeconds = 3600;
+        private long dispatchIntervalMillis = 10000;
+        private int dispatchBatchSize = 100;
+        private int retentionDays = 7;
+        private int maxListedAlerts = 500;
+
+        public long getDebounceSeconds() {
+            return debounceSeconds;
+        }
+
+        public void setDebounceSeconds(long debounceSeconds) {
+            this.debounceSeconds = debounceSeconds;
+        }
+
+        public long getDispatchIntervalMillis() {
+            return dispatchIntervalMillis;
+        }
+
+        public void setDispatchIntervalMillis(long dispatchIntervalMillis) {
+            this.dispatchIntervalMillis = dispatchIntervalMillis;
+        }
+
+        public int getDispatchBatchSize() {
+            return dispatchBatchSize;
+        }
+
+        public void setDispatchBatchSize(int dispatchBatchSize) {
+            this.dispatchBatchSize = dispatchBatchSize;
+        }
+
+        public int getRetentionDays() {
+            return retentionDays;
+        }
+
+        public void setRetentionDays(int retentionDays) {
+            this.retentionDays = retentionDays;
+        }
+
+        public int getMaxListedAlerts() {
+            return maxListedAlerts;
+        }
+
+        public void setMaxListedAlerts(int maxListedAlerts) {
+            this.maxListedAlerts = maxListedAlerts;
+        }
+    }
+
+    public static class Warmup {
+        private boolean enabled = true;
+        private int recentActorDays = 7;
+        private int maxPrimedUsers = 50;
+        private long maxDurationSeconds = 30;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getRecentActorDays() {
+            return recentActorDays;
+        }
+
+        public void setRecentActorDays(int recentActorDays) {
+            this.recentActorDays = recentActorDays;
+        }
+
+        public int getMaxPrimedUsers() {
+            return maxPrimedUsers;
+        }
+
+        public void setMaxPrimedUsers(int maxPrimedUsers) {
+            this.maxPrimedUsers = maxPrimedUsers;
+        }
+
+        public long getMaxDurationSeconds() {
+            return maxDurationSeconds;
+        }
+
+        public void setMaxDurationSeconds(long maxDurationSeconds) {
+            this.maxDurationSeconds = maxDurationSeconds;
+        }
+    }
+}
@@ -1,40 +1,118 @@
 package com.carousel.inventory.controller;
 
 import com.carousel.inventory.dto.*;
+import com.carousel.inventory.service.IdempotencyService;
+import com.carousel.inventory.service.InventoryAuthorizationService;
+import com.carousel.inventory.service.InventoryChangeHub;
+import com.carousel.inventory.service.InventoryExportService;
+import com.carousel.inventory.service.InventoryImportService;
 import com.carousel.inventory.service.InventoryManagementService;
+import com.carousel.inventory.service.InventorySearchService;
+import com.carousel.inventory.service.InventorySummaryService;
+import com.carousel.inventory.service.InventorySyncService;
+import com.carousel.inventory.service.ItemFields;
+import com.carousel.inventory.service.ItemFileFormat;
+import com.carousel.inventory.service.LocationStockService;
+import com.carousel.inventory.service.LowStockAlertService;
+import com.carousel.inventory.service.QuantityLedgerService;
+import com.carousel.inventory.service.StockReservationService;
+import com.carousel.inventory.service.Tagged;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping
 @Tag(name = "Inventory Management", description = "Manage inventory items and resource types")
 public class InventoryController {
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final InventoryManagementService inventoryService;
+    private final InventoryAuthorizationService authorizationService;
+    private final InventoryExportService exportService;
+    private final InventoryImportService importService;
+    private final InventorySearchService searchService;
+    private final InventorySummaryService summaryService;
+    private final InventorySyncService syncService;
+    private final InventoryChangeHub changeHub;
+    private final StockReservationService reservationService;
+    private final QuantityLedgerService ledgerService;
+    private final IdempotencyService idempotencyService;
+    private final LocationStockService locationStockService;
+    private final LowStockAlertService lowStockAlertService;
 
-    public InventoryController(InventoryManagementService inventoryService) {
+    public InventoryController(
+            InventoryManagementService inventoryService,
+            InventoryAuthorizationService authorizationService,
+            InventoryExportService exportService,
+            InventoryImportService importService,
+            InventorySearchService searchService,
+            InventorySummaryService summaryService,
+            InventorySyncService syncService,
+            InventoryChangeHub changeHub,
+            StockReservationService reservationService,
+            QuantityLedgerService ledgerService,
+            IdempotencyService idempotencyService,
+            LocationStockService locationStockService,
+            LowStockAlertService lowStockAlertService
+    ) {
         this.inventoryService = inventoryService;
+        this.authorizationService = authorizationService;
+        this.exportService = exportService;
+        this.importService = importService;
+        this.searchService = searchService;
+        this.summaryService = summaryService;
+        this.syncService = syncService;
+        this.changeHub = changeHub;
+        this.reservationService = reservationService;
+        this.ledgerService = ledgerService;
+        this.idempotencyService = idempotencyService;
+        this.locationStockService = locationStockService;
+        this.lowStockAlertService = lowStockAlertService;
     }
 
     @GetMapping("/types")
-    @Operation(summary = "Get resource types", description = "List all resource types and subtypes")
+    @Operation(summary = "Get resource types", description = "List all resource types and subtypes; answers If-None-Match with 304 while unchanged")
     public ResponseEntity<List<ResourceTypeDto>> getTypes(@RequestParam String requesterEmail) {
-        return ResponseEntity.ok(inventoryService.getAllTypes(requesterEmail));
+        // A matching If-None-Match is answered with 304 by Spring once the tagged entity is returned
+        Tagged<List<ResourceTypeDto>> types = inventoryService.getAllTypesTagged(requesterEmail);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(types.getEtag())
+                .body(types.getValue());
     }
 
     @GetMapping("/icons")
-    @Operation(summary = "Get icon collection", description = "List common jewelry icons available for type/subtype assignment")
+    @Operation(summary = "Get icon collection", description = "List common jewelry icons available for type/subtype assignment; answers If-None-Match with 304")
     public ResponseEntity<List<String>> getIcons() {
-        return ResponseEntity.ok(inventoryService.getIconCollection());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(inventoryService.getIconCollectionTag())
+                .body(inventoryService.getIconCollection());
     }
 
     @PostMapping("/types")
     @Operation(summary = "Create type or subtype", description = "Create resource type or subtype - InventoryManager/InventoryAdmin/Admin only")
-    public ResponseEntity<ResourceTypeDto> createType(@RequestBody ResourceTypeRequest request, @RequestParam String requesterEmail) {
-        return ResponseEntity.ok(inventoryService.createType(request, requesterEmail));
+    public ResponseEntity<ResourceTypeDto> createType(
+            @RequestBody ResourceTypeRequest request,
+            @RequestParam String requesterEmail,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, requesterEmail, "POST /types", request,
+                ResourceTypeDto.class, () -> inventoryService.createType(request, requesterEmail)));
     }
 
     @PutMapping("/types/{typeId}")
@@ -42,20 +120,139 @@ public class InventoryController {
     public ResponseEntity<ResourceTypeDto> updateType(
             @PathVariable String typeId,
             @RequestBody ResourceTypeRequest request,
+            @RequestParam String requesterEmail,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, requesterEmail, "PUT /types/" + typeId, request,
+                ResourceTypeDto.class, () -> inventoryService.updateType(typeId, request, requesterEmail)));
+    }
+
+    @GetMapping("/types/{typeId}/descendants")
+    @Operation(summary = "Get type descendants", description = "List every type at any depth below the given type")
+    public ResponseEntity<List<ResourceTypeDto>> getTypeDescendants(@PathVariable String typeId, @RequestParam String requesterEmail) {
+        return ResponseEntity.ok(inventoryService.getTypeDescendants(typeId, requesterEmail));
+    }
+
+    @GetMapping("/types/{typeId}/rename-propagation")
+    @Operation(summary = "Get rename propagation progress", description = "Progress of copying a renamed type's name onto its items and child types - InventoryManager/InventoryAdmin/Admin only")
+    public ResponseEntity<RenamePropagationStatus> getRenamePropagation(
+            @PathVariable String typeId,
             @RequestParam String requesterEmail) {
-        return ResponseEntity.ok(inventoryService.updateType(typeId, request, requesterEmail));
+        return ResponseEntity.ok(inventoryService.getRenamePropagation(typeId, requesterEmail));
     }
 
     @GetMapping("/items")
-    @Operation(summary = "Get inventory items", description = "List inventory items and available quantities")
-    public ResponseEntity<List<InventoryItemDto>> getItems(@RequestParam String requesterEmail) {
-        return ResponseEntity.ok(inventoryService.getItems(requesterEmail));
+    @Operation(summary = "Get inventory items", description = "List inventory items and available quantities; fields=id,name,... returns only those columns; answers If-None-Match with 304 while unchanged")
+    public ResponseEntity<?> getItems(
+            @RequestParam String requesterEmail,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        ItemFields selection = ItemFields.parse(fields);
+        String etag = inventoryService.getItemsTag(requesterEmail);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            // Checked before the items are loaded, so an unchanged collection costs only the tag lookups
+            return null;
+        }
+        Object items = selection == null
+                ? inventoryService.getItems(requesterEmail)
+                : inventoryService.getItemRows(requesterEmail, selection);
+        if (etag == null) {
+            return ResponseEntity.ok(items);
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(items);
+    }
+
+    @GetMapping("/items/page")
+    @Operation(summary = "Get inventory item page", description = "List inventory items ordered by name using cursor pagination, optionally filtered by type/subtype or by underTypeId for a whole subtree; fields=id,name,... returns only those columns")
+    public ResponseEntity<?> getItemPage(
+            @RequestParam String requesterEmail,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String resourceTypeId,
+            @RequestParam(required = false) String resourceSubTypeId,
+            @RequestParam(required = false) String underTypeId,
+            @RequestParam(required = false) String fields) {
+        ItemFields selection = ItemFields.parse(fields);
+        if (selection != null) {
+            return ResponseEntity.ok(inventoryService.getItemRowPage(
+                    requesterEmail, cursor, limit, resourceTypeId, resourceSubTypeId, underTypeId, selection));
+        }
+        return ResponseEntity.ok(inventoryService.getItemPage(requesterEmail, cursor, limit, resourceTypeId, resourceSubTypeId, underTypeId));
+    }
+
+    @GetMapping("/items/search")
+    @Operation(summary = "Search inventory items", description = "Ranked search by name prefix and full-text name/description match, paginated by offset and optionally filtered by type/subtype")
+    public ResponseEntity<InventoryItemSearchPage> searchItems(
+            @RequestParam String requesterEmail,
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String resourceTypeId,
+            @RequestParam(required = false) String resourceSubTypeId) {
+        return ResponseEntity.ok(searchService.search(requesterEmail, query, offset, limit, resourceTypeId, resourceSubTypeId));
+    }
+
+    @GetMapping("/items/summary")
+    @Operation(summary = "Get stock summary", description = "Item counts, total available quantity and zero-stock counts per resource type and subtype")
+    public ResponseEntity<InventoryStockSummary> getStockSummary(@RequestParam String requesterEmail) {
+        return ResponseEntity.ok(summaryService.getStockSummary(requesterEmail));
+    }
+
+    @GetMapping("/items/changes")
+    @Operation(summary = "Get item changes", description = "Items created/updated and ids of items deleted after the given watermark; omit the watermark for a full sync")
+    public ResponseEntity<InventoryItemChanges> getItemChanges(
+            @RequestParam String requesterEmail,
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(syncService.getChanges(requesterEmail, since, limit));
+    }
+
+    @GetMapping(value = "/items/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream item changes", description = "Server-Sent Events stream of item create/update/quantity/delete events as they happen")
+    public SseEmitter streamItemChanges(@RequestParam String requesterEmail) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+        return changeHub.subscribe();
+    }
+
+    @GetMapping("/items/export")
+    @Operation(summary = "Export inventory items", description = "Stream the full catalogue as newline-delimited JSON (default) or CSV")
+    public ResponseEntity<StreamingResponseBody> exportItems(
+            @RequestParam String requesterEmail,
+            @RequestParam(required = false) String format) {
+        ItemFileFormat exportFormat = ItemFileFormat.parse(format);
+        StreamingResponseBody body = exportService.exportItems(requesterEmail, exportFormat)::writeTo;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"inventory-items." + exportFormat.getFileExtension() + "\"")
+                .body(body);
+    }
+
+    @PostMapping(value = "/items/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Import inventory items", description = "Bulk-create items from an uploaded CSV or NDJSON file with a per-row error report - InventoryManager/InventoryUser/InventoryAdmin/Admin")
+    public ResponseEntity<InventoryImportReport> importItems(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format,
+            @RequestParam String requesterEmail) {
+        ItemFileFormat fileFormat = format == null || format.isBlank()
+                ? ItemFileFormat.fromFileName(file.getOriginalFilename())
+                : ItemFileFormat.parse(format);
+        try (InputStream input = file.getInputStream()) {
+            return ResponseEntity.ok(importService.importItems(requesterEmail, input, fileFormat));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read import file");
+        }
     }
 
     @PostMapping("/items")
     @Operation(summary = "Create inventory item", description = "Create inventory item - InventoryManager/InventoryUser/InventoryAdmin/Admin")
-    public ResponseEntity<InventoryItemDto> createItem(@RequestBody InventoryItemRequest request, @RequestParam String requesterEmail) {
-        return ResponseEntity.ok(inventoryService.createItem(request, requesterEmail));
+    public ResponseEntity<InventoryItemDto> createItem(
+            @RequestBody InventoryItemRequest request,
+            @RequestParam String requesterEmail,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, requesterEmail, "POST /items", request,
+                InventoryItemDto.class, () -> inventoryService.createItem(request, requesterEmail)));
     }
 
     @PutMapping("/items/{itemId}")
@@ -63,16 +260,163 @@ public class InventoryController {
     public ResponseEntity<InventoryItemDto> updateItem(
             @PathVariable String itemId,
             @RequestBody InventoryItemRequest request,
-            @RequestParam String requesterEmail) {
-        return ResponseEntity.ok(inventoryService.updateItem(itemId, request, requesterEmail));
+            @RequestParam String requesterEmail,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, requesterEmail, "PUT /items/" + itemId, request,
+                InventoryItemDto.class, () -> inventoryService.updateItem(itemId, request, requesterEmail)));
+    }
+
+    @DeleteMapping("/items/{itemId}")
+    @Operation(summary = "Delete inventory item", description = "Delete inventory item and record a tombstone for delta-sync clients - InventoryManager/InventoryUser/InventoryAdmin/Admin")
+    public ResponseEntity<String> deleteItem(
+            @PathVariable String itemId,
+            @RequestParam String requesterEmail,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, requesterEmail, "DELETE /items/" + itemId, null,
+                String.class, () -> {
+                    inventoryService.deleteItem(itemId, requesterEmail);
+                    return "Inventory item deleted successfully";
+                }));
     }
 
     @PatchMapping("/items/{itemId}/quantity")
-    @Operation(summary = "Adjust quantity", description = "Adjust available quantity by delta - InventoryManager/InventoryUser/InventoryAdmin/Admin")
+    @Operation(summary = "Adjust quantity", description = "Adjust available quantity by delta; send an Idempotency-Key header to make retries safe - InventoryManager/InventoryUser/InventoryAdmin/Admin")
     public ResponseEntity<InventoryItemDto> adjustQuantity(
             @PathVariable String itemId,
             @RequestBody QuantityAdjustmentRequest request,
+            @RequestParam String requesterEmail,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, requesterEmail, "PATCH /items/" + itemId + "/quantity", request,
+                InventoryItemDto.class, () -> inventoryService.adjustQuantity(itemId, request.getQuantityDelta(), requesterEmail)));
+    }
+
+    @GetMapping("/items/{itemId}/quantity-ledger")
+    @Operation(summary = "Get quantity ledger", description = "Most recent quantity changes of an item with delta, actor and request id")
+    public ResponseEntity<List<QuantityLedgerEntryDto>> getQuantityLedger(
+            @PathVariable String itemId,
+            @RequestParam(required = false) Integer limit,
             @RequestParam String requesterEmail) {
-        return ResponseEntity.ok(inventoryService.adjustQuantity(itemId, request.getQuantityDelta(), requesterEmail));
+        return ResponseEntity.ok(ledgerService.getLedger(itemId, limit, requesterEmail));
+    }
+
+    @GetMapping("/items/{itemId}/quantity-as-of")
+    @Operation(summary = "Get quantity as of", description = "Reconstruct an item's available quantity at an ISO-8601 local timestamp from the latest snapshot and ledger replay")
+    public ResponseEntity<QuantityAsOf> getQuantityAsOf(
+            @PathVariable String itemId,
+            @RequestParam(required = false) String timestamp,
+            @RequestParam String requesterEmail) {
+        return ResponseEntity.ok(ledgerService.getQuantityAsOf(itemId, timestamp, requesterEmail));
+    }
+
+    @PatchMapping("/items/quantity")
+    @Operation(summary = "Adjust quantities in batch", description = "Apply several quantity deltas after one authorization, with per-item results - InventoryManager/InventoryUser/InventoryAdmin/Admin")
+    public ResponseEntity<BatchQuantityAdjustmentResult> adjustQuantities(
+            @RequestBody BatchQuantityAdjustmentRequest request,
+            @RequestParam String requesterEmail,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, requesterEmail, "PATCH /items/quantity", request,
+                BatchQuantityAdjustmentResult.class, () -> inventoryService.adjustQuantities(request, requesterEmail)));
+    }
+
+    @GetMapping("/items/{itemId}/locations")
+    @Operation(summary = "Get item stock by location", description = "Total, unlocated and per-location quantities of an item")
+    public ResponseEntity<ItemLocationStock> getItemLocations(@PathVariable String itemId, @RequestParam String requesterEmail) {
+        return ResponseEntity.ok(locationStockService.getItemLocations(itemId, requesterEmail));
+    }
+
+    @PatchMapping("/items/{itemId}/locations/{locationId}/quantity")
+    @Operation(summary = "Adjust quantity at location", description = "Adjust an item's quantity at one location by delta; the item total follows - InventoryManager/InventoryUser/InventoryAdmin/Admin")
+    public ResponseEntity<LocationStockDto> adjustQuantityAtLocation(
+            @PathVariable String itemId,
+            @PathVariable String locationId,
+            @RequestBody QuantityAdjustmentRequest request,
+            @RequestParam String requesterEmail,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, requesterEmail, "PATCH /items/" + itemId + "/locations/" + locationId + "/quantity", request,
+                LocationStockDto.class, () -> locationStockService.adjustAtLocation(itemId, locationId, request.getQuantityDelta(), requesterEmail)));
+    }
+
+    @PostMapping("/items/{itemId}/transfers")
+    @Operation(summary = "Transfer stock between locations", description = "Move quantity from one location to another; omit a location to use the unlocated stock - InventoryManager/InventoryUser/InventoryAdmin/Admin")
+    public ResponseEntity<StockTransferDto> transferStock(
+            @PathVariable String itemId,
+            @RequestBody StockTransferRequest request,
+            @RequestParam String requesterEmail,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, requesterEmail, "POST /items/" + itemId + "/transfers", request,
+                StockTransferDto.class, () -> locationStockService.transfer(itemId, request, requesterEmail)));
+    }
+
+    @GetMapping("/transfers/{transferId}")
+    @Operation(summary = "Get transfer", description = "Get stock transfer status")
+    public ResponseEntity<StockTransferDto> getTransfer(@PathVariable String transferId, @RequestParam String requesterEmail) {
+        return ResponseEntity.ok(locationStockService.getTransfer(transferId, requesterEmail));
+    }
+
+    @GetMapping("/locations/{locationId}/items")
+    @Operation(summary = "Get location stock", description = "Items held at a location with their quantities")
+    public ResponseEntity<List<LocationStockDto>> getLocationStock(@PathVariable String locationId, @RequestParam String requesterEmail) {
+        return ResponseEntity.ok(locationStockService.getLocationStock(locationId, requesterEmail));
+    }
+
+    @GetMapping("/alerts/low-stock")
+    @Operation(summary = "Get low-stock alerts", description = "Alerts raised after an ISO-8601 local timestamp (default: the last 24 hours), oldest first")
+    public ResponseEntity<List<StockAlertDto>> getLowStockAlerts(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam String requesterEmail) {
+        return ResponseEntity.ok(lowStockAlertService.getAlerts(since, limit, requesterEmail));
+    }
+
+    @DeleteMapping("/authorization-cache")
+    @Operation(summary = "Invalidate authorization cache", description = "Drop cached authorization for one user, or for everyone when no email is given - InventoryAdmin/Admin")
+    public ResponseEntity<String> invalidateAuthorizationCache(
+            @RequestParam(required = false) String email,
+            @RequestParam String requesterEmail) {
+        authorizationService.invalidate(email, requesterEmail);
+        return ResponseEntity.ok("Authorization cache invalidated");
+    }
+
+    @DeleteMapping("/internal/authorization-cache")
+    @Operation(summary = "Invalidate a user's authorization internally", description = "Internal endpoint used by user-service when an access level changes")
+    public ResponseEntity<String> invalidateUserAuthorizationInternal(@RequestParam String email) {
+        authorizationService.invalidateUser(email);
+        return ResponseEntity.ok("Authorization cache invalidated");
+    }
+
+    @PostMapping("/reservations")
+    @Operation(summary = "Reserve stock", description = "Hold a quantity of an item for a limited time; expired holds are returned automatically - InventoryManager/InventoryUser/InventoryAdmin/Admin")
+    public ResponseEntity<StockReservationDto> reserveStock(
+            @RequestBody StockReservationRequest request,
+            @RequestParam String requesterEmail,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, requesterEmail, "POST /reservations", request,
+                StockReservationDto.class, () -> reservationService.reserve(request, requesterEmail)));
+    }
+
+    @GetMapping("/reservations/{reservationId}")
+    @Operation(summary = "Get reservation", description = "Get stock reservation status")
+    public ResponseEntity<StockReservationDto> getReservation(@PathVariable String reservationId, @RequestParam String requesterEmail) {
+        return ResponseEntity.ok(reservationService.getReservation(reservationId, requesterEmail));
+    }
+
+    @PostMapping("/reservations/{reservationId}/confirm")
+    @Operation(summary = "Confirm reservation", description = "Consume held stock before the reservation expires")
+    public ResponseEntity<StockReservationDto> confirmReservation(
+            @PathVariable String reservationId,
+            @RequestParam String requesterEmail,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, requesterEmail, "POST /reservations/" + reservationId + "/confirm", null,
+                StockReservationDto.class, () -> reservationService.confirm(reservationId, requesterEmail)));
+    }
+
+    @PostMapping("/reservations/{reservationId}/release")
+    @Operation(summary = "Release reservation", description = "Return held stock to the item's available quantity")
+    public ResponseEntity<StockReservationDto> releaseReservation(
+            @PathVariable String reservationId,
+            @RequestParam String requesterEmail,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, requesterEmail, "POST /reservations/" + reservationId + "/release", null,
+                StockReservationDto.class, () -> reservationService.release(reservationId, requesterEmail)));
     }
 }
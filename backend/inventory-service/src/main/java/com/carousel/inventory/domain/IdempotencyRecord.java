@@ -0,0 +1,112 @@
+package com.carousel.inventory.domain;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a mutation sent with an Idempotency-Key, keyed by a hash of the requester and the key.
+ * A record starts as an in-progress claim with a short lease, owned by the request holding its claim token, and is
+ * either completed with the serialized response or marked failed when the mutation broke off with an unknown outcome;
+ * the TTL index drops it once expiresAt passes, whichever state it is in.
+ */
+@Document(collection = "idempotency_records")
+public class IdempotencyRecord {
+    @Id
+    private String id;
+    private String operation;
+    private String fingerprint;
+    private String claimToken;
+    private boolean completed;
+    private boolean failed;
+    private String responseBody;
+    private LocalDateTime createdAt;
+    @Indexed(name = "expires_at_ttl", expireAfterSeconds = 0)
+    private LocalDateTime expiresAt;
+
+    public IdempotencyRecord() {
+    }
+
+    public IdempotencyRecord(String id, String operation, String fingerprint, String claimToken, LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.id = id;
+        this.operation = operation;
+        this.fingerprint = fingerprint;
+        this.claimToken = claimToken;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public String getClaimToken() {
+        return claimToken;
+    }
+
+    public void setClaimToken(String claimToken) {
+        this.claimToken = claimToken;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public void setFailed(boolean failed) {
+        this.failed = failed;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public void setResponseBody(String responseBody) {
+        this.responseBody = responseBody;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -1,30 +1,64 @@
 package com.carousel.inventory.domain;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
 
 @Document(collection = "inventory_items")
+@CompoundIndexes({
+        @CompoundIndex(name = "name_id", def = "{'name': 1, '_id': 1}"),
+        @CompoundIndex(name = "type_name_id", def = "{'resourceTypeId': 1, 'name': 1, '_id': 1}"),
+        @CompoundIndex(name = "subtype_name_id", def = "{'resourceSubTypeId': 1, 'name': 1, '_id': 1}"),
+        @CompoundIndex(name = "name_lower_id", def = "{'nameLower': 1, '_id': 1}"),
+        @CompoundIndex(name = "type_subtype_quantity", def = "{'resourceTypeId': 1, 'resourceSubTypeId': 1, 'availableQuantity': 1}"),
+        @CompoundIndex(name = "updated_at_id", def = "{'updatedAt': 1, '_id': 1}"),
+        @CompoundIndex(name = "type_path_name_id", def = "{'typePath': 1, 'name': 1, '_id': 1}")
+})
 public class InventoryItem {
     @Id
     private String id;
+    @TextIndexed(weight = 3)
     private String name;
+    // Lower-cased copy of name kept in step by the setter, so prefix lookups can use an anchored regex on an index
+    private String nameLower;
+    @TextIndexed
     private String description;
     private String resourceTypeId;
     private String resourceTypeName;
     private String resourceSubTypeId;
     private String resourceSubTypeName;
+    // Ids of every type the item falls under, from the root down to its most specific type, for subtree lookups
+    private List<String> typePath;
     private int availableQuantity;
+    // Part of availableQuantity held at named locations; the rest is unlocated stock that item-level changes draw on
+    private int locatedQuantity;
+    // Transfers whose leg against the unlocated stock has been applied but not yet cleared
+    private List<String> pendingTransferIds;
+    // Bulk adjustments already applied to this item whose callers have not settled them yet
+    private List<String> appliedBatchIds;
+    // Reorder point of this item; null falls back to the nearest type default, 0 turns alerts off for the item
+    private Integer lowStockThreshold;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private boolean ledgerOpened;
+    // Set when a ledger entry for this item could not be written; the reconcile job corrects the ledger and clears it
+    private boolean ledgerDrift;
+    @Version
+    private Long version;
 
     public InventoryItem() {
     }
 
     public InventoryItem(String id, String name, String description, String resourceTypeId, String resourceTypeName, String resourceSubTypeId, String resourceSubTypeName, int availableQuantity, LocalDateTime createdAt, LocalDateTime updatedAt) {
         this.id = id;
-        this.name = name;
+        setName(name);
         this.description = description;
         this.resourceTypeId = resourceTypeId;
         this.resourceTypeName = resourceTypeName;
@@ -49,6 +83,11 @@ public class InventoryItem {
 
     public void setName(String name) {
         this.name = name;
+        this.nameLower = name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    public String getNameLower() {
+        return nameLower;
     }
 
     public String getDescription() {
@@ -91,6 +130,14 @@ public class InventoryItem {
         this.resourceSubTypeName = resourceSubTypeName;
     }
 
+    public List<String> getTypePath() {
+        return typePath;
+    }
+
+    public void setTypePath(List<String> typePath) {
+        this.typePath = typePath;
+    }
+
     public int getAvailableQuantity() {
         return availableQuantity;
     }
@@ -99,6 +146,38 @@ public class InventoryItem {
         this.availableQuantity = availableQuantity;
     }
 
+    public int getLocatedQuantity() {
+        return locatedQuantity;
+    }
+
+    public void setLocatedQuantity(int locatedQuantity) {
+        this.locatedQuantity = locatedQuantity;
+    }
+
+    public List<String> getPendingTransferIds() {
+        return pendingTransferIds;
+    }
+
+    public void setPendingTransferIds(List<String> pendingTransferIds) {
+        this.pendingTransferIds = pendingTransferIds;
+    }
+
+    public List<String> getAppliedBatchIds() {
+        return appliedBatchIds;
+    }
+
+    public void setAppliedBatchIds(List<String> appliedBatchIds) {
+        this.appliedBatchIds = appliedBatchIds;
+    }
+
+    public Integer getLowStockThreshold() {
+        return lowStockThreshold;
+    }
+
+    public void setLowStockThreshold(Integer lowStockThreshold) {
+        this.lowStockThreshold = lowStockThreshold;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -114,4 +193,28 @@ public class InventoryItem {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public boolean isLedgerOpened() {
+        return ledgerOpened;
+    }
+
+    public void setLedgerOpened(boolean ledgerOpened) {
+        this.ledgerOpened = ledgerOpened;
+    }
+
+    public boolean isLedgerDrift() {
+        return ledgerDrift;
+    }
+
+    public void setLedgerDrift(boolean ledgerDrift) {
+        this.ledgerDrift = ledgerDrift;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
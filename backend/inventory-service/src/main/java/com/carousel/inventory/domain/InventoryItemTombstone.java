@@ -0,0 +1,47 @@
+package com.carousel.inventory.domain;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marker left behind by a deleted item so delta-sync clients can drop their local copy.
+ * Tombstones expire after {@link #RETENTION_DAYS}; clients whose watermark is older must resync in full.
+ */
+@Document(collection = "inventory_item_tombstones")
+@CompoundIndex(name = "deleted_at_id", def = "{'deletedAt': 1, '_id': 1}")
+public class InventoryItemTombstone {
+    public static final int RETENTION_DAYS = 30;
+
+    @Id
+    private String itemId;
+    @Indexed(name = "deleted_at_ttl", expireAfterSeconds = RETENTION_DAYS * 24 * 60 * 60)
+    private LocalDateTime deletedAt;
+
+    public InventoryItemTombstone() {
+    }
+
+    public InventoryItemTombstone(String itemId, LocalDateTime deletedAt) {
+        this.itemId = itemId;
+        this.deletedAt = deletedAt;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(String itemId) {
+        this.itemId = itemId;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
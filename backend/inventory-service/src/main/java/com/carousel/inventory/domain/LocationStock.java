@@ -0,0 +1,85 @@
+package com.carousel.inventory.domain;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Quantity of one item held at one location. Each pair is its own document, keyed by item and location,
+ * so each location has its own quantity and guard; the item keeps the running total, which every adjustment
+ * at any location also increments.
+ */
+@Document(collection = "location_stock")
+@CompoundIndexes({
+        @CompoundIndex(name = "item_location", def = "{'itemId': 1, 'locationId': 1}", unique = true),
+        @CompoundIndex(name = "location_item", def = "{'locationId': 1, 'itemId': 1}")
+})
+public class LocationStock {
+    @Id
+    private String id;
+    private String itemId;
+    private String locationId;
+    private int quantity;
+    // Transfers whose leg against this location has been applied but not yet cleared
+    private List<String> pendingTransferIds;
+    private LocalDateTime updatedAt;
+
+    public LocationStock() {
+    }
+
+    public static String idOf(String itemId, String locationId) {
+        return itemId + ":" + locationId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(String itemId) {
+        this.itemId = itemId;
+    }
+
+    public String getLocationId() {
+        return locationId;
+    }
+
+    public void setLocationId(String locationId) {
+        this.locationId = locationId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public List<String> getPendingTransferIds() {
+        return pendingTransferIds;
+    }
+
+    public void setPendingTransferIds(List<String> pendingTransferIds) {
+        this.pendingTransferIds = pendingTransferIds;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,71 @@
+package com.carousel.inventory.domain;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable record of one change to an item's available quantity. Entries are only ever inserted.
+ */
+@Document(collection = "quantity_ledger")
+@CompoundIndex(name = "item_recorded_at", def = "{'itemId': 1, 'recordedAt': 1}")
+public class QuantityLedgerEntry {
+    @Id
+    private String id;
+    private String itemId;
+    private int delta;
+    private Integer quantityAfter;
+    private String reason;
+    private String actor;
+    private String requestId;
+    @Indexed
+    private LocalDateTime recordedAt;
+
+    public QuantityLedgerEntry() {
+    }
+
+    public QuantityLedgerEntry(String itemId, int delta, Integer quantityAfter, String reason, String actor, String requestId, LocalDateTime recordedAt) {
+        this.itemId = itemId;
+        this.delta = delta;
+        this.quantityAfter = quantityAfter;
+        this.reason = reason;
+        this.actor = actor;
+        this.requestId = requestId;
+        this.recordedAt = recordedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public int getDelta() {
+        return delta;
+    }
+
+    public Integer getQuantityAfter() {
+        return quantityAfter;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+}
@@ -0,0 +1,47 @@
+package com.carousel.inventory.domain;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Item quantity compacted from the ledger: the sum of all entries recorded up to and including {@code takenAt}.
+ */
+@Document(collection = "quantity_snapshots")
+@CompoundIndex(name = "item_taken_at", def = "{'itemId': 1, 'takenAt': -1}", unique = true)
+public class QuantitySnapshot {
+    @Id
+    private String id;
+    private String itemId;
+    private long quantity;
+    @Indexed
+    private LocalDateTime takenAt;
+
+    public QuantitySnapshot() {
+    }
+
+    public QuantitySnapshot(String itemId, long quantity, LocalDateTime takenAt) {
+        this.itemId = itemId;
+        this.quantity = quantity;
+        this.takenAt = takenAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public LocalDateTime getTakenAt() {
+        return takenAt;
+    }
+}
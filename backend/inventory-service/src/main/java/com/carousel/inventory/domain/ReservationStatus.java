@@ -0,0 +1,9 @@
+package com.carousel.inventory.domain;
+
+public enum ReservationStatus {
+    HELD,
+    RETURNING,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
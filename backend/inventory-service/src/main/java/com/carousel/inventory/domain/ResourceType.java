@@ -1,9 +1,12 @@
 package com.carousel.inventory.domain;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Document(collection = "resource_types")
 public class ResourceType {
@@ -14,8 +17,18 @@ public class ResourceType {
     private String icon;
     private String parentTypeId;
     private String parentTypeName;
+    // Ids from the root type down to the direct parent; empty for a top-level type
+    @Indexed
+    private List<String> ancestorIds;
+    // Reorder point applied to items of this type and the types below it that set none of their own
+    private Integer lowStockThreshold;
+    // Set while items or child types may still carry a previous name; unset once the rename has been copied to them
+    @Indexed(sparse = true)
+    private Boolean renamePending;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    @Version
+    private Long version;
 
     public ResourceType() {
     }
@@ -79,6 +92,30 @@ public class ResourceType {
         this.parentTypeName = parentTypeName;
     }
 
+    public List<String> getAncestorIds() {
+        return ancestorIds;
+    }
+
+    public void setAncestorIds(List<String> ancestorIds) {
+        this.ancestorIds = ancestorIds;
+    }
+
+    public Integer getLowStockThreshold() {
+        return lowStockThreshold;
+    }
+
+    public void setLowStockThreshold(Integer lowStockThreshold) {
+        this.lowStockThreshold = lowStockThreshold;
+    }
+
+    public Boolean getRenamePending() {
+        return renamePending;
+    }
+
+    public void setRenamePending(Boolean renamePending) {
+        this.renamePending = renamePending;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -94,4 +131,12 @@ public class ResourceType {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
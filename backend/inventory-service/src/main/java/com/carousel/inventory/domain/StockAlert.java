@@ -0,0 +1,118 @@
+package com.carousel.inventory.domain;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox entry for an item whose quantity fell below its reorder point. It is only written after the item's
+ * {@link StockAlertState} was moved forward, so an item bouncing around its reorder point queues at most one
+ * alert per debounce period.
+ */
+@Document(collection = "stock_alert_outbox")
+@CompoundIndexes({
+        @CompoundIndex(name = "dispatched_raised_at", def = "{'dispatched': 1, 'raisedAt': 1}"),
+        @CompoundIndex(name = "raised_at_id", def = "{'raisedAt': 1, '_id': 1}")
+})
+public class StockAlert {
+    @Id
+    private String id;
+    private String itemId;
+    private String itemName;
+    private int quantity;
+    private int threshold;
+    private LocalDateTime raisedAt;
+    private boolean dispatched;
+    private LocalDateTime dispatchedAt;
+    @Indexed(sparse = true)
+    private String dispatchRunId;
+    @Indexed(name = "purge_at_ttl", expireAfterSeconds = 0)
+    private LocalDateTime purgeAt;
+
+    public StockAlert() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(String itemId) {
+        this.itemId = itemId;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public void setItemName(String itemName) {
+        this.itemName = itemName;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(int threshold) {
+        this.threshold = threshold;
+    }
+
+    public LocalDateTime getRaisedAt() {
+        return raisedAt;
+    }
+
+    public void setRaisedAt(LocalDateTime raisedAt) {
+        this.raisedAt = raisedAt;
+    }
+
+    public boolean isDispatched() {
+        return dispatched;
+    }
+
+    public void setDispatched(boolean dispatched) {
+        this.dispatched = dispatched;
+    }
+
+    public LocalDateTime getDispatchedAt() {
+        return dispatchedAt;
+    }
+
+    public void setDispatchedAt(LocalDateTime dispatchedAt) {
+        this.dispatchedAt = dispatchedAt;
+    }
+
+    public String getDispatchRunId() {
+        return dispatchRunId;
+    }
+
+    public void setDispatchRunId(String dispatchRunId) {
+        this.dispatchRunId = dispatchRunId;
+    }
+
+    public LocalDateTime getPurgeAt() {
+        return purgeAt;
+    }
+
+    public void setPurgeAt(LocalDateTime purgeAt) {
+        this.purgeAt = purgeAt;
+    }
+}
@@ -0,0 +1,48 @@
+package com.carousel.inventory.domain;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * When the last low-stock alert of an item was raised, keyed by the item id. Raising an alert first moves
+ * {@code lastRaisedAt} forward with a conditional upsert, so a crossing within the debounce period of the previous
+ * alert finds nothing to update and is dropped. The state expires once the debounce period is over.
+ */
+@Document(collection = "stock_alert_state")
+public class StockAlertState {
+    @Id
+    private String id;
+    private LocalDateTime lastRaisedAt;
+    @Indexed(name = "expires_at_ttl", expireAfterSeconds = 0)
+    private LocalDateTime expiresAt;
+
+    public StockAlertState() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getLastRaisedAt() {
+        return lastRaisedAt;
+    }
+
+    public void setLastRaisedAt(LocalDateTime lastRaisedAt) {
+        this.lastRaisedAt = lastRaisedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,126 @@
+package com.carousel.inventory.domain;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stock held back from an item's available quantity until it is confirmed, released or expires.
+ * A released or expired hold first moves to RETURNING, keeping its target status in {@code resolution}, and only
+ * reaches that status once its stock is back. Neither held nor returning reservations carry a purgeAt, so the TTL
+ * index only removes them once they are resolved and a hold whose stock has not been returned is never lost.
+ */
+@Document(collection = "stock_reservations")
+@CompoundIndex(name = "status_expires_at", def = "{'status': 1, 'expiresAt': 1}")
+public class StockReservation {
+    @Id
+    private String id;
+    private String itemId;
+    private int quantity;
+    private ReservationStatus status;
+    // Status a RETURNING reservation moves to once its stock has been returned
+    private ReservationStatus resolution;
+    private String requesterEmail;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+    private LocalDateTime resolvedAt;
+    @Indexed(name = "purge_at_ttl", expireAfterSeconds = 0)
+    private LocalDateTime purgeAt;
+    // Return run that gives the stock back; also the marker that keeps a retried return from applying twice
+    @Indexed(sparse = true)
+    private String returnRunId;
+
+    public StockReservation() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(String itemId) {
+        this.itemId = itemId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public ReservationStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReservationStatus status) {
+        this.status = status;
+    }
+
+    public ReservationStatus getResolution() {
+        return resolution;
+    }
+
+    public void setResolution(ReservationStatus resolution) {
+        this.resolution = resolution;
+    }
+
+    public String getRequesterEmail() {
+        return requesterEmail;
+    }
+
+    public void setRequesterEmail(String requesterEmail) {
+        this.requesterEmail = requesterEmail;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getResolvedAt() {
+        return resolvedAt;
+    }
+
+    public void setResolvedAt(LocalDateTime resolvedAt) {
+        this.resolvedAt = resolvedAt;
+    }
+
+    public LocalDateTime getPurgeAt() {
+        return purgeAt;
+    }
+
+    public void setPurgeAt(LocalDateTime purgeAt) {
+        this.purgeAt = purgeAt;
+    }
+
+    public String getReturnRunId() {
+        return returnRunId;
+    }
+
+    public void setReturnRunId(String returnRunId) {
+        this.returnRunId = returnRunId;
+    }
+}
@@ -0,0 +1,136 @@
+package com.carousel.inventory.domain;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Journal entry of a move between two locations of the same item. A null location stands for the item's
+ * unlocated stock. The entry is written before either side is touched and drives recovery of transfers
+ * interrupted half way; only finished transfers carry a purgeAt for the TTL index.
+ * <p>
+ * A location adjustment is journaled the same way: its two sides are the entry at {@code toLocationId} and the
+ * item's counters, and {@code quantity} is the signed delta. The owner names whoever is currently driving the
+ * entry forward, so the request and the recovery never act on it at the same time.
+ */
+@Document(collection = "stock_transfers")
+@CompoundIndex(name = "status_updated_at", def = "{'status': 1, 'updatedAt': 1}")
+public class StockTransfer {
+    @Id
+    private String id;
+    private TransferKind kind;
+    private String itemId;
+    private String fromLocationId;
+    private String toLocationId;
+    private int quantity;
+    private TransferStatus status;
+    private String owner;
+    private String requesterEmail;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    @Indexed(name = "purge_at_ttl", expireAfterSeconds = 0)
+    private LocalDateTime purgeAt;
+
+    public StockTransfer() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public TransferKind getKind() {
+        // Entries journaled before adjustments were carry no kind
+        return kind == null ? TransferKind.TRANSFER : kind;
+    }
+
+    public void setKind(TransferKind kind) {
+        this.kind = kind;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(String itemId) {
+        this.itemId = itemId;
+    }
+
+    public String getFromLocationId() {
+        return fromLocationId;
+    }
+
+    public void setFromLocationId(String fromLocationId) {
+        this.fromLocationId = fromLocationId;
+    }
+
+    public String getToLocationId() {
+        return toLocationId;
+    }
+
+    public void setToLocationId(String toLocationId) {
+        this.toLocationId = toLocationId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public TransferStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TransferStatus status) {
+        this.status = status;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public String getRequesterEmail() {
+        return requesterEmail;
+    }
+
+    public void setRequesterEmail(String requesterEmail) {
+        this.requesterEmail = requesterEmail;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getPurgeAt() {
+        return purgeAt;
+    }
+
+    public void setPurgeAt(LocalDateTime purgeAt) {
+        this.purgeAt = purgeAt;
+    }
+}
@@ -0,0 +1,6 @@
+package com.carousel.inventory.domain;
+
+public enum TransferKind {
+    TRANSFER,
+    LOCATION_ADJUSTMENT
+}
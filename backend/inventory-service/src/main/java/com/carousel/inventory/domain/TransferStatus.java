@@ -0,0 +1,8 @@
+package com.carousel.inventory.domain;
+
+public enum TransferStatus {
+    PENDING,
+    APPLIED,
+    COMPLETED,
+    CANCELLED
+}
@@ -0,0 +1,50 @@
+package com.carousel.inventory.domain;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease held while a resource type is moved under a new parent. There is a single lock for the whole tree:
+ * the cycle check of a move reads paths that another move may be rewriting, so two moves must not overlap.
+ * An expired lease can be taken over, so a mover that died does not block moves for longer than the lease.
+ */
+@Document(collection = "type_move_lock")
+public class TypeMoveLock {
+    public static final String TREE = "type-tree";
+
+    @Id
+    private String id;
+    private String owner;
+    @Indexed(name = "expires_at_ttl", expireAfterSeconds = 0)
+    private LocalDateTime expiresAt;
+
+    public TypeMoveLock() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,24 @@
+package com.carousel.inventory.dto;
+
+import java.util.List;
+
+public class BatchQuantityAdjustmentRequest {
+    private List<QuantityAdjustmentEntry> adjustments;
+    private boolean allOrNothing;
+
+    public List<QuantityAdjustmentEntry> getAdjustments() {
+        return adjustments;
+    }
+
+    public void setAdjustments(List<QuantityAdjustmentEntry> adjustments) {
+        this.adjustments = adjustments;
+    }
+
+    public boolean isAllOrNothing() {
+        return allOrNothing;
+    }
+
+    public void setAllOrNothing(boolean allOrNothing) {
+        this.allOrNothing = allOrNothing;
+    }
+}
@@ -0,0 +1,42 @@
+package com.carousel.inventory.dto;
+
+import java.util.List;
+
+public class BatchQuantityAdjustmentResult {
+    private int applied;
+    private int failed;
+    private List<QuantityAdjustmentOutcome> results;
+
+    public BatchQuantityAdjustmentResult() {
+    }
+
+    public BatchQuantityAdjustmentResult(int applied, int failed, List<QuantityAdjustmentOutcome> results) {
+        this.applied = applied;
+        this.failed = failed;
+        this.results = results;
+    }
+
+    public int getApplied() {
+        return applied;
+    }
+
+    public void setApplied(int applied) {
+        this.applied = applied;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<QuantityAdjustmentOutcome> getResults() {
+        return results;
+    }
+
+    public void setResults(List<QuantityAdjustmentOutcome> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,52 @@
+package com.carousel.inventory.dto;
+
+import java.time.LocalDateTime;
+
+public class InventoryChangeEvent {
+    private String type;
+    private String itemId;
+    private InventoryItemDto item;
+    private LocalDateTime occurredAt;
+
+    public InventoryChangeEvent() {
+    }
+
+    public InventoryChangeEvent(String type, String itemId, InventoryItemDto item, LocalDateTime occurredAt) {
+        this.type = type;
+        this.itemId = itemId;
+        this.item = item;
+        this.occurredAt = occurredAt;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(String itemId) {
+        this.itemId = itemId;
+    }
+
+    public InventoryItemDto getItem() {
+        return item;
+    }
+
+    public void setItem(InventoryItemDto item) {
+        this.item = item;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
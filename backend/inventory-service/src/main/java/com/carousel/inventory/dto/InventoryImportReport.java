@@ -0,0 +1,62 @@
+package com.carousel.inventory.dto;
+
+import java.util.List;
+
+public class InventoryImportReport {
+    private int totalRows;
+    private int imported;
+    private int failed;
+    private List<ImportRowError> errors;
+    private boolean errorsTruncated;
+
+    public InventoryImportReport() {
+    }
+
+    public InventoryImportReport(int totalRows, int imported, int failed, List<ImportRowError> errors, boolean errorsTruncated) {
+        this.totalRows = totalRows;
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = errors;
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(int totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<ImportRowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<ImportRowError> errors) {
+        this.errors = errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+}
@@ -0,0 +1,62 @@
+package com.carousel.inventory.dto;
+
+import java.util.List;
+
+public class InventoryItemChanges {
+    private List<InventoryItemDto> items;
+    private List<String> deletedItemIds;
+    private String nextWatermark;
+    private boolean hasMore;
+    private boolean resyncRequired;
+
+    public InventoryItemChanges() {
+    }
+
+    public InventoryItemChanges(List<InventoryItemDto> items, List<String> deletedItemIds, String nextWatermark, boolean hasMore, boolean resyncRequired) {
+        this.items = items;
+        this.deletedItemIds = deletedItemIds;
+        this.nextWatermark = nextWatermark;
+        this.hasMore = hasMore;
+        this.resyncRequired = resyncRequired;
+    }
+
+    public List<InventoryItemDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<InventoryItemDto> items) {
+        this.items = items;
+    }
+
+    public List<String> getDeletedItemIds() {
+        return deletedItemIds;
+    }
+
+    public void setDeletedItemIds(List<String> deletedItemIds) {
+        this.deletedItemIds = deletedItemIds;
+    }
+
+    public String getNextWatermark() {
+        return nextWatermark;
+    }
+
+    public void setNextWatermark(String nextWatermark) {
+        this.nextWatermark = nextWatermark;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public boolean isResyncRequired() {
+        return resyncRequired;
+    }
+
+    public void setResyncRequired(boolean resyncRequired) {
+        this.resyncRequired = resyncRequired;
+    }
+}
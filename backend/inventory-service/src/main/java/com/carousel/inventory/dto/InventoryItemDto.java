@@ -9,6 +9,7 @@ public class InventoryItemDto {
     private String resourceSubTypeId;
     private String resourceSubTypeName;
     private int availableQuantity;
+    private Integer lowStockThreshold;
 
     public InventoryItemDto() {
     }
@@ -87,4 +88,12 @@ public class InventoryItemDto {
     public void setAvailableQuantity(int availableQuantity) {
         this.availableQuantity = availableQuantity;
     }
+
+    public Integer getLowStockThreshold() {
+        return lowStockThreshold;
+    }
+
+    public void setLowStockThreshold(Integer lowStockThreshold) {
+        this.lowStockThreshold = lowStockThreshold;
+    }
 }
@@ -0,0 +1,32 @@
+package com.carousel.inventory.dto;
+
+import java.util.List;
+
+public class InventoryItemPage {
+    private List<InventoryItemDto> items;
+    private String nextCursor;
+
+    public InventoryItemPage() {
+    }
+
+    public InventoryItemPage(List<InventoryItemDto> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<InventoryItemDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<InventoryItemDto> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -6,6 +6,8 @@ public class InventoryItemRequest {
     private String resourceTypeId;
     private String resourceSubTypeId;
     private Integer availableQuantity;
+    // A negative value removes the item's own threshold so that its type default applies again
+    private Integer lowStockThreshold;
 
     public String getName() {
         return name;
@@ -39,6 +41,14 @@ public class InventoryItemRequest {
         this.resourceSubTypeId = resourceSubTypeId;
     }
 
+    public Integer getLowStockThreshold() {
+        return lowStockThreshold;
+    }
+
+    public void setLowStockThreshold(Integer lowStockThreshold) {
+        this.lowStockThreshold = lowStockThreshold;
+    }
+
     public Integer getAvailableQuantity() {
         return availableQuantity;
     }
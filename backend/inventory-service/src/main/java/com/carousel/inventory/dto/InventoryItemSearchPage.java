@@ -0,0 +1,42 @@
+package com.carousel.inventory.dto;
+
+import java.util.List;
+
+public class InventoryItemSearchPage {
+    private List<InventoryItemDto> items;
+    private int offset;
+    private Integer nextOffset;
+
+    public InventoryItemSearchPage() {
+    }
+
+    public InventoryItemSearchPage(List<InventoryItemDto> items, int offset, Integer nextOffset) {
+        this.items = items;
+        this.offset = offset;
+        this.nextOffset = nextOffset;
+    }
+
+    public List<InventoryItemDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<InventoryItemDto> items) {
+        this.items = items;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public void setOffset(int offset) {
+        this.offset = offset;
+    }
+
+    public Integer getNextOffset() {
+        return nextOffset;
+    }
+
+    public void setNextOffset(Integer nextOffset) {
+        this.nextOffset = nextOffset;
+    }
+}
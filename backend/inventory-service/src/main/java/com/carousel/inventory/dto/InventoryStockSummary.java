@@ -0,0 +1,33 @@
+package com.carousel.inventory.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class InventoryStockSummary {
+    private LocalDateTime generatedAt;
+    private List<ResourceTypeStockSummary> types;
+
+    public InventoryStockSummary() {
+    }
+
+    public InventoryStockSummary(LocalDateTime generatedAt, List<ResourceTypeStockSummary> types) {
+        this.generatedAt = generatedAt;
+        this.types = types;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(LocalDateTime generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+
+    public List<ResourceTypeStockSummary> getTypes() {
+        return types;
+    }
+
+    public void setTypes(List<ResourceTypeStockSummary> types) {
+        this.types = types;
+    }
+}
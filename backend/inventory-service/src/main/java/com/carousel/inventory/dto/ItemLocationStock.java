@@ -0,0 +1,52 @@
+package com.carousel.inventory.dto;
+
+import java.util.List;
+
+public class ItemLocationStock {
+    private String itemId;
+    private int totalQuantity;
+    private int unlocatedQuantity;
+    private List<LocationStockDto> locations;
+
+    public ItemLocationStock() {
+    }
+
+    public ItemLocationStock(String itemId, int totalQuantity, int unlocatedQuantity, List<LocationStockDto> locations) {
+        this.itemId = itemId;
+        this.totalQuantity = totalQuantity;
+        this.unlocatedQuantity = unlocatedQuantity;
+        this.locations = locations;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(String itemId) {
+        this.itemId = itemId;
+    }
+
+    public int getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public void setTotalQuantity(int totalQuantity) {
+        this.totalQuantity = totalQuantity;
+    }
+
+    public int getUnlocatedQuantity() {
+        return unlocatedQuantity;
+    }
+
+    public void setUnlocatedQuantity(int unlocatedQuantity) {
+        this.unlocatedQuantity = unlocatedQuantity;
+    }
+
+    public List<LocationStockDto> getLocations() {
+        return locations;
+    }
+
+    public void setLocations(List<LocationStockDto> locations) {
+        this.locations = locations;
+    }
+}
@@ -0,0 +1,52 @@
+package com.carousel.inventory.dto;
+
+import java.time.LocalDateTime;
+
+public class LocationStockDto {
+    private String itemId;
+    private String locationId;
+    private int quantity;
+    private LocalDateTime updatedAt;
+
+    public LocationStockDto() {
+    }
+
+    public LocationStockDto(String itemId, String locationId, int quantity, LocalDateTime updatedAt) {
+        this.itemId = itemId;
+        this.locationId = locationId;
+        this.quantity = quantity;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(String itemId) {
+        this.itemId = itemId;
+    }
+
+    public String getLocationId() {
+        return locationId;
+    }
+
+    public void setLocationId(String locationId) {
+        this.locationId = locationId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,30 @@
+package com.carousel.inventory.dto;
+
+public class QuantityAdjustmentEntry {
+    private String itemId;
+    private int quantityDelta;
+
+    public QuantityAdjustmentEntry() {
+    }
+
+    public QuantityAdjustmentEntry(String itemId, int quantityDelta) {
+        this.itemId = itemId;
+        this.quantityDelta = quantityDelta;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(String itemId) {
+        this.itemId = itemId;
+    }
+
+    public int getQuantityDelta() {
+        return quantityDelta;
+    }
+
+    public void setQuantityDelta(int quantityDelta) {
+        this.quantityDelta = quantityDelta;
+    }
+}
@@ -0,0 +1,60 @@
+package com.carousel.inventory.dto;
+
+public class QuantityAdjustmentOutcome {
+    private String itemId;
+    private int quantityDelta;
+    private boolean success;
+    private Integer availableQuantity;
+    private String message;
+
+    public QuantityAdjustmentOutcome() {
+    }
+
+    public QuantityAdjustmentOutcome(String itemId, int quantityDelta, boolean success, Integer availableQuantity, String message) {
+        this.itemId = itemId;
+        this.quantityDelta = quantityDelta;
+        this.success = success;
+        this.availableQuantity = availableQuantity;
+        this.message = message;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(String itemId) {
+        this.itemId = itemId;
+    }
+
+    public int getQuantityDelta() {
+        return quantityDelta;
+    }
+
+    public void setQuantityDelta(int quantityDelta) {
+        this.quantityDelta = quantityDelta;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public Integer getAvailableQuantity() {
+        return availableQuantity;
+    }
+
+    public void setAvailableQuantity(Integer availableQuantity) {
+        this.availableQuantity = availableQuantity;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
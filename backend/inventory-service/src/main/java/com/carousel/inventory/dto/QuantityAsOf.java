@@ -0,0 +1,52 @@
+package com.carousel.inventory.dto;
+
+import java.time.LocalDateTime;
+
+public class QuantityAsOf {
+    private String itemId;
+    private LocalDateTime asOf;
+    private long quantity;
+    private LocalDateTime snapshotTakenAt;
+
+    public QuantityAsOf() {
+    }
+
+    public QuantityAsOf(String itemId, LocalDateTime asOf, long quantity, LocalDateTime snapshotTakenAt) {
+        this.itemId = itemId;
+        this.asOf = asOf;
+        this.quantity = quantity;
+        this.snapshotTakenAt = snapshotTakenAt;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(String itemId) {
+        this.itemId = itemId;
+    }
+
+    public LocalDateTime getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(LocalDateTime asOf) {
+        this.asOf = asOf;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(long quantity) {
+        this.quantity = quantity;
+    }
+
+    public LocalDateTime getSnapshotTakenAt() {
+        return snapshotTakenAt;
+    }
+
+    public void setSnapshotTakenAt(LocalDateTime snapshotTakenAt) {
+        this.snapshotTakenAt = snapshotTakenAt;
+    }
+}
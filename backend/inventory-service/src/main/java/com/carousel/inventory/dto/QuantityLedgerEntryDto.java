@@ -0,0 +1,82 @@
+package com.carousel.inventory.dto;
+
+import java.time.LocalDateTime;
+
+public class QuantityLedgerEntryDto {
+    private String itemId;
+    private int delta;
+    private Integer quantityAfter;
+    private String reason;
+    private String actor;
+    private String requestId;
+    private LocalDateTime recordedAt;
+
+    public QuantityLedgerEntryDto() {
+    }
+
+    public QuantityLedgerEntryDto(String itemId, int delta, Integer quantityAfter, String reason, String actor, String requestId, LocalDateTime recordedAt) {
+        this.itemId = itemId;
+        this.delta = delta;
+        this.quantityAfter = quantityAfter;
+        this.reason = reason;
+        this.actor = actor;
+        this.requestId = requestId;
+        this.recordedAt = recordedAt;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(String itemId) {
+        this.itemId = itemId;
+    }
+
+    public int getDelta() {
+        return delta;
+    }
+
+    public void setDelta(int delta) {
+        this.delta = delta;
+    }
+
+    public Integer getQuantityAfter() {
+        return quantityAfter;
+    }
+
+    public void setQuantityAfter(Integer quantityAfter) {
+        this.quantityAfter = quantityAfter;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public void setActor(String actor) {
+        this.actor = actor;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(String requestId) {
+        this.requestId = requestId;
+    }
+
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+}
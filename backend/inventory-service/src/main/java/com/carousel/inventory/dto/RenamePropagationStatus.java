@@ -0,0 +1,112 @@
+package com.carousel.inventory.dto;
+
+import java.time.LocalDateTime;
+
+public class RenamePropagationStatus {
+    private String typeId;
+    private String typeName;
+    private String state;
+    private int completedSteps;
+    private int totalSteps;
+    private long itemsUpdated;
+    private long childTypesUpdated;
+    private LocalDateTime requestedAt;
+    private LocalDateTime finishedAt;
+    private String message;
+
+    public RenamePropagationStatus() {
+    }
+
+    public RenamePropagationStatus(String typeId, String typeName, String state, int completedSteps, int totalSteps, long itemsUpdated, long childTypesUpdated, LocalDateTime requestedAt, LocalDateTime finishedAt, String message) {
+        this.typeId = typeId;
+        this.typeName = typeName;
+        this.state = state;
+        this.completedSteps = completedSteps;
+        this.totalSteps = totalSteps;
+        this.itemsUpdated = itemsUpdated;
+        this.childTypesUpdated = childTypesUpdated;
+        this.requestedAt = requestedAt;
+        this.finishedAt = finishedAt;
+        this.message = message;
+    }
+
+    public String getTypeId() {
+        return typeId;
+    }
+
+    public void setTypeId(String typeId) {
+        this.typeId = typeId;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public void setTypeName(String typeName) {
+        this.typeName = typeName;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public int getCompletedSteps() {
+        return completedSteps;
+    }
+
+    public void setCompletedSteps(int completedSteps) {
+        this.completedSteps = completedSteps;
+    }
+
+    public int getTotalSteps() {
+        return totalSteps;
+    }
+
+    public void setTotalSteps(int totalSteps) {
+        this.totalSteps = totalSteps;
+    }
+
+    public long getItemsUpdated() {
+        return itemsUpdated;
+    }
+
+    public void setItemsUpdated(long itemsUpdated) {
+        this.itemsUpdated = itemsUpdated;
+    }
+
+    public long getChildTypesUpdated() {
+        return childTypesUpdated;
+    }
+
+    public void setChildTypesUpdated(long childTypesUpdated) {
+        this.childTypesUpdated = childTypesUpdated;
+    }
+
+    public LocalDateTime getRequestedAt() {
+        return requestedAt;
+    }
+
+    public void setRequestedAt(LocalDateTime requestedAt) {
+        this.requestedAt = requestedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
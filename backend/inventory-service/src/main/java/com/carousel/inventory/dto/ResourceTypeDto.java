@@ -1,5 +1,7 @@
 package com.carousel.inventory.dto;
 
+import java.util.List;
+
 public class ResourceTypeDto {
     private String id;
     private String name;
@@ -7,17 +9,21 @@ public class ResourceTypeDto {
     private String icon;
     private String parentTypeId;
     private String parentTypeName;
+    private List<String> ancestorIds;
+    private Integer lowStockThreshold;
 
     public ResourceTypeDto() {
     }
 
-    public ResourceTypeDto(String id, String name, String description, String icon, String parentTypeId, String parentTypeName) {
+    public ResourceTypeDto(String id, String name, String description, String icon, String parentTypeId, String parentTypeName, List<String> ancestorIds, Integer lowStockThreshold) {
         this.id = id;
         this.name = name;
         this.description = description;
         this.icon = icon;
         this.parentTypeId = parentTypeId;
         this.parentTypeName = parentTypeName;
+        this.ancestorIds = ancestorIds;
+        this.lowStockThreshold = lowStockThreshold;
     }
 
     public String getId() {
@@ -67,4 +73,20 @@ public class ResourceTypeDto {
     public void setParentTypeName(String parentTypeName) {
         this.parentTypeName = parentTypeName;
     }
+
+    public List<String> getAncestorIds() {
+        return ancestorIds;
+    }
+
+    public void setAncestorIds(List<String> ancestorIds) {
+        this.ancestorIds = ancestorIds;
+    }
+
+    public Integer getLowStockThreshold() {
+        return lowStockThreshold;
+    }
+
+    public void setLowStockThreshold(Integer lowStockThreshold) {
+        this.lowStockThreshold = lowStockThreshold;
+    }
 }
@@ -5,6 +5,8 @@ public class ResourceTypeRequest {
     private String description;
     private String icon;
     private String parentTypeId;
+    // A negative value removes the type's threshold so that its parent's applies again
+    private Integer lowStockThreshold;
 
     public String getName() {
         return name;
@@ -37,4 +39,12 @@ public class ResourceTypeRequest {
     public void setParentTypeId(String parentTypeId) {
         this.parentTypeId = parentTypeId;
     }
+
+    public Integer getLowStockThreshold() {
+        return lowStockThreshold;
+    }
+
+    public void setLowStockThreshold(Integer lowStockThreshold) {
+        this.lowStockThreshold = lowStockThreshold;
+    }
 }
@@ -0,0 +1,69 @@
+package com.carousel.inventory.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResourceTypeStockSummary {
+    private String resourceTypeId;
+    private String resourceTypeName;
+    private long itemCount;
+    private long totalQuantity;
+    private long zeroStockCount;
+    private List<ResourceTypeStockSummary> subtypes = new ArrayList<>();
+
+    public ResourceTypeStockSummary() {
+    }
+
+    public ResourceTypeStockSummary(String resourceTypeId, String resourceTypeName) {
+        this.resourceTypeId = resourceTypeId;
+        this.resourceTypeName = resourceTypeName;
+    }
+
+    public String getResourceTypeId() {
+        return resourceTypeId;
+    }
+
+    public void setResourceTypeId(String resourceTypeId) {
+        this.resourceTypeId = resourceTypeId;
+    }
+
+    public String getResourceTypeName() {
+        return resourceTypeName;
+    }
+
+    public void setResourceTypeName(String resourceTypeName) {
+        this.resourceTypeName = resourceTypeName;
+    }
+
+    public long getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(long itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    public long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public void setTotalQuantity(long totalQuantity) {
+        this.totalQuantity = totalQuantity;
+    }
+
+    public long getZeroStockCount() {
+        return zeroStockCount;
+    }
+
+    public void setZeroStockCount(long zeroStockCount) {
+        this.zeroStockCount = zeroStockCount;
+    }
+
+    public List<ResourceTypeStockSummary> getSubtypes() {
+        return subtypes;
+    }
+
+    public void setSubtypes(List<ResourceTypeStockSummary> subtypes) {
+        this.subtypes = subtypes;
+    }
+}
@@ -0,0 +1,82 @@
+package com.carousel.inventory.dto;
+
+import java.time.LocalDateTime;
+
+public class StockAlertDto {
+    private String id;
+    private String itemId;
+    private String itemName;
+    private int quantity;
+    private int threshold;
+    private LocalDateTime raisedAt;
+    private boolean dispatched;
+
+    public StockAlertDto() {
+    }
+
+    public StockAlertDto(String id, String itemId, String itemName, int quantity, int threshold, LocalDateTime raisedAt, boolean dispatched) {
+        this.id = id;
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.quantity = quantity;
+        this.threshold = threshold;
+        this.raisedAt = raisedAt;
+        this.dispatched = dispatched;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(String itemId) {
+        this.itemId = itemId;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public void setItemName(String itemName) {
+        this.itemName = itemName;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(int threshold) {
+        this.threshold = threshold;
+    }
+
+    public LocalDateTime getRaisedAt() {
+        return raisedAt;
+    }
+
+    public void setRaisedAt(LocalDateTime raisedAt) {
+        this.raisedAt = raisedAt;
+    }
+
+    public boolean isDispatched() {
+        return dispatched;
+    }
+
+    public void setDispatched(boolean dispatched) {
+        this.dispatched = dispatched;
+    }
+}
@@ -0,0 +1,82 @@
+package com.carousel.inventory.dto;
+
+import java.time.LocalDateTime;
+
+public class StockReservationDto {
+    private String id;
+    private String itemId;
+    private int quantity;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+    private LocalDateTime resolvedAt;
+
+    public StockReservationDto() {
+    }
+
+    public StockReservationDto(String id, String itemId, int quantity, String status, LocalDateTime createdAt, LocalDateTime expiresAt, LocalDateTime resolvedAt) {
+        this.id = id;
+        this.itemId = itemId;
+        this.quantity = quantity;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+        this.resolvedAt = resolvedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(String itemId) {
+        this.itemId = itemId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getResolvedAt() {
+        return resolvedAt;
+    }
+
+    public void setResolvedAt(LocalDateTime resolvedAt) {
+        this.resolvedAt = resolvedAt;
+    }
+}
@@ -0,0 +1,92 @@
+package com.carousel.inventory.dto;
+
+import java.time.LocalDateTime;
+
+public class StockTransferDto {
+    private String id;
+    private String itemId;
+    private String fromLocationId;
+    private String toLocationId;
+    private int quantity;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public StockTransferDto() {
+    }
+
+    public StockTransferDto(String id, String itemId, String fromLocationId, String toLocationId, int quantity, String status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.itemId = itemId;
+        this.fromLocationId = fromLocationId;
+        this.toLocationId = toLocationId;
+        this.quantity = quantity;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(String itemId) {
+        this.itemId = itemId;
+    }
+
+    public String getFromLocationId() {
+        return fromLocationId;
+    }
+
+    public void setFromLocationId(String fromLocationId) {
+        this.fromLocationId = fromLocationId;
+    }
+
+    public String getToLocationId() {
+        return toLocationId;
+    }
+
+    public void setToLocationId(String toLocationId) {
+        this.toLocationId = toLocationId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
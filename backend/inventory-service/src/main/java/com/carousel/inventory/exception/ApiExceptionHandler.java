@@ -25,22 +25,44 @@ public class ApiExceptionHandler {
                 "Resource type not found".equals(message) ||
                 "Resource subtype not found".equals(message) ||
                 "Parent type not found".equals(message) ||
-                "Inventory item not found".equals(message)
+                "Inventory item not found".equals(message) ||
+                "Rename propagation not found".equals(message) ||
+                "Reservation not found".equals(message) ||
+                "Transfer not found".equals(message)
         ) {
             return HttpStatus.NOT_FOUND;
         }
 
         if (
                 "Insufficient role privileges to manage inventory".equals(message) ||
-                "Insufficient role privileges to manage resource types".equals(message)
+                "Insufficient role privileges to manage resource types".equals(message) ||
+                "Insufficient role privileges to manage the authorization cache".equals(message)
         ) {
             return HttpStatus.FORBIDDEN;
         }
 
-        if ("Resource type already exists".equals(message)) {
+        if (
+                "Resource type already exists".equals(message) ||
+                "Insufficient available quantity".equals(message) ||
+                "Insufficient quantity at location".equals(message) ||
+                "Insufficient unlocated quantity".equals(message) ||
+                "Transfer was cancelled before it could be applied".equals(message) ||
+                "Reservation is no longer held".equals(message) ||
+                "Concurrent update conflict, please retry".equals(message) ||
+                "Request with this Idempotency-Key is still in progress".equals(message) ||
+                "Request with this Idempotency-Key failed with an unknown outcome".equals(message)
+        ) {
             return HttpStatus.CONFLICT;
         }
 
+        if ("Idempotency-Key was already used for a different request".equals(message)) {
+            return HttpStatus.UNPROCESSABLE_ENTITY;
+        }
+
+        if ("Too many inventory stream subscribers".equals(message)) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+
         return HttpStatus.BAD_REQUEST;
     }
 }
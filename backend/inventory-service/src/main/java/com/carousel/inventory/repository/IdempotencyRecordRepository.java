@@ -0,0 +1,7 @@
+package com.carousel.inventory.repository;
+
+import com.carousel.inventory.domain.IdempotencyRecord;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface IdempotencyRecordRepository extends MongoRepository<IdempotencyRecord, String>, IdempotencyRecordRepositoryCustom {
+}
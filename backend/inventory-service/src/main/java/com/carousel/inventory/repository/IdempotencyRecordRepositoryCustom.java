@@ -0,0 +1,29 @@
+package com.carousel.inventory.repository;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRecordRepositoryCustom {
+    /**
+     * Re-claims a record whose lease or retention ran out before the TTL monitor removed it.
+     *
+     * @return true when this caller now owns the claim
+     */
+    boolean claimExpired(String id, String operation, String fingerprint, String claimToken, LocalDateTime now, LocalDateTime leaseUntil);
+
+    /**
+     * Stores the response on a claim still held with {@code claimToken} and extends it to the retention period.
+     *
+     * @return false when the claim was taken over by another request after its lease ran out
+     */
+    boolean complete(String id, String claimToken, String responseBody, LocalDateTime expiresAt);
+
+    /**
+     * Marks a claim still held with {@code claimToken} as failed with an unknown outcome, kept until {@code expiresAt}.
+     */
+    boolean markFailed(String id, String claimToken, LocalDateTime expiresAt);
+
+    /**
+     * Deletes a claim still held with {@code claimToken}, so the key can be used again.
+     */
+    boolean release(String id, String claimToken);
+}
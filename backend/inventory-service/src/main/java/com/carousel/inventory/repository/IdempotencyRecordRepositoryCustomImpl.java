@@ -0,0 +1,66 @@
+package com.carousel.inventory.repository;
+
+import com.carousel.inventory.domain.IdempotencyRecord;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+
+public class IdempotencyRecordRepositoryCustomImpl implements IdempotencyRecordRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public IdempotencyRecordRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean claimExpired(String id, String operation, String fingerprint, String claimToken, LocalDateTime now, LocalDateTime leaseUntil) {
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("id").is(id),
+                Criteria.where("expiresAt").lte(now)
+        ));
+        Update update = new Update()
+                .set("operation", operation)
+                .set("fingerprint", fingerprint)
+                .set("claimToken", claimToken)
+                .set("completed", false)
+                .set("failed", false)
+                .unset("responseBody")
+                .set("createdAt", now)
+                .set("expiresAt", leaseUntil);
+        return mongoTemplate.updateFirst(query, update, IdempotencyRecord.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean complete(String id, String claimToken, String responseBody, LocalDateTime expiresAt) {
+        Update update = new Update()
+                .set("completed", true)
+                .set("responseBody", responseBody)
+                .set("expiresAt", expiresAt);
+        return mongoTemplate.updateFirst(heldClaim(id, claimToken), update, IdempotencyRecord.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean markFailed(String id, String claimToken, LocalDateTime expiresAt) {
+        Update update = new Update()
+                .set("failed", true)
+                .set("expiresAt", expiresAt);
+        return mongoTemplate.updateFirst(heldClaim(id, claimToken), update, IdempotencyRecord.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean release(String id, String claimToken) {
+        return mongoTemplate.remove(heldClaim(id, claimToken), IdempotencyRecord.class).getDeletedCount() > 0;
+    }
+
+    private Query heldClaim(String id, String claimToken) {
+        return new Query(new Criteria().andOperator(
+                Criteria.where("id").is(id),
+                Criteria.where("claimToken").is(claimToken),
+                Criteria.where("completed").is(false),
+                Criteria.where("failed").ne(true)
+        ));
+    }
+}
@@ -0,0 +1,184 @@
+package com.carousel.inventory.repository;
+
+import com.carousel.inventory.domain.InventoryItem;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface InventoryItemRepositoryCustom {
+    /**
+     * Atomically adds {@code quantityDelta} to the item's available quantity, provided its unlocated stock
+     * (available minus located quantity) stays non-negative.
+     *
+     * @return the updated item, or empty when the item does not exist or the guard rejected the change
+     */
+    Optional<InventoryItem> adjustQuantity(String itemId, int quantityDelta, LocalDateTime updatedAt);
+
+    /**
+     * Reads one page of items ordered by name and id, starting strictly after the given key.
+     * Type, subtype and subtree filters are optional; a null {@code afterId} starts from the beginning.
+     * When {@code fields} is not null only those fields are read and the rest are left unset.
+     */
+    List<InventoryItem> findPage(
+            String resourceTypeId,
+            String resourceSubTypeId,
+            String underTypeId,
+            String afterName,
+            String afterId,
+            int limit,
+            Collection<String> fields
+    );
+
+    /**
+     * Reads every item ordered by name and id with only the given fields set.
+     */
+    List<InventoryItem> findAllProjected(Collection<String> fields);
+
+    /**
+     * Applies guarded increments for several items in one unordered bulk write. Each update also tags the item
+     * with {@code batchId} and skips items already tagged, so re-running a batch never applies it twice; the tags
+     * are then read back to tell which updates matched. They stay until {@link #clearAppliedBatch} is called.
+     *
+     * @return ids of the items whose non-negative guard rejected the change, or that do not exist
+     */
+    Set<String> bulkAdjustQuantities(Map<String, Integer> quantityDeltas, String batchId, LocalDateTime updatedAt);
+
+    /**
+     * Removes the tag of a settled batch from the given items.
+     */
+    void clearAppliedBatch(Collection<String> itemIds, String batchId);
+
+    /**
+     * Streams every item in id order through a server-side cursor. The caller must close the stream.
+     */
+    Stream<InventoryItem> streamAll(int cursorBatchSize);
+
+    /**
+     * Rewrites the denormalized type name on every item of the type with one server-side multi-document update.
+     *
+     * @return number of items modified
+     */
+    long renameResourceType(String resourceTypeId, String resourceTypeName, LocalDateTime updatedAt);
+
+    /**
+     * Rewrites the denormalized subtype name on every item of the subtype with one server-side multi-document update.
+     *
+     * @return number of items modified
+     */
+    long renameResourceSubType(String resourceSubTypeId, String resourceSubTypeName, LocalDateTime updatedAt);
+
+    /**
+     * Finds items whose lower-cased name starts with {@code prefix}, ordered by name, using the name_lower_id index.
+     */
+    List<InventoryItem> findByNamePrefix(String prefix, String resourceTypeId, String resourceSubTypeId, int limit);
+
+    /**
+     * Runs a text-index search over name and description, ordered by relevance score.
+     */
+    List<InventoryItem> searchText(String text, String resourceTypeId, String resourceSubTypeId, int limit);
+
+    /**
+     * Fills the lower-cased name on items written before it existed.
+     *
+     * @return number of items modified
+     */
+    long backfillNameLower();
+
+    /**
+     * Gives items written before optimistic locking was introduced a starting version,
+     * without which a versioned save would never match them.
+     *
+     * @return number of items modified
+     */
+    long backfillVersion();
+
+    /**
+     * Groups all items by type and subtype with item counts, quantity sums and zero-stock counts.
+     */
+    List<StockSummaryRow> summarizeStock();
+
+    /**
+     * Reads items changed strictly after the (updatedAt, id) key and before {@code upTo}, in key order.
+     */
+    List<InventoryItem> findChangedAfter(LocalDateTime afterUpdatedAt, String afterId, LocalDateTime upTo, int limit);
+
+    /**
+     * Atomically flags one item that has no opening ledger balance yet and returns it, or empty when none is left.
+     */
+    Optional<InventoryItem> claimUnopenedLedger();
+
+    /**
+     * Flags items whose ledger entries could not be written, bumping their version so a concurrent
+     * read-modify-write save cannot drop the flag.
+     */
+    void markLedgerDrift(Collection<String> itemIds);
+
+    /**
+     * Reads flagged items that have not changed since {@code settledBefore}, so no ledger entry of theirs is in flight.
+     */
+    List<InventoryItem> findLedgerDrift(LocalDateTime settledBefore, int limit);
+
+    /**
+     * Clears the flag, provided the item is still at {@code version}.
+     *
+     * @return false when the item changed since it was read
+     */
+    boolean clearLedgerDrift(String itemId, Long version);
+
+    /**
+     * The most recently updated item, read from the end of the updated_at_id index with only its key fields.
+     */
+    Optional<InventoryItem> findLatestUpdate();
+
+    /**
+     * Item count taken from collection metadata rather than by counting documents.
+     */
+    long estimatedCount();
+
+    /**
+     * Sets the type path of items whose most specific type is {@code typeId} and that have no path yet.
+     *
+     * @return number of items modified
+     */
+    long backfillTypePath(String typeId, List<String> typePath);
+
+    /**
+     * Rewrites the type path of items whose most specific type is {@code typeId} after that type moved.
+     * Items whose top-level type is no longer on the path are moved to the path's root type.
+     *
+     * @return number of items modified
+     */
+    long retagTypePath(String typeId, List<String> typePath, String rootTypeId, String rootTypeName, LocalDateTime updatedAt);
+
+    /**
+     * Applies the item side of a location adjustment by adding {@code quantityDelta} to both the available and the
+     * located quantity, after the same delta was applied to one location, and marks the item with the adjustment's
+     * journal id in the same update. The location's own guard keeps the result non-negative.
+     *
+     * @return the updated item, or empty when the item does not exist or the side was already applied
+     */
+    Optional<InventoryItem> applyAdjustmentLeg(String itemId, String transferId, int quantityDelta, LocalDateTime updatedAt);
+
+    /**
+     * Applies the unlocated side of a transfer by moving {@code locatedDelta} between unlocated and located stock,
+     * guarded so that unlocated stock stays non-negative, and marks the item with the transfer id in the same update.
+     *
+     * @return true when the change was applied by this call; false when the guard rejected it or it was already applied
+     */
+    boolean applyTransferLeg(String itemId, String transferId, int locatedDelta, LocalDateTime updatedAt);
+
+    /**
+     * Undoes the unlocated side of a transfer applied with {@code locatedDelta} and removes its marker in the same
+     * update, so undoing it again is a no-op.
+     */
+    void revertTransferLeg(String itemId, String transferId, int locatedDelta, LocalDateTime updatedAt);
+
+    boolean hasTransfer(String itemId, String transferId);
+
+    void clearTransfer(String itemId, String transferId);
+}
@@ -0,0 +1,451 @@
+package com.carousel.inventory.repository;
+
+import com.carousel.inventory.domain.InventoryItem;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class InventoryItemRepositoryCustomImpl implements InventoryItemRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public InventoryItemRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<InventoryItem> adjustQuantity(String itemId, int quantityDelta, LocalDateTime updatedAt) {
+        InventoryItem updated = mongoTemplate.findAndModify(
+                guardedQuantityQuery(itemId, quantityDelta),
+                quantityUpdate(quantityDelta, updatedAt),
+                FindAndModifyOptions.options().returnNew(true),
+                InventoryItem.class
+        );
+        return Optional.ofNullable(updated);
+    }
+
+    @Override
+    public List<InventoryItem> findPage(
+            String resourceTypeId,
+            String resourceSubTypeId,
+            String underTypeId,
+            String afterName,
+            String afterId,
+            int limit,
+            Collection<String> fields
+    ) {
+        List<Criteria> criteria = new ArrayList<>();
+        if (resourceTypeId != null) {
+            criteria.add(Criteria.where("resourceTypeId").is(resourceTypeId));
+        }
+        if (resourceSubTypeId != null) {
+            criteria.add(Criteria.where("resourceSubTypeId").is(resourceSubTypeId));
+        }
+        if (underTypeId != null) {
+            // Matches any element of the path, so the whole subtree is one lookup on type_path_name_id
+            criteria.add(Criteria.where("typePath").is(underTypeId));
+        }
+        if (afterId != null) {
+            criteria.add(new Criteria().orOperator(
+                    Criteria.where("name").gt(afterName),
+                    new Criteria().andOperator(
+                            Criteria.where("name").is(afterName),
+                            Criteria.where("id").gt(afterId)
+                    )
+            ));
+        }
+
+        Query query = criteria.isEmpty()
+                ? new Query()
+                : new Query(new Criteria().andOperator(criteria.toArray(new Criteria[0])));
+        query.with(Sort.by(Sort.Direction.ASC, "name", "id")).limit(limit);
+        includeOnly(query, fields);
+        return mongoTemplate.find(query, InventoryItem.class);
+    }
+
+    @Override
+    public List<InventoryItem> findAllProjected(Collection<String> fields) {
+        Query query = new Query().with(Sort.by(Sort.Direction.ASC, "name", "id"));
+        includeOnly(query, fields);
+        return mongoTemplate.find(query, InventoryItem.class);
+    }
+
+    @Override
+    public Set<String> bulkAdjustQuantities(Map<String, Integer> quantityDeltas, String batchId, LocalDateTime updatedAt) {
+        if (quantityDeltas.isEmpty()) {
+            return Set.of();
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, InventoryItem.class);
+        quantityDeltas.forEach((itemId, quantityDelta) -> bulk.updateOne(
+                guardedQuantityQuery(itemId, quantityDelta).addCriteria(Criteria.where("appliedBatchIds").ne(batchId)),
+                quantityUpdate(quantityDelta, updatedAt).addToSet("appliedBatchIds", batchId)
+        ));
+        bulk.execute();
+
+        // A bulk write only reports totals, so the tags tell which of the guarded updates matched
+        Query applied = appliedBatchQuery(quantityDeltas.keySet(), batchId);
+        applied.fields().include("id");
+        Set<String> rejected = new HashSet<>(quantityDeltas.keySet());
+        mongoTemplate.find(applied, InventoryItem.class).forEach(item -> rejected.remove(item.getId()));
+        return rejected;
+    }
+
+    @Override
+    public void clearAppliedBatch(Collection<String> itemIds, String batchId) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        Update update = new Update()
+                .pull("appliedBatchIds", batchId)
+                .inc("version", 1);
+        mongoTemplate.updateMulti(appliedBatchQuery(itemIds, batchId), update, InventoryItem.class);
+    }
+
+    @Override
+    public Stream<InventoryItem> streamAll(int cursorBatchSize) {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .cursorBatchSize(cursorBatchSize);
+        return mongoTemplate.stream(query, InventoryItem.class);
+    }
+
+    @Override
+    public long renameResourceType(String resourceTypeId, String resourceTypeName, LocalDateTime updatedAt) {
+        return renameReference("resourceTypeId", "resourceTypeName", resourceTypeId, resourceTypeName, updatedAt);
+    }
+
+    @Override
+    public long renameResourceSubType(String resourceSubTypeId, String resourceSubTypeName, LocalDateTime updatedAt) {
+        return renameReference("resourceSubTypeId", "resourceSubTypeName", resourceSubTypeId, resourceSubTypeName, updatedAt);
+    }
+
+    @Override
+    public List<InventoryItem> findByNamePrefix(String prefix, String resourceTypeId, String resourceSubTypeId, int limit) {
+        Query query = new Query(Criteria.where("nameLower").regex("^" + escapeRegex(prefix.toLowerCase(Locale.ROOT))));
+        addTypeFilters(query, resourceTypeId, resourceSubTypeId);
+        query.with(Sort.by(Sort.Direction.ASC, "nameLower", "id")).limit(limit);
+        return mongoTemplate.find(query, InventoryItem.class);
+    }
+
+    @Override
+    public List<InventoryItem> searchText(String text, String resourceTypeId, String resourceSubTypeId, int limit) {
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text)).sortByScore();
+        addTypeFilters(query, resourceTypeId, resourceSubTypeId);
+        query.limit(limit);
+        return mongoTemplate.find(query, InventoryItem.class);
+    }
+
+    @Override
+    public long backfillNameLower() {
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("nameLower").exists(false),
+                Criteria.where("name").type(2)
+        ));
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("nameLower").toValue(StringOperators.valueOf("name").toLower());
+        return mongoTemplate.updateMulti(query, update, InventoryItem.class).getModifiedCount();
+    }
+
+    @Override
+    public long backfillVersion() {
+        return mongoTemplate.updateMulti(
+                new Query(Criteria.where("version").exists(false)),
+                new Update().set("version", 0L),
+                InventoryItem.class
+        ).getModifiedCount();
+    }
+
+    @Override
+    public List<InventoryItem> findChangedAfter(LocalDateTime afterUpdatedAt, String afterId, LocalDateTime upTo, int limit) {
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("updatedAt").lt(upTo),
+                new Criteria().orOperator(
+                        Criteria.where("updatedAt").gt(afterUpdatedAt),
+                        new Criteria().andOperator(
+                                Criteria.where("updatedAt").is(afterUpdatedAt),
+                                Criteria.where("id").gt(afterId)
+                        )
+                )
+        ));
+        query.with(Sort.by(Sort.Direction.ASC, "updatedAt", "id")).limit(limit);
+        return mongoTemplate.find(query, InventoryItem.class);
+    }
+
+    @Override
+    public Optional<InventoryItem> claimUnopenedLedger() {
+        InventoryItem claimed = mongoTemplate.findAndModify(
+                new Query(Criteria.where("ledgerOpened").ne(true)),
+                new Update().set("ledgerOpened", true).inc("version", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                InventoryItem.class
+        );
+        return Optional.ofNullable(claimed);
+    }
+
+    @Override
+    public void markLedgerDrift(Collection<String> itemIds) {
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("id").in(itemIds)),
+                new Update().set("ledgerDrift", true).inc("version", 1),
+                InventoryItem.class
+        );
+    }
+
+    @Override
+    public List<InventoryItem> findLedgerDrift(LocalDateTime settledBefore, int limit) {
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("ledgerDrift").is(true),
+                Criteria.where("updatedAt").lt(settledBefore)
+        ));
+        query.limit(limit);
+        return mongoTemplate.find(query, InventoryItem.class);
+    }
+
+    @Override
+    public boolean clearLedgerDrift(String itemId, Long version) {
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("id").is(itemId),
+                Criteria.where("version").is(version)
+        ));
+        return mongoTemplate.updateFirst(query, new Update().set("ledgerDrift", false).inc("version", 1), InventoryItem.class)
+                .getModifiedCount() > 0;
+    }
+
+    @Override
+    public long backfillTypePath(String typeId, List<String> typePath) {
+        Query query = new Query(new Criteria().andOperator(
+                mostSpecificType(typeId),
+                Criteria.where("typePath").exists(false)
+        ));
+        return mongoTemplate.updateMulti(query, new Update().set("typePath", typePath), InventoryItem.class).getModifiedCount();
+    }
+
+    @Override
+    public long retagTypePath(String typeId, List<String> typePath, String rootTypeId, String rootTypeName, LocalDateTime updatedAt) {
+        Query stillUnderType = new Query(new Criteria().andOperator(
+                mostSpecificType(typeId),
+                Criteria.where("resourceTypeId").in(typePath)
+        ));
+        Update pathOnly = new Update()
+                .set("typePath", typePath)
+                .set("updatedAt", updatedAt)
+                .inc("version", 1);
+        long modified = mongoTemplate.updateMulti(stillUnderType, pathOnly, InventoryItem.class).getModifiedCount();
+
+        Query movedAway = new Query(new Criteria().andOperator(
+                mostSpecificType(typeId),
+                Criteria.where("resourceTypeId").nin(typePath)
+        ));
+        Update pathAndRoot = new Update()
+                .set("typePath", typePath)
+                .set("resourceTypeId", rootTypeId)
+                .set("resourceTypeName", rootTypeName)
+                .set("updatedAt", updatedAt)
+                .inc("version", 1);
+        return modified + mongoTemplate.updateMulti(movedAway, pathAndRoot, InventoryItem.class).getModifiedCount();
+    }
+
+    @Override
+    public Optional<InventoryItem> findLatestUpdate() {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.DESC, "updatedAt", "id"))
+                .limit(1);
+        query.fields().include("id", "updatedAt");
+        return Optional.ofNullable(mongoTemplate.findOne(query, InventoryItem.class));
+    }
+
+    @Override
+    public long estimatedCount() {
+        return mongoTemplate.estimatedCount(InventoryItem.class);
+    }
+
+    @Override
+    public List<StockSummaryRow> summarizeStock() {
+        // Sorting on the type_subtype_quantity index prefix first lets the group read a covered index scan
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.sort(Sort.by(Sort.Direction.ASC, "resourceTypeId", "resourceSubTypeId")),
+                Aggregation.project("resourceTypeId", "resourceSubTypeId", "availableQuantity").andExclude("_id"),
+                Aggregation.group("resourceTypeId", "resourceSubTypeId")
+                        .count().as("itemCount")
+                        .sum("availableQuantity").as("totalQuantity")
+                        .sum(ConditionalOperators.when(ComparisonOperators.valueOf("availableQuantity").lessThanEqualToValue(0))
+                                .then(1)
+                                .otherwise(0)).as("zeroStockCount"),
+                Aggregation.project("itemCount", "totalQuantity", "zeroStockCount")
+                        .and("_id.resourceTypeId").as("resourceTypeId")
+                        .and("_id.resourceSubTypeId").as("resourceSubTypeId")
+                        .andExclude("_id")
+        );
+        return mongoTemplate.aggregate(aggregation, InventoryItem.class, StockSummaryRow.class).getMappedResults();
+    }
+
+    private Criteria mostSpecificType(String typeId) {
+        return new Criteria().orOperator(
+                Criteria.where("resourceSubTypeId").is(typeId),
+                new Criteria().andOperator(
+                        Criteria.where("resourceSubTypeId").is(null),
+                        Criteria.where("resourceTypeId").is(typeId)
+                )
+        );
+    }
+
+    private void includeOnly(Query query, Collection<String> fields) {
+        if (fields != null) {
+            fields.forEach(field -> query.fields().include(field));
+        }
+    }
+
+    private void addTypeFilters(Query query, String resourceTypeId, String resourceSubTypeId) {
+        if (resourceTypeId != null) {
+            query.addCriteria(Criteria.where("resourceTypeId").is(resourceTypeId));
+        }
+        if (resourceSubTypeId != null) {
+            query.addCriteria(Criteria.where("resourceSubTypeId").is(resourceSubTypeId));
+        }
+    }
+
+    private String escapeRegex(String value) {
+        // Escape metacharacters one by one rather than using \Q...\E so Mongo still sees a plain anchored prefix
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if ("\\^$.|?*+()[]{}".indexOf(c) >= 0) {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private long renameReference(String idField, String nameField, String id, String name, LocalDateTime updatedAt) {
+        // Items already carrying the new name are skipped so a re-run only touches what is still stale
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where(idField).is(id),
+                Criteria.where(nameField).ne(name)
+        ));
+        Update update = new Update()
+                .set(nameField, name)
+                .set("updatedAt", updatedAt)
+                .inc("version", 1);
+        return mongoTemplate.updateMulti(query, update, InventoryItem.class).getModifiedCount();
+    }
+
+    @Override
+    public Optional<InventoryItem> applyAdjustmentLeg(String itemId, String transferId, int quantityDelta, LocalDateTime updatedAt) {
+        InventoryItem updated = mongoTemplate.findAndModify(
+                new Query(new Criteria().andOperator(
+                        Criteria.where("id").is(itemId),
+                        Criteria.where("pendingTransferIds").ne(transferId)
+                )),
+                quantityUpdate(quantityDelta, updatedAt)
+                        .inc("locatedQuantity", quantityDelta)
+                        .push("pendingTransferIds", transferId),
+                FindAndModifyOptions.options().returnNew(true),
+                InventoryItem.class
+        );
+        return Optional.ofNullable(updated);
+    }
+
+    @Override
+    public boolean applyTransferLeg(String itemId, String transferId, int locatedDelta, LocalDateTime updatedAt) {
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("id").is(itemId),
+                Criteria.where("pendingTransferIds").ne(transferId)
+        ));
+        if (locatedDelta > 0) {
+            query.addCriteria(unlocatedAtLeast(locatedDelta));
+        }
+        Update update = new Update()
+                .inc("locatedQuantity", locatedDelta)
+                .push("pendingTransferIds", transferId)
+                .set("updatedAt", updatedAt)
+                .inc("version", 1);
+        return mongoTemplate.updateFirst(query, update, InventoryItem.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public void revertTransferLeg(String itemId, String transferId, int locatedDelta, LocalDateTime updatedAt) {
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("id").is(itemId),
+                Criteria.where("pendingTransferIds").is(transferId)
+        ));
+        Update update = new Update()
+                .inc("locatedQuantity", -locatedDelta)
+                .pull("pendingTransferIds", transferId)
+                .set("updatedAt", updatedAt)
+                .inc("version", 1);
+        mongoTemplate.updateFirst(query, update, InventoryItem.class);
+    }
+
+    @Override
+    public boolean hasTransfer(String itemId, String transferId) {
+        return mongoTemplate.exists(new Query(new Criteria().andOperator(
+                Criteria.where("id").is(itemId),
+                Criteria.where("pendingTransferIds").is(transferId)
+        )), InventoryItem.class);
+    }
+
+    @Override
+    public void clearTransfer(String itemId, String transferId) {
+        mongoTemplate.updateFirst(
+                new Query(new Criteria().andOperator(
+                        Criteria.where("id").is(itemId),
+                        Criteria.where("pendingTransferIds").is(transferId)
+                )),
+                new Update().pull("pendingTransferIds", transferId).inc("version", 1),
+                InventoryItem.class
+        );
+    }
+
+    private Query appliedBatchQuery(Collection<String> itemIds, String batchId) {
+        return new Query(new Criteria().andOperator(
+                Criteria.where("id").in(itemIds),
+                Criteria.where("appliedBatchIds").is(batchId)
+        ));
+    }
+
+    private Query guardedQuantityQuery(String itemId, int quantityDelta) {
+        Query query = new Query(Criteria.where("id").is(itemId));
+        if (quantityDelta < 0) {
+            query.addCriteria(unlocatedAtLeast(-quantityDelta));
+        }
+        return query;
+    }
+
+    private Criteria unlocatedAtLeast(int quantity) {
+        // Stock held at locations can only leave through its location, so item-level decrements draw on the rest
+        return Criteria.expr(ComparisonOperators.Gte.valueOf(
+                ArithmeticOperators.Subtract.valueOf("availableQuantity")
+                        .subtract(ConditionalOperators.ifNull("locatedQuantity").then(0))
+        ).greaterThanEqualToValue(quantity));
+    }
+
+    private Update quantityUpdate(int quantityDelta, LocalDateTime updatedAt) {
+        // Bumping the version makes a concurrent read-modify-write save of the same item fail instead of undoing the delta
+        return new Update()
+                .inc("availableQuantity", quantityDelta)
+                .set("updatedAt", updatedAt)
+                .inc("version", 1);
+    }
+}
@@ -0,0 +1,21 @@
+package com.carousel.inventory.repository;
+
+import com.carousel.inventory.domain.InventoryItemTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface InventoryItemTombstoneRepository extends MongoRepository<InventoryItemTombstone, String> {
+    /**
+     * Tombstones strictly after the (deletedAt, itemId) key and before {@code upTo}, in key order.
+     */
+    @Query(value = "{ '$and': [ { 'deletedAt': { '$lt': ?2 } }, { '$or': [ { 'deletedAt': { '$gt': ?0 } }, { 'deletedAt': ?0, '_id': { '$gt': ?1 } } ] } ] }",
+            sort = "{ 'deletedAt': 1, '_id': 1 }")
+    List<InventoryItemTombstone> findAfter(LocalDateTime afterDeletedAt, String afterItemId, LocalDateTime upTo, Pageable pageable);
+
+    Optional<InventoryItemTombstone> findFirstByOrderByDeletedAtDesc();
+}
@@ -0,0 +1,14 @@
+package com.carousel.inventory.repository;
+
+import com.carousel.inventory.domain.LocationStock;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface LocationStockRepository extends MongoRepository<LocationStock, String>, LocationStockRepositoryCustom {
+    List<LocationStock> findByItemIdOrderByLocationIdAsc(String itemId);
+
+    List<LocationStock> findByLocationIdAndQuantityGreaterThanOrderByItemIdAsc(String locationId, int quantity);
+
+    void deleteByItemId(String itemId);
+}
@@ -0,0 +1,23 @@
+package com.carousel.inventory.repository;
+
+import java.time.LocalDateTime;
+
+public interface LocationStockRepositoryCustom {
+    /**
+     * Applies one side of a transfer and marks the entry with the transfer id in the same update, so applying
+     * the same side again is a no-op.
+     *
+     * @return true when the change was applied by this call; false when the guard rejected it or it was already applied
+     */
+    boolean applyTransferLeg(String itemId, String locationId, String transferId, int quantityDelta, LocalDateTime updatedAt);
+
+    /**
+     * Undoes a side applied with {@code quantityDelta} and removes its marker in the same update, so undoing it
+     * again is a no-op.
+     */
+    void revertTransferLeg(String itemId, String locationId, String transferId, int quantityDelta, LocalDateTime updatedAt);
+
+    boolean hasTransfer(String itemId, String locationId, String transferId);
+
+    void clearTransfer(String itemId, String locationId, String transferId);
+}
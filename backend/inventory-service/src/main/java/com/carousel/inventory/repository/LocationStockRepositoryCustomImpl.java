@@ -0,0 +1,80 @@
+package com.carousel.inventory.repository;
+
+import com.carousel.inventory.domain.LocationStock;
+import com.mongodb.client.result.UpdateResult;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+
+public class LocationStockRepositoryCustomImpl implements LocationStockRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public LocationStockRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean applyTransferLeg(String itemId, String locationId, String transferId, int quantityDelta, LocalDateTime updatedAt) {
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("id").is(LocationStock.idOf(itemId, locationId)),
+                Criteria.where("pendingTransferIds").ne(transferId)
+        ));
+        if (quantityDelta < 0) {
+            query.addCriteria(Criteria.where("quantity").gte(-quantityDelta));
+        }
+        Update update = quantityUpdate(itemId, locationId, quantityDelta, updatedAt).push("pendingTransferIds", transferId);
+        try {
+            UpdateResult result = quantityDelta > 0
+                    ? mongoTemplate.upsert(query, update, LocationStock.class)
+                    : mongoTemplate.updateFirst(query, update, LocationStock.class);
+            return result.getModifiedCount() > 0 || result.getUpsertedId() != null;
+        } catch (DuplicateKeyException e) {
+            // The entry exists but already carries the transfer, so the upsert fell through to an insert
+            return false;
+        }
+    }
+
+    @Override
+    public void revertTransferLeg(String itemId, String locationId, String transferId, int quantityDelta, LocalDateTime updatedAt) {
+        mongoTemplate.updateFirst(
+                new Query(new Criteria().andOperator(
+                        Criteria.where("id").is(LocationStock.idOf(itemId, locationId)),
+                        Criteria.where("pendingTransferIds").is(transferId)
+                )),
+                new Update()
+                        .inc("quantity", -quantityDelta)
+                        .pull("pendingTransferIds", transferId)
+                        .set("updatedAt", updatedAt),
+                LocationStock.class
+        );
+    }
+
+    @Override
+    public boolean hasTransfer(String itemId, String locationId, String transferId) {
+        return mongoTemplate.exists(new Query(new Criteria().andOperator(
+                Criteria.where("id").is(LocationStock.idOf(itemId, locationId)),
+                Criteria.where("pendingTransferIds").is(transferId)
+        )), LocationStock.class);
+    }
+
+    @Override
+    public void clearTransfer(String itemId, String locationId, String transferId) {
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("id").is(LocationStock.idOf(itemId, locationId))),
+                new Update().pull("pendingTransferIds", transferId),
+                LocationStock.class
+        );
+    }
+
+    private Update quantityUpdate(String itemId, String locationId, int quantityDelta, LocalDateTime updatedAt) {
+        return new Update()
+                .inc("quantity", quantityDelta)
+                .set("updatedAt", updatedAt)
+                .setOnInsert("itemId", itemId)
+                .setOnInsert("locationId", locationId);
+    }
+}
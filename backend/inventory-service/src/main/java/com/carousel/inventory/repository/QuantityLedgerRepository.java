@@ -0,0 +1,11 @@
+package com.carousel.inventory.repository;
+
+import com.carousel.inventory.domain.QuantityLedgerEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface QuantityLedgerRepository extends MongoRepository<QuantityLedgerEntry, String>, QuantityLedgerRepositoryCustom {
+    List<QuantityLedgerEntry> findByItemIdOrderByRecordedAtDesc(String itemId, Pageable pageable);
+}
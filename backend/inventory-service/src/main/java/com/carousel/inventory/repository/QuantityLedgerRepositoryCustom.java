@@ -0,0 +1,22 @@
+package com.carousel.inventory.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface QuantityLedgerRepositoryCustom {
+    /**
+     * Sums the deltas of one item recorded after {@code after} (exclusive, null for no lower bound) up to {@code upTo}.
+     */
+    long sumDeltas(String itemId, LocalDateTime after, LocalDateTime upTo);
+
+    /**
+     * Sums deltas per item for entries recorded after {@code after} (exclusive, null for no lower bound) up to {@code upTo}.
+     */
+    Map<String, Long> sumDeltasByItem(LocalDateTime after, LocalDateTime upTo);
+
+    /**
+     * Distinct actors of entries recorded since {@code since}, most recently active first, leaving out {@code excludedActor}.
+     */
+    List<String> findRecentActors(LocalDateTime since, String excludedActor, int limit);
+}
@@ -0,0 +1,67 @@
+package com.carousel.inventory.repository;
+
+import com.carousel.inventory.domain.QuantityLedgerEntry;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class QuantityLedgerRepositoryCustomImpl implements QuantityLedgerRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public QuantityLedgerRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public long sumDeltas(String itemId, LocalDateTime after, LocalDateTime upTo) {
+        Criteria criteria = Criteria.where("itemId").is(itemId).and("recordedAt").lte(upTo);
+        if (after != null) {
+            criteria = new Criteria().andOperator(criteria, Criteria.where("recordedAt").gt(after));
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.group().sum("delta").as("total")
+        );
+        Document result = mongoTemplate.aggregate(aggregation, QuantityLedgerEntry.class, Document.class).getUniqueMappedResult();
+        return result == null ? 0 : ((Number) result.get("total")).longValue();
+    }
+
+    @Override
+    public Map<String, Long> sumDeltasByItem(LocalDateTime after, LocalDateTime upTo) {
+        Criteria criteria = Criteria.where("recordedAt").lte(upTo);
+        if (after != null) {
+            criteria = new Criteria().andOperator(criteria, Criteria.where("recordedAt").gt(after));
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.group("itemId").sum("delta").as("total")
+        );
+        Map<String, Long> totals = new HashMap<>();
+        mongoTemplate.aggregate(aggregation, QuantityLedgerEntry.class, Document.class)
+                .forEach(row -> totals.put(row.getString("_id"), ((Number) row.get("total")).longValue()));
+        return totals;
+    }
+
+    @Override
+    public List<String> findRecentActors(LocalDateTime since, String excludedActor, int limit) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(new Criteria().andOperator(
+                        Criteria.where("recordedAt").gte(since),
+                        Criteria.where("actor").nin(null, excludedActor)
+                )),
+                Aggregation.group("actor").max("recordedAt").as("lastRecordedAt"),
+                Aggregation.sort(Sort.Direction.DESC, "lastRecordedAt"),
+                Aggregation.limit(limit)
+        );
+        return mongoTemplate.aggregate(aggregation, QuantityLedgerEntry.class, Document.class).getMappedResults().stream()
+                .map(row -> row.getString("_id"))
+                .toList();
+    }
+}
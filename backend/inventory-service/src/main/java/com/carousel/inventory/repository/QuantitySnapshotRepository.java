@@ -0,0 +1,13 @@
+package com.carousel.inventory.repository;
+
+import com.carousel.inventory.domain.QuantitySnapshot;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface QuantitySnapshotRepository extends MongoRepository<QuantitySnapshot, String> {
+    Optional<QuantitySnapshot> findFirstByItemIdAndTakenAtLessThanEqualOrderByTakenAtDesc(String itemId, LocalDateTime takenAt);
+
+    Optional<QuantitySnapshot> findFirstByOrderByTakenAtDesc();
+}
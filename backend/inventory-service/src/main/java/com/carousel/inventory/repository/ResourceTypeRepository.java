@@ -5,7 +5,17 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
 
-public interface ResourceTypeRepository extends MongoRepository<ResourceType, String> {
+public interface ResourceTypeRepository extends MongoRepository<ResourceType, String>, ResourceTypeRepositoryCustom {
     boolean existsByNameIgnoreCase(String name);
     List<ResourceType> findByParentTypeId(String parentTypeId);
+
+    /**
+     * Every type anywhere below the given one, answered by the multikey index on ancestorIds.
+     */
+    List<ResourceType> findByAncestorIds(String ancestorId);
+
+    /**
+     * Types whose rename has not been copied onto every item and child type yet.
+     */
+    List<ResourceType> findByRenamePendingTrue();
 }
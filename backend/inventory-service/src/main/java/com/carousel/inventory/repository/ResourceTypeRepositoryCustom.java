@@ -0,0 +1,47 @@
+package com.carousel.inventory.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ResourceTypeRepositoryCustom {
+    /**
+     * Rewrites the denormalized parent name on every child of the type with one server-side multi-document update.
+     *
+     * @return number of child types modified
+     */
+    long renameParentType(String parentTypeId, String parentTypeName, LocalDateTime updatedAt);
+
+    /**
+     * Marks a rename as copied everywhere, unless the type has been renamed again since it was propagated.
+     *
+     * @return true when the pending flag was cleared
+     */
+    boolean clearRenamePending(String typeId, String propagatedName);
+
+    /**
+     * Gives types written before optimistic locking was introduced a starting version.
+     *
+     * @return number of types modified
+     */
+    long backfillVersion();
+
+    /**
+     * Replaces the materialized ancestor path of one type.
+     *
+     * @param onlyIfMissing leave the type alone when it already has a path, so concurrent backfills agree
+     * @return number of types modified
+     */
+    long setAncestorIds(String typeId, List<String> ancestorIds, boolean onlyIfMissing);
+
+    /**
+     * Takes the tree-wide move lease unless another owner holds one that has not expired yet.
+     *
+     * @return true when the lease is now held by {@code owner}
+     */
+    boolean acquireMoveLock(String owner, LocalDateTime now, LocalDateTime leaseUntil);
+
+    /**
+     * Gives the move lease up, if {@code owner} still holds it.
+     */
+    void releaseMoveLock(String owner);
+}
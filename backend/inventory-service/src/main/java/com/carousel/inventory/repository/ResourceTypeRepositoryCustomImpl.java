@@ -0,0 +1,92 @@
+package com.carousel.inventory.repository;
+
+import com.carousel.inventory.domain.ResourceType;
+import com.carousel.inventory.domain.TypeMoveLock;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ResourceTypeRepositoryCustomImpl implements ResourceTypeRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public ResourceTypeRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public long renameParentType(String parentTypeId, String parentTypeName, LocalDateTime updatedAt) {
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("parentTypeId").is(parentTypeId),
+                Criteria.where("parentTypeName").ne(parentTypeName)
+        ));
+        Update update = new Update()
+                .set("parentTypeName", parentTypeName)
+                .set("updatedAt", updatedAt)
+                .inc("version", 1);
+        return mongoTemplate.updateMulti(query, update, ResourceType.class).getModifiedCount();
+    }
+
+    @Override
+    public boolean clearRenamePending(String typeId, String propagatedName) {
+        // Left out of the version so that clearing the flag never fails a concurrent edit of the type
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("id").is(typeId),
+                Criteria.where("name").is(propagatedName),
+                Criteria.where("renamePending").is(true)
+        ));
+        return mongoTemplate.updateFirst(query, new Update().unset("renamePending"), ResourceType.class)
+                .getModifiedCount() > 0;
+    }
+
+    @Override
+    public long backfillVersion() {
+        return mongoTemplate.updateMulti(
+                new Query(Criteria.where("version").exists(false)),
+                new Update().set("version", 0L),
+                ResourceType.class
+        ).getModifiedCount();
+    }
+
+    @Override
+    public long setAncestorIds(String typeId, List<String> ancestorIds, boolean onlyIfMissing) {
+        Query query = new Query(Criteria.where("id").is(typeId));
+        if (onlyIfMissing) {
+            query.addCriteria(Criteria.where("ancestorIds").exists(false));
+        }
+        Update update = new Update()
+                .set("ancestorIds", ancestorIds)
+                .inc("version", 1);
+        return mongoTemplate.updateFirst(query, update, ResourceType.class).getModifiedCount();
+    }
+
+    @Override
+    public boolean acquireMoveLock(String owner, LocalDateTime now, LocalDateTime leaseUntil) {
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("id").is(TypeMoveLock.TREE),
+                Criteria.where("expiresAt").lt(now)
+        ));
+        Update update = new Update()
+                .set("owner", owner)
+                .set("expiresAt", leaseUntil);
+        try {
+            mongoTemplate.upsert(query, update, TypeMoveLock.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // The lock exists with a live lease, so the upsert fell through to an insert of the same id
+            return false;
+        }
+    }
+
+    @Override
+    public void releaseMoveLock(String owner) {
+        mongoTemplate.remove(new Query(new Criteria().andOperator(
+                Criteria.where("id").is(TypeMoveLock.TREE),
+                Criteria.where("owner").is(owner)
+        )), TypeMoveLock.class);
+    }
+}
@@ -0,0 +1,14 @@
+package com.carousel.inventory.repository;
+
+import com.carousel.inventory.domain.StockAlert;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StockAlertRepository extends MongoRepository<StockAlert, String>, StockAlertRepositoryCustom {
+    List<StockAlert> findByDispatchRunId(String dispatchRunId);
+
+    List<StockAlert> findByRaisedAtAfterOrderByRaisedAtAsc(LocalDateTime after, Pageable pageable);
+}
@@ -0,0 +1,21 @@
+package com.carousel.inventory.repository;
+
+import java.time.LocalDateTime;
+
+public interface StockAlertRepositoryCustom {
+    /**
+     * Marks up to {@code limit} undispatched alerts, oldest first, as dispatched and tags them with
+     * {@code dispatchRunId} so the caller can read back exactly the ones it claimed.
+     *
+     * @return number of alerts claimed
+     */
+    long claimUndispatched(int limit, String dispatchRunId, LocalDateTime dispatchedAt, LocalDateTime purgeAt);
+
+    /**
+     * Records {@code raisedAt} as the item's last alert, provided its previous alert was raised before
+     * {@code debouncedBefore} or it has none.
+     *
+     * @return true when the caller may raise the alert
+     */
+    boolean claimAlert(String itemId, LocalDateTime raisedAt, LocalDateTime debouncedBefore, LocalDateTime expiresAt);
+}
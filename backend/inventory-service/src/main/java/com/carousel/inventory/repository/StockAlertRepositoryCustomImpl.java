@@ -0,0 +1,65 @@
+package com.carousel.inventory.repository;
+
+import com.carousel.inventory.domain.StockAlert;
+import com.carousel.inventory.domain.StockAlertState;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class StockAlertRepositoryCustomImpl implements StockAlertRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public StockAlertRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public long claimUndispatched(int limit, String dispatchRunId, LocalDateTime dispatchedAt, LocalDateTime purgeAt) {
+        Query candidates = new Query(Criteria.where("dispatched").is(false))
+                .with(Sort.by(Sort.Direction.ASC, "raisedAt"))
+                .limit(limit);
+        candidates.fields().include("id");
+        List<String> ids = mongoTemplate.find(candidates, StockAlert.class).stream()
+                .map(StockAlert::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // Re-check the flag so alerts claimed by another instance meanwhile are not sent twice
+        Query claim = new Query(new Criteria().andOperator(
+                Criteria.where("id").in(ids),
+                Criteria.where("dispatched").is(false)
+        ));
+        Update update = new Update()
+                .set("dispatched", true)
+                .set("dispatchedAt", dispatchedAt)
+                .set("dispatchRunId", dispatchRunId)
+                .set("purgeAt", purgeAt);
+        return mongoTemplate.updateMulti(claim, update, StockAlert.class).getModifiedCount();
+    }
+
+    @Override
+    public boolean claimAlert(String itemId, LocalDateTime raisedAt, LocalDateTime debouncedBefore, LocalDateTime expiresAt) {
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("id").is(itemId),
+                Criteria.where("lastRaisedAt").lt(debouncedBefore)
+        ));
+        Update update = new Update()
+                .set("lastRaisedAt", raisedAt)
+                .set("expiresAt", expiresAt);
+        try {
+            mongoTemplate.upsert(query, update, StockAlertState.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // The state exists with a recent alert, so the upsert fell through to an insert of the same id
+            return false;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.carousel.inventory.repository;
+
+import com.carousel.inventory.domain.ReservationStatus;
+import com.carousel.inventory.domain.StockReservation;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface StockReservationRepository extends MongoRepository<StockReservation, String>, StockReservationRepositoryCustom {
+    List<StockReservation> findByReturnRunIdAndStatus(String returnRunId, ReservationStatus status);
+}
@@ -0,0 +1,43 @@
+package com.carousel.inventory.repository;
+
+import com.carousel.inventory.domain.ReservationStatus;
+import com.carousel.inventory.domain.StockReservation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface StockReservationRepositoryCustom {
+    /**
+     * Atomically moves a held, unexpired reservation to {@code status}.
+     *
+     * @return the resolved reservation, or empty when it is missing, no longer held or already expired
+     */
+    Optional<StockReservation> resolveHeld(String reservationId, ReservationStatus status, LocalDateTime resolvedAt, LocalDateTime purgeAt);
+
+    /**
+     * Atomically moves a held, unexpired reservation to RETURNING on its way to {@code resolution}, tagged with
+     * {@code returnRunId}. No purgeAt is set until the stock is back.
+     *
+     * @return the returning reservation, or empty when it is missing, no longer held or already expired
+     */
+    Optional<StockReservation> startReturn(String reservationId, ReservationStatus resolution, LocalDateTime resolvedAt, String returnRunId);
+
+    /**
+     * Moves up to {@code limit} held reservations that expired before {@code now} to RETURNING on their way to
+     * EXPIRED, tagging them with {@code returnRunId} so the caller can read back exactly the ones it claimed.
+     *
+     * @return number of reservations claimed
+     */
+    long claimExpired(LocalDateTime now, int limit, String returnRunId);
+
+    /**
+     * Resolves the returning reservations of a run once their stock is back.
+     */
+    void finishReturn(String returnRunId, ReservationStatus resolution, LocalDateTime purgeAt);
+
+    /**
+     * Returning reservations whose return started before {@code startedBefore}, whose run most likely died.
+     */
+    List<StockReservation> findStalledReturns(LocalDateTime startedBefore, int limit);
+}
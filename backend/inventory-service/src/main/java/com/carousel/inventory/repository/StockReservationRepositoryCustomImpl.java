@@ -0,0 +1,102 @@
+package com.carousel.inventory.repository;
+
+import com.carousel.inventory.domain.ReservationStatus;
+import com.carousel.inventory.domain.StockReservation;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public class StockReservationRepositoryCustomImpl implements StockReservationRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public StockReservationRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<StockReservation> resolveHeld(String reservationId, ReservationStatus status, LocalDateTime resolvedAt, LocalDateTime purgeAt) {
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("id").is(reservationId),
+                Criteria.where("status").is(ReservationStatus.HELD),
+                Criteria.where("expiresAt").gt(resolvedAt)
+        ));
+        Update update = new Update()
+                .set("status", status)
+                .set("resolvedAt", resolvedAt)
+                .set("purgeAt", purgeAt);
+        StockReservation resolved = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), StockReservation.class);
+        return Optional.ofNullable(resolved);
+    }
+
+    @Override
+    public Optional<StockReservation> startReturn(String reservationId, ReservationStatus resolution, LocalDateTime resolvedAt, String returnRunId) {
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("id").is(reservationId),
+                Criteria.where("status").is(ReservationStatus.HELD),
+                Criteria.where("expiresAt").gt(resolvedAt)
+        ));
+        StockReservation returning = mongoTemplate.findAndModify(query, returnUpdate(resolution, resolvedAt, returnRunId),
+                FindAndModifyOptions.options().returnNew(true), StockReservation.class);
+        return Optional.ofNullable(returning);
+    }
+
+    @Override
+    public long claimExpired(LocalDateTime now, int limit, String returnRunId) {
+        Query candidates = new Query(new Criteria().andOperator(
+                Criteria.where("status").is(ReservationStatus.HELD),
+                Criteria.where("expiresAt").lte(now)
+        )).with(Sort.by(Sort.Direction.ASC, "expiresAt")).limit(limit);
+        candidates.fields().include("id");
+        List<String> ids = mongoTemplate.find(candidates, StockReservation.class).stream()
+                .map(StockReservation::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // Re-check the status so a reservation confirmed or claimed by another instance meanwhile is left alone
+        Query claim = new Query(new Criteria().andOperator(
+                Criteria.where("id").in(ids),
+                Criteria.where("status").is(ReservationStatus.HELD)
+        ));
+        return mongoTemplate.updateMulti(claim, returnUpdate(ReservationStatus.EXPIRED, now, returnRunId), StockReservation.class)
+                .getModifiedCount();
+    }
+
+    @Override
+    public void finishReturn(String returnRunId, ReservationStatus resolution, LocalDateTime purgeAt) {
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("returnRunId").is(returnRunId),
+                Criteria.where("status").is(ReservationStatus.RETURNING)
+        ));
+        Update update = new Update()
+                .set("status", resolution)
+                .set("purgeAt", purgeAt);
+        mongoTemplate.updateMulti(query, update, StockReservation.class);
+    }
+
+    @Override
+    public List<StockReservation> findStalledReturns(LocalDateTime startedBefore, int limit) {
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("status").is(ReservationStatus.RETURNING),
+                Criteria.where("resolvedAt").lt(startedBefore)
+        )).with(Sort.by(Sort.Direction.ASC, "resolvedAt")).limit(limit);
+        return mongoTemplate.find(query, StockReservation.class);
+    }
+
+    private Update returnUpdate(ReservationStatus resolution, LocalDateTime resolvedAt, String returnRunId) {
+        return new Update()
+                .set("status", ReservationStatus.RETURNING)
+                .set("resolution", resolution)
+                .set("resolvedAt", resolvedAt)
+                .set("returnRunId", returnRunId);
+    }
+}
@@ -0,0 +1,63 @@
+package com.carousel.inventory.repository;
+
+/**
+ * One group of the stock summary aggregation: all items sharing a type and subtype.
+ */
+public class StockSummaryRow {
+    private String resourceTypeId;
+    private String resourceSubTypeId;
+    private long itemCount;
+    private long totalQuantity;
+    private long zeroStockCount;
+
+    public StockSummaryRow() {
+    }
+
+    public StockSummaryRow(String resourceTypeId, String resourceSubTypeId, long itemCount, long totalQuantity, long zeroStockCount) {
+        this.resourceTypeId = resourceTypeId;
+        this.resourceSubTypeId = resourceSubTypeId;
+        this.itemCount = itemCount;
+        this.totalQuantity = totalQuantity;
+        this.zeroStockCount = zeroStockCount;
+    }
+
+    public String getResourceTypeId() {
+        return resourceTypeId;
+    }
+
+    public void setResourceTypeId(String resourceTypeId) {
+        this.resourceTypeId = resourceTypeId;
+    }
+
+    public String getResourceSubTypeId() {
+        return resourceSubTypeId;
+    }
+
+    public void setResourceSubTypeId(String resourceSubTypeId) {
+        this.resourceSubTypeId = resourceSubTypeId;
+    }
+
+    public long getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(long itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    public long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public void setTotalQuantity(long totalQuantity) {
+        this.totalQuantity = totalQuantity;
+    }
+
+    public long getZeroStockCount() {
+        return zeroStockCount;
+    }
+
+    public void setZeroStockCount(long zeroStockCount) {
+        this.zeroStockCount = zeroStockCount;
+    }
+}
@@ -0,0 +1,14 @@
+package com.carousel.inventory.repository;
+
+import com.carousel.inventory.domain.StockTransfer;
+import com.carousel.inventory.domain.TransferStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface StockTransferRepository extends MongoRepository<StockTransfer, String>, StockTransferRepositoryCustom {
+    List<StockTransfer> findByStatusInAndUpdatedAtBeforeOrderByUpdatedAtAsc(Collection<TransferStatus> statuses, LocalDateTime before, Pageable pageable);
+}
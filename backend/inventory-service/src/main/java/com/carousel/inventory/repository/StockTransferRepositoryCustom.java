@@ -0,0 +1,22 @@
+package com.carousel.inventory.repository;
+
+import com.carousel.inventory.domain.TransferStatus;
+
+import java.time.LocalDateTime;
+
+public interface StockTransferRepositoryCustom {
+    /**
+     * Moves the transfer from {@code from} to {@code to} on behalf of its owner; a non-null {@code purgeAt}
+     * schedules its removal.
+     *
+     * @return true when the transfer was still in {@code from}, still owned by {@code owner} and this call moved it
+     */
+    boolean advance(String transferId, String owner, TransferStatus from, TransferStatus to, LocalDateTime updatedAt, LocalDateTime purgeAt);
+
+    /**
+     * Takes over a transfer whose owner let its lease run out, provided nobody touched it since it was read.
+     *
+     * @return true when {@code owner} now drives the transfer
+     */
+    boolean claim(String transferId, TransferStatus status, LocalDateTime seenUpdatedAt, String owner, LocalDateTime updatedAt);
+}
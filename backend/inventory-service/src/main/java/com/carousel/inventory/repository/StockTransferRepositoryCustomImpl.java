@@ -0,0 +1,47 @@
+package com.carousel.inventory.repository;
+
+import com.carousel.inventory.domain.StockTransfer;
+import com.carousel.inventory.domain.TransferStatus;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+
+public class StockTransferRepositoryCustomImpl implements StockTransferRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public StockTransferRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean advance(String transferId, String owner, TransferStatus from, TransferStatus to, LocalDateTime updatedAt, LocalDateTime purgeAt) {
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("id").is(transferId),
+                Criteria.where("owner").is(owner),
+                Criteria.where("status").is(from)
+        ));
+        Update update = new Update()
+                .set("status", to)
+                .set("updatedAt", updatedAt);
+        if (purgeAt != null) {
+            update.set("purgeAt", purgeAt);
+        }
+        return mongoTemplate.updateFirst(query, update, StockTransfer.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean claim(String transferId, TransferStatus status, LocalDateTime seenUpdatedAt, String owner, LocalDateTime updatedAt) {
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("id").is(transferId),
+                Criteria.where("status").is(status),
+                Criteria.where("updatedAt").is(seenUpdatedAt)
+        ));
+        Update update = new Update()
+                .set("owner", owner)
+                .set("updatedAt", updatedAt);
+        return mongoTemplate.updateFirst(query, update, StockTransfer.class).getModifiedCount() > 0;
+    }
+}
@@ -0,0 +1,131 @@
+package com.carousel.inventory.service;
+
+import com.carousel.inventory.config.InventoryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, TTL-based cache of authorization contexts keyed by normalized requester email.
+ * Saves the user-service and role-service round trips on every inventory call.
+ */
+@Component
+public class AuthorizationCache {
+    private final Map<String, CachedContext> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public AuthorizationCache(InventoryProperties inventoryProperties, MeterRegistry meterRegistry) {
+        InventoryProperties.AuthorizationCache settings = inventoryProperties.getAuthorizationCache();
+        this.ttlNanos = Duration.ofSeconds(Math.max(0, settings.getTtlSeconds())).toNanos();
+        this.maxEntries = Math.max(1, settings.getMaxEntries());
+        this.hits = Counter.builder("inventory.authorization.cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("inventory.authorization.cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("inventory.authorization.cache.evictions")
+                .register(meterRegistry);
+        Gauge.builder("inventory.authorization.cache.size", entries, Map::size)
+                .register(meterRegistry);
+    }
+
+    AuthorizationContext get(String email) {
+        String key = normalize(email);
+        CachedContext cached = entries.get(key);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+
+        if (cached.isExpired(System.nanoTime())) {
+            entries.remove(key, cached);
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return cached.context;
+    }
+
+    void put(String email, AuthorizationContext context) {
+        if (ttlNanos == 0 || context == null || !context.isComplete()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        if (entries.size() >= maxEntries) {
+            evict(now);
+        }
+        entries.put(normalize(email), new CachedContext(context, now + ttlNanos));
+    }
+
+    public void invalidate(String email) {
+        if (email == null || email.isBlank()) {
+            return;
+        }
+        entries.remove(normalize(email));
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        entries.entrySet().removeIf(entry -> {
+            boolean expired = entry.getValue().isExpired(now);
+            if (expired) {
+                evictions.increment();
+            }
+            return expired;
+        });
+
+        while (entries.size() >= maxEntries) {
+            String oldestKey = null;
+            long oldestExpiry = Long.MAX_VALUE;
+            for (Map.Entry<String, CachedContext> entry : entries.entrySet()) {
+                if (oldestKey == null || entry.getValue().expiresAtNanos - oldestExpiry < 0) {
+                    oldestKey = entry.getKey();
+                    oldestExpiry = entry.getValue().expiresAtNanos;
+                }
+            }
+            if (oldestKey == null) {
+                return;
+            }
+            entries.remove(oldestKey);
+            evictions.increment();
+        }
+    }
+
+    private String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class CachedContext {
+        private final AuthorizationContext context;
+        private final long expiresAtNanos;
+
+        private CachedContext(AuthorizationContext context, long expiresAtNanos) {
+            this.context = context;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.carousel.inventory.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+final class AuthorizationContext {
+    private final boolean isAdmin;
+    private final List<String> roles;
+    private final boolean complete;
+
+    AuthorizationContext(boolean isAdmin, List<String> roles, boolean complete) {
+        this.isAdmin = isAdmin;
+        this.roles = roles == null ? List.of() : Collections.unmodifiableList(new ArrayList<>(roles));
+        this.complete = complete;
+    }
+
+    boolean isAdmin() {
+        return isAdmin;
+    }
+
+    List<String> getRoles() {
+        return roles;
+    }
+
+    /**
+     * A context is complete when both user-service and role-service answered.
+     * Incomplete contexts are never cached so a transient outage cannot lock users out for a whole TTL.
+     */
+    boolean isComplete() {
+        return complete;
+    }
+
+    boolean hasAnyRole(String... targets) {
+        for (String role : roles) {
+            String normalizedRole = role == null ? "" : role.toLowerCase(Locale.ROOT);
+            for (String target : targets) {
+                if (normalizedRole.equals(target)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,242 @@
+package com.carousel.inventory.service;
+
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.domain.IdempotencyRecord;
+import com.carousel.inventory.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Makes inventory mutations safe to retry. The first request with a given Idempotency-Key claims the key in Mongo,
+ * runs, and stores its response; a retry with the same key and the same request gets that response back without
+ * running again. Completed responses are also kept in a bounded in-memory LRU so hot retries skip the database.
+ * <p>
+ * Each claim carries a token of the request holding it, and only that request may complete or release it, so a
+ * request that outlived its lease cannot overwrite or delete the claim of the one that took over. A failed mutation
+ * releases its key only when it was rejected: the services throw a plain {@link RuntimeException} for rule
+ * violations, before anything is written or after undoing it. Any other failure, such as a database error halfway
+ * through, may have left part of the mutation applied, so the key is kept as failed and a retry is refused rather
+ * than run a second time.
+ */
+@Service
+public class IdempotencyService {
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_CLAIM_ATTEMPTS = 3;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final InventoryProperties inventoryProperties;
+    private final ObjectMapper objectMapper;
+    private final Map<String, CachedResponse> recentResponses;
+
+    public IdempotencyService(
+            IdempotencyRecordRepository recordRepository,
+            InventoryProperties inventoryProperties,
+            ObjectMapper objectMapper
+    ) {
+        this.recordRepository = recordRepository;
+        this.inventoryProperties = inventoryProperties;
+        this.objectMapper = objectMapper;
+        int maxEntries = Math.max(1, inventoryProperties.getIdempotency().getCacheMaxEntries());
+        this.recentResponses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Runs {@code action} at most once per requester and key. Without a key the action simply runs.
+     *
+     * @param operation method and concrete path of the mutation, so a key cannot be replayed against another item
+     * @param request   request body, compared on replay to reject a reused key carrying a different request
+     */
+    public <T> T execute(
+            String idempotencyKey,
+            String requesterEmail,
+            String operation,
+            Object request,
+            Class<T> responseType,
+            Supplier<T> action
+    ) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency-Key must be at most 255 characters");
+        }
+
+        String id = sha256(normalize(requesterEmail) + "\n" + idempotencyKey.trim());
+        String fingerprint = sha256(operation + "\n" + toJson(request));
+
+        CachedResponse cached = cachedResponse(id);
+        if (cached != null) {
+            return replay(cached.fingerprint, cached.responseBody, fingerprint, responseType);
+        }
+
+        String claimToken = UUID.randomUUID().toString();
+        Optional<IdempotencyRecord> completed = claim(id, operation, fingerprint, claimToken);
+        if (completed.isPresent()) {
+            IdempotencyRecord record = completed.get();
+            remember(id, record.getFingerprint(), record.getResponseBody(), record.getExpiresAt());
+            return replay(record.getFingerprint(), record.getResponseBody(), fingerprint, responseType);
+        }
+
+        T response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            settleFailure(id, claimToken, operation, e);
+            throw e;
+        }
+
+        String responseBody = toJson(response);
+        LocalDateTime expiresAt = retentionEnd();
+        try {
+            if (!recordRepository.complete(id, claimToken, responseBody, expiresAt)) {
+                logger.warn("Idempotency claim for operation {} was taken over before it completed", operation);
+                return response;
+            }
+        } catch (RuntimeException e) {
+            // The mutation already happened; failing the request now would invite exactly the retry this guards against
+            logger.warn("Could not store idempotent response for operation {}", operation, e);
+        }
+        remember(id, fingerprint, responseBody, expiresAt);
+        return response;
+    }
+
+    private void settleFailure(String id, String claimToken, String operation, RuntimeException failure) {
+        try {
+            if (failure.getClass() == RuntimeException.class) {
+                // Rejected by a business rule, so nothing was applied and the client may retry the same request
+                recordRepository.release(id, claimToken);
+            } else {
+                recordRepository.markFailed(id, claimToken, retentionEnd());
+            }
+        } catch (RuntimeException e) {
+            // The lease runs out on its own; until then a retry is answered as still in progress
+            logger.warn("Could not settle idempotency claim for operation {}", operation, e);
+        }
+    }
+
+    private LocalDateTime retentionEnd() {
+        return LocalDateTime.now().plusHours(inventoryProperties.getIdempotency().getRetentionHours());
+    }
+
+    /**
+     * Claims the key for this caller.
+     *
+     * @return the completed record when the key was already used, or empty when this caller owns the claim
+     */
+    private Optional<IdempotencyRecord> claim(String id, String operation, String fingerprint, String claimToken) {
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime leaseUntil = now.plusSeconds(inventoryProperties.getIdempotency().getLeaseSeconds());
+            try {
+                recordRepository.insert(new IdempotencyRecord(id, operation, fingerprint, claimToken, now, leaseUntil));
+                return Optional.empty();
+            } catch (DuplicateKeyException e) {
+                IdempotencyRecord existing = recordRepository.findById(id).orElse(null);
+                if (existing == null) {
+                    // Removed by the TTL monitor or a failed first attempt between the insert and the read
+                    continue;
+                }
+                if (existing.getExpiresAt() != null && !existing.getExpiresAt().isAfter(now)) {
+                    if (recordRepository.claimExpired(id, operation, fingerprint, claimToken, now, leaseUntil)) {
+                        return Optional.empty();
+                    }
+                    continue;
+                }
+                if (existing.isCompleted()) {
+                    return Optional.of(existing);
+                }
+                if (!fingerprint.equals(existing.getFingerprint())) {
+                    throw new RuntimeException("Idempotency-Key was already used for a different request");
+                }
+                if (existing.isFailed()) {
+                    throw new RuntimeException("Request with this Idempotency-Key failed with an unknown outcome");
+                }
+                throw new RuntimeException("Request with this Idempotency-Key is still in progress");
+            }
+        }
+        throw new RuntimeException("Request with this Idempotency-Key is still in progress");
+    }
+
+    private <T> T replay(String storedFingerprint, String responseBody, String fingerprint, Class<T> responseType) {
+        if (!fingerprint.equals(storedFingerprint)) {
+            throw new RuntimeException("Idempotency-Key was already used for a different request");
+        }
+        try {
+            return objectMapper.readValue(responseBody, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response could not be read", e);
+        }
+    }
+
+    private CachedResponse cachedResponse(String id) {
+        synchronized (recentResponses) {
+            CachedResponse cached = recentResponses.get(id);
+            if (cached != null && !cached.expiresAt.isAfter(LocalDateTime.now())) {
+                recentResponses.remove(id);
+                return null;
+            }
+            return cached;
+        }
+    }
+
+    private void remember(String id, String fingerprint, String responseBody, LocalDateTime expiresAt) {
+        synchronized (recentResponses) {
+            recentResponses.put(id, new CachedResponse(fingerprint, responseBody, expiresAt));
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize idempotent request or response", e);
+        }
+    }
+
+    private String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class CachedResponse {
+        private final String fingerprint;
+        private final String responseBody;
+        private final LocalDateTime expiresAt;
+
+        private CachedResponse(String fingerprint, String responseBody, LocalDateTime expiresAt) {
+            this.fingerprint = fingerprint;
+            this.responseBody = responseBody;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
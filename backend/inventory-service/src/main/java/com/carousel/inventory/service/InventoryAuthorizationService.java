@@ -0,0 +1,128 @@
+package com.carousel.inventory.service;
+
+import com.carousel.inventory.client.RoleServiceClient;
+import com.carousel.inventory.client.UserServiceClient;
+import com.carousel.inventory.dto.UserDto;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class InventoryAuthorizationService {
+    private final UserServiceClient userServiceClient;
+    private final RoleServiceClient roleServiceClient;
+    private final AuthorizationCache authorizationCache;
+
+    public InventoryAuthorizationService(
+            UserServiceClient userServiceClient,
+            RoleServiceClient roleServiceClient,
+            AuthorizationCache authorizationCache
+    ) {
+        this.userServiceClient = userServiceClient;
+        this.roleServiceClient = roleServiceClient;
+        this.authorizationCache = authorizationCache;
+    }
+
+    public void ensureInventoryAccess(String requesterEmail) {
+        ensureAuthorized(
+                requesterEmail,
+                "Insufficient role privileges to manage inventory",
+                "inventorymanager", "inventoryuser", "inventoryadmin"
+        );
+    }
+
+    public void ensureTypeManagementAccess(String requesterEmail) {
+        ensureAuthorized(
+                requesterEmail,
+                "Insufficient role privileges to manage resource types",
+                "inventorymanager", "inventoryadmin"
+        );
+    }
+
+    /**
+     * Resolves and caches a user's access ahead of their first request. A lookup that fails is not cached,
+     * so that request simply resolves it again.
+     */
+    public void prime(String email) {
+        if (email == null || email.isBlank()) {
+            return;
+        }
+        String normalizedEmail = email.trim();
+        authorizationCache.put(normalizedEmail, resolveAuthorizationContext(normalizedEmail));
+    }
+
+    /**
+     * Drops cached authorization on behalf of an Admin or InventoryAdmin, since a full flush sends every following
+     * request back to the user and role services.
+     */
+    public void invalidate(String email, String requesterEmail) {
+        ensureAuthorized(
+                requesterEmail,
+                "Insufficient role privileges to manage the authorization cache",
+                "inventoryadmin"
+        );
+        if (email == null || email.isBlank()) {
+            authorizationCache.invalidateAll();
+            return;
+        }
+        authorizationCache.invalidate(email);
+    }
+
+    /**
+     * Drops one user's cached authorization. Used by user-service when it changes an access level, which it may do
+     * without an inventory admin behind the request; dropping an entry only forces the next call to re-resolve it.
+     */
+    public void invalidateUser(String email) {
+        if (email == null || email.isBlank()) {
+            throw new RuntimeException("Email is required");
+        }
+        authorizationCache.invalidate(email);
+    }
+
+    private void ensureAuthorized(String requesterEmail, String deniedMessage, String... allowedRoles) {
+        if (requesterEmail == null || requesterEmail.isBlank()) {
+            throw new RuntimeException("Requester email is required");
+        }
+        String normalizedEmail = requesterEmail.trim();
+
+        AuthorizationContext cached = authorizationCache.get(normalizedEmail);
+        if (cached != null && isAuthorized(cached, allowedRoles)) {
+            return;
+        }
+
+        // A cached denial may predate a role grant, so denials are always re-checked against the source services.
+        AuthorizationContext context = resolveAuthorizationContext(normalizedEmail);
+        authorizationCache.put(normalizedEmail, context);
+        if (isAuthorized(context, allowedRoles)) {
+            return;
+        }
+
+        throw new RuntimeException(deniedMessage);
+    }
+
+    private boolean isAuthorized(AuthorizationContext context, String... allowedRoles) {
+        return context.isAdmin() || context.hasAnyRole(allowedRoles);
+    }
+
+    private AuthorizationContext resolveAuthorizationContext(String normalizedEmail) {
+        boolean complete = true;
+
+        boolean isAdmin = false;
+        try {
+            UserDto user = userServiceClient.getUserByEmail(normalizedEmail);
+            isAdmin = user != null && user.getAccessLevel() != null && "Admin".equalsIgnoreCase(user.getAccessLevel());
+        } catch (Exception e) {
+            complete = false;
+        }
+
+        List<String> roles;
+        try {
+            roles = roleServiceClient.getRolesForUser(normalizedEmail);
+        } catch (Exception e) {
+            roles = List.of();
+            complete = false;
+        }
+
+        return new AuthorizationContext(isAdmin, roles, complete);
+    }
+}
@@ -0,0 +1,171 @@
+package com.carousel.inventory.service;
+
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.dto.InventoryChangeEvent;
+import com.carousel.inventory.dto.InventoryItemDto;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans item change events out to Server-Sent Events subscribers.
+ * Publishing only enqueues: every subscriber has its own bounded buffer drained by a small shared
+ * dispatcher pool, so a slow client fills and overflows its own buffer without stalling writers or
+ * other subscribers. Heartbeats run on the application's scheduler. Overflowed subscribers receive
+ * a "resync" event telling them to refetch.
+ */
+@Component
+public class InventoryChangeHub {
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String QUANTITY_CHANGED = "QUANTITY_CHANGED";
+    public static final String DELETED = "DELETED";
+    public static final String LOW_STOCK = "LOW_STOCK";
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryChangeHub.class);
+
+    private final InventoryProperties inventoryProperties;
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final ThreadPoolTaskExecutor dispatcher;
+
+    public InventoryChangeHub(InventoryProperties inventoryProperties) {
+        this.inventoryProperties = inventoryProperties;
+        int dispatcherThreads = Math.max(1, inventoryProperties.getStream().getDispatcherThreads());
+        this.dispatcher = new ThreadPoolTaskExecutor();
+        dispatcher.setCorePoolSize(dispatcherThreads);
+        dispatcher.setMaxPoolSize(dispatcherThreads);
+        dispatcher.setThreadNamePrefix("inventory-sse-");
+        dispatcher.setDaemon(true);
+        dispatcher.initialize();
+    }
+
+    public SseEmitter subscribe() {
+        InventoryProperties.Stream stream = inventoryProperties.getStream();
+        if (subscribers.size() >= stream.getMaxSubscribers()) {
+            throw new RuntimeException("Too many inventory stream subscribers");
+        }
+
+        SseEmitter emitter = new SseEmitter(Duration.ofMinutes(stream.getEmitterTimeoutMinutes()).toMillis());
+        Subscriber subscriber = new Subscriber(UUID.randomUUID().toString(), emitter, Math.max(1, stream.getSubscriberBufferSize()));
+        subscribers.put(subscriber.id, subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber.id));
+        emitter.onTimeout(() -> subscribers.remove(subscriber.id));
+        emitter.onError(error -> subscribers.remove(subscriber.id));
+        return emitter;
+    }
+
+    public void publish(String type, InventoryItemDto item) {
+        publish(new InventoryChangeEvent(type, item.getId(), item, LocalDateTime.now()));
+    }
+
+    public void publishDeleted(String itemId) {
+        publish(new InventoryChangeEvent(DELETED, itemId, null, LocalDateTime.now()));
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdown();
+        subscribers.values().forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void publish(InventoryChangeEvent event) {
+        for (Subscriber subscriber : subscribers.values()) {
+            if (!subscriber.queue.offer(event)) {
+                subscriber.overflowed.set(true);
+                subscriber.queue.clear();
+            }
+            schedule(subscriber);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (true) {
+                if (subscriber.overflowed.getAndSet(false)) {
+                    subscriber.emitter.send(SseEmitter.event().name("resync").data("Event buffer overflowed; refetch items"));
+                }
+                InventoryChangeEvent event = subscriber.queue.poll();
+                if (event == null) {
+                    break;
+                }
+                subscriber.emitter.send(SseEmitter.event()
+                        .name("item-change")
+                        .id(event.getItemId())
+                        .data(event));
+            }
+        } catch (IOException | IllegalStateException e) {
+            drop(subscriber, e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // An event may have arrived after the last poll but before the flag was cleared
+        if (!subscriber.queue.isEmpty() || subscriber.overflowed.get()) {
+            schedule(subscriber);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${carousel.inventory.stream.heartbeat-seconds:15}",
+            fixedRateString = "${carousel.inventory.stream.heartbeat-seconds:15}",
+            timeUnit = TimeUnit.SECONDS
+    )
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers.values()) {
+            if (subscriber.draining.get()) {
+                continue;
+            }
+            try {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                drop(subscriber, e);
+            }
+        }
+    }
+
+    private void drop(Subscriber subscriber, Exception cause) {
+        logger.debug("Dropping inventory stream subscriber {}: {}", subscriber.id, cause.getMessage());
+        subscribers.remove(subscriber.id);
+        subscriber.emitter.completeWithError(cause);
+    }
+
+    private static final class Subscriber {
+        private final String id;
+        private final SseEmitter emitter;
+        private final Queue<InventoryChangeEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+
+        private Subscriber(String id, SseEmitter emitter, int bufferSize) {
+            this.id = id;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.carousel.inventory.service;
+
+import com.carousel.inventory.domain.InventoryItem;
+import com.carousel.inventory.domain.ResourceType;
+import com.carousel.inventory.dto.InventoryItemDto;
+import com.carousel.inventory.dto.ResourceTypeDto;
+
+final class InventoryDtoMapper {
+    private InventoryDtoMapper() {
+    }
+
+    static ResourceTypeDto toTypeDto(ResourceType type) {
+        return new ResourceTypeDto(
+                type.getId(),
+                type.getName(),
+                type.getDescription(),
+                type.getIcon(),
+                type.getParentTypeId(),
+                type.getParentTypeName(),
+                TypeHierarchyService.ancestorsOf(type),
+                type.getLowStockThreshold()
+        );
+    }
+
+    static InventoryItemDto toItemDto(InventoryItem item) {
+        InventoryItemDto dto = new InventoryItemDto(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getResourceTypeId(),
+                item.getResourceTypeName(),
+                item.getResourceSubTypeId(),
+                item.getResourceSubTypeName(),
+                item.getAvailableQuantity()
+        );
+        dto.setLowStockThreshold(item.getLowStockThreshold());
+        return dto;
+    }
+}
@@ -0,0 +1,114 @@
+package com.carousel.inventory.service;
+
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.domain.InventoryItem;
+import com.carousel.inventory.dto.InventoryItemDto;
+import com.carousel.inventory.repository.InventoryItemRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class InventoryExportService {
+    private static final String CSV_HEADER =
+            "id,name,description,resourceTypeId,resourceTypeName,resourceSubTypeId,resourceSubTypeName,availableQuantity";
+
+    private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryAuthorizationService authorizationService;
+    private final InventoryProperties inventoryProperties;
+    private final ObjectWriter itemWriter;
+
+    public InventoryExportService(
+            InventoryItemRepository inventoryItemRepository,
+            InventoryAuthorizationService authorizationService,
+            InventoryProperties inventoryProperties,
+            ObjectMapper objectMapper
+    ) {
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.authorizationService = authorizationService;
+        this.inventoryProperties = inventoryProperties;
+        this.itemWriter = objectMapper.writerFor(InventoryItemDto.class);
+    }
+
+    /**
+     * Authorizes the requester up front and returns a writer that streams the whole catalogue from a Mongo cursor.
+     * Memory use is bounded by the cursor batch size; a slow consumer simply blocks the cursor.
+     */
+    public ItemExportWriter exportItems(String requesterEmail, ItemFileFormat format) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+        int batchSize = inventoryProperties.getExport().getCursorBatchSize();
+
+        return outputStream -> {
+            try (Stream<InventoryItem> items = inventoryItemRepository.streamAll(batchSize)) {
+                if (format == ItemFileFormat.CSV) {
+                    writeCsv(items.iterator(), outputStream, batchSize);
+                } else {
+                    writeNdjson(items.iterator(), outputStream, batchSize);
+                }
+            }
+        };
+    }
+
+    private void writeNdjson(Iterator<InventoryItem> items, OutputStream outputStream, int flushEvery) throws IOException {
+        OutputStream out = new BufferedOutputStream(outputStream);
+        int written = 0;
+        while (items.hasNext()) {
+            out.write(itemWriter.writeValueAsBytes(InventoryDtoMapper.toItemDto(items.next())));
+            out.write('\n');
+            if (++written % flushEvery == 0) {
+                out.flush();
+            }
+        }
+        out.flush();
+    }
+
+    private void writeCsv(Iterator<InventoryItem> items, OutputStream outputStream, int flushEvery) throws IOException {
+        Writer out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        out.write(CSV_HEADER);
+        out.write('\n');
+        int written = 0;
+        while (items.hasNext()) {
+            InventoryItem item = items.next();
+            out.write(csv(item.getId()));
+            out.write(',');
+            out.write(csv(item.getName()));
+            out.write(',');
+            out.write(csv(item.getDescription()));
+            out.write(',');
+            out.write(csv(item.getResourceTypeId()));
+            out.write(',');
+            out.write(csv(item.getResourceTypeName()));
+            out.write(',');
+            out.write(csv(item.getResourceSubTypeId()));
+            out.write(',');
+            out.write(csv(item.getResourceSubTypeName()));
+            out.write(',');
+            out.write(Integer.toString(item.getAvailableQuantity()));
+            out.write('\n');
+            if (++written % flushEvery == 0) {
+                out.flush();
+            }
+        }
+        out.flush();
+    }
+
+    private String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,390 @@
+package com.carousel.inventory.service;
+
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.domain.InventoryItem;
+import com.carousel.inventory.domain.ResourceType;
+import com.carousel.inventory.dto.ImportRowError;
+import com.carousel.inventory.dto.InventoryImportReport;
+import com.carousel.inventory.repository.InventoryItemRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Service
+public class InventoryImportService {
+    private final InventoryItemRepository inventoryItemRepository;
+    private final ResourceTypeCatalog typeCatalog;
+    private final InventoryAuthorizationService authorizationService;
+    private final InventoryProperties inventoryProperties;
+    private final ObjectMapper objectMapper;
+    private final InventoryChangeHub changeHub;
+    private final QuantityLedgerService ledgerService;
+
+    public InventoryImportService(
+            InventoryItemRepository inventoryItemRepository,
+            ResourceTypeCatalog typeCatalog,
+            InventoryAuthorizationService authorizationService,
+            InventoryProperties inventoryProperties,
+            ObjectMapper objectMapper,
+            InventoryChangeHub changeHub,
+            QuantityLedgerService ledgerService
+    ) {
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.typeCatalog = typeCatalog;
+        this.authorizationService = authorizationService;
+        this.inventoryProperties = inventoryProperties;
+        this.objectMapper = objectMapper;
+        this.changeHub = changeHub;
+        this.ledgerService = ledgerService;
+    }
+
+    /**
+     * Streams rows from the input, validates each batch in parallel against one catalog snapshot
+     * taken for the whole import, and inserts the valid rows of every batch with a single write.
+     */
+    public InventoryImportReport importItems(String requesterEmail, InputStream input, ItemFileFormat format) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+
+        ResourceTypeCatalog.Snapshot types = typeCatalog.current();
+        int batchSize = Math.max(1, inventoryProperties.getBulkImport().getBatchSize());
+        ImportProgress progress = new ImportProgress(inventoryProperties.getBulkImport().getMaxReportedErrors());
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            RowSource rows = format == ItemFileFormat.CSV ? new CsvRowSource(reader) : new NdjsonRowSource(reader);
+            List<ImportRow> batch = new ArrayList<>(batchSize);
+            ImportRow row;
+            while ((row = rows.next()) != null) {
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    writeBatch(batch, types, progress, requesterEmail);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(batch, types, progress, requesterEmail);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read import file");
+        }
+
+        return progress.toReport();
+    }
+
+    private void writeBatch(List<ImportRow> batch, ResourceTypeCatalog.Snapshot types, ImportProgress progress, String requesterEmail) {
+        LocalDateTime now = LocalDateTime.now();
+        List<RowResult> results = batch.parallelStream()
+                .map(row -> validate(row, types, now))
+                .toList();
+
+        List<RowResult> valid = new ArrayList<>();
+        for (RowResult result : results) {
+            progress.totalRows++;
+            if (result.error != null) {
+                progress.fail(result.rowNumber, result.error);
+            } else {
+                valid.add(result);
+            }
+        }
+
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        List<InventoryItem> written = new ArrayList<>();
+        try {
+            inventoryItemRepository.insert(valid.stream().map(result -> result.item).toList());
+            valid.forEach(result -> written.add(result.item));
+        } catch (RuntimeException e) {
+            Set<Integer> writtenIndexes = writtenIndexes(e, valid.size());
+            for (int i = 0; i < valid.size(); i++) {
+                if (writtenIndexes.contains(i)) {
+                    written.add(valid.get(i).item);
+                } else {
+                    progress.fail(valid.get(i).rowNumber, "Batch write failed");
+                }
+            }
+        }
+
+        if (written.isEmpty()) {
+            return;
+        }
+        progress.imported += written.size();
+        ledgerService.recordAll(written.stream()
+                .map(item -> ledgerService.entry(item.getId(), item.getAvailableQuantity(), item.getAvailableQuantity(),
+                        QuantityLedgerService.IMPORT, requesterEmail))
+                .toList());
+        written.forEach(item -> changeHub.publish(InventoryChangeHub.CREATED, InventoryDtoMapper.toItemDto(item)));
+    }
+
+    /**
+     * Positions in the batch that a failed insert still wrote. A bulk write failure reports which documents were
+     * rejected and how many went in; the ordered insert stops at its first error, so the written ones are the
+     * first {@code insertedCount} positions that were not rejected. Any other failure leaves the outcome unknown
+     * and the whole batch is reported as failed.
+     */
+    private Set<Integer> writtenIndexes(RuntimeException failure, int size) {
+        List<BulkWriteError> errors;
+        int insertedCount;
+        if (failure instanceof BulkOperationException bulk) {
+            errors = bulk.getErrors();
+            insertedCount = bulk.getResult().getInsertedCount();
+        } else if (failure.getCause() instanceof MongoBulkWriteException bulk) {
+            errors = bulk.getWriteErrors();
+            insertedCount = bulk.getWriteResult().getInsertedCount();
+        } else {
+            return Set.of();
+        }
+
+        Set<Integer> rejected = errors.stream().map(BulkWriteError::getIndex).collect(Collectors.toSet());
+        return IntStream.range(0, size)
+                .filter(index -> !rejected.contains(index))
+                .limit(insertedCount)
+                .boxed()
+                .collect(Collectors.toSet());
+    }
+
+    private RowResult validate(ImportRow row, ResourceTypeCatalog.Snapshot types, LocalDateTime now) {
+        if (row.parseError != null) {
+            return RowResult.failed(row.rowNumber, row.parseError);
+        }
+
+        String name = row.value("name");
+        if (name == null) {
+            return RowResult.failed(row.rowNumber, "Item name is required");
+        }
+        String description = row.value("description");
+        if (description == null) {
+            return RowResult.failed(row.rowNumber, "Item description is required");
+        }
+
+        String typeReference = row.firstValue("resourcetypeid", "resourcetype", "resourcetypename");
+        if (typeReference == null) {
+            return RowResult.failed(row.rowNumber, "Resource type is required");
+        }
+        ResourceType type = types.resolve(typeReference);
+        if (type == null) {
+            return RowResult.failed(row.rowNumber, "Resource type not found");
+        }
+
+        ResourceType subType = null;
+        String subTypeReference = row.firstValue("resourcesubtypeid", "resourcesubtype", "resourcesubtypename");
+        if (subTypeReference != null) {
+            subType = types.resolve(subTypeReference);
+            if (subType == null) {
+                return RowResult.failed(row.rowNumber, "Resource subtype not found");
+            }
+            if (subType.getParentTypeId() == null || subType.getParentTypeId().isBlank()) {
+                return RowResult.failed(row.rowNumber, "Provided subtype is not a subtype");
+            }
+            if (!TypeHierarchyService.isUnder(subType, type.getId())) {
+                return RowResult.failed(row.rowNumber, "Subtype does not belong to selected type");
+            }
+        }
+
+        int quantity = 0;
+        String quantityText = row.value("availablequantity");
+        if (quantityText != null) {
+            try {
+                quantity = Integer.parseInt(quantityText);
+            } catch (NumberFormatException e) {
+                return RowResult.failed(row.rowNumber, "Available quantity must be a whole number");
+            }
+            if (quantity < 0) {
+                return RowResult.failed(row.rowNumber, "Available quantity cannot be negative");
+            }
+        }
+
+        InventoryItem item = new InventoryItem();
+        item.setId(new ObjectId().toHexString());
+        item.setName(name);
+        item.setDescription(description);
+        item.setResourceTypeId(type.getId());
+        item.setResourceTypeName(type.getName());
+        if (subType != null) {
+            item.setResourceSubTypeId(subType.getId());
+            item.setResourceSubTypeName(subType.getName());
+        }
+        item.setTypePath(TypeHierarchyService.pathOf(subType != null ? subType : type));
+        item.setAvailableQuantity(quantity);
+        item.setCreatedAt(now);
+        item.setUpdatedAt(now);
+        item.setLedgerOpened(true);
+        return RowResult.valid(row.rowNumber, item);
+    }
+
+    private interface RowSource {
+        ImportRow next() throws IOException;
+    }
+
+    private static final class CsvRowSource implements RowSource {
+        private final CsvRecordReader reader;
+        private List<String> header;
+
+        private CsvRowSource(BufferedReader reader) {
+            this.reader = new CsvRecordReader(reader);
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            if (header == null) {
+                List<String> headerRecord = reader.next();
+                if (headerRecord == null) {
+                    return null;
+                }
+                header = headerRecord.stream()
+                        .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                        .toList();
+            }
+
+            List<String> record;
+            do {
+                record = reader.next();
+                if (record == null) {
+                    return null;
+                }
+            } while (record.size() == 1 && record.get(0).isBlank());
+
+            if (record.size() != header.size()) {
+                return ImportRow.malformed(reader.getRecordStartLine(),
+                        "Expected " + header.size() + " columns but found " + record.size());
+            }
+
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                fields.put(header.get(i), record.get(i));
+            }
+            return new ImportRow(reader.getRecordStartLine(), fields, null);
+        }
+    }
+
+    private final class NdjsonRowSource implements RowSource {
+        private final BufferedReader reader;
+        private int lineNumber;
+
+        private NdjsonRowSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                lineNumber++;
+            } while (line.isBlank());
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (IOException e) {
+                return ImportRow.malformed(lineNumber, "Malformed JSON");
+            }
+            if (node == null || !node.isObject()) {
+                return ImportRow.malformed(lineNumber, "Expected a JSON object");
+            }
+
+            Map<String, String> fields = new HashMap<>();
+            node.fields().forEachRemaining(field -> fields.put(
+                    field.getKey().toLowerCase(Locale.ROOT),
+                    field.getValue().isNull() ? null : field.getValue().asText()
+            ));
+            return new ImportRow(lineNumber, fields, null);
+        }
+    }
+
+    private static final class ImportRow {
+        private final int rowNumber;
+        private final Map<String, String> fields;
+        private final String parseError;
+
+        private ImportRow(int rowNumber, Map<String, String> fields, String parseError) {
+            this.rowNumber = rowNumber;
+            this.fields = fields;
+            this.parseError = parseError;
+        }
+
+        private static ImportRow malformed(int rowNumber, String message) {
+            return new ImportRow(rowNumber, Map.of(), message);
+        }
+
+        private String value(String column) {
+            String value = fields.get(column);
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+
+        private String firstValue(String... columns) {
+            for (String column : columns) {
+                String value = value(column);
+                if (value != null) {
+                    return value;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class RowResult {
+        private final int rowNumber;
+        private final InventoryItem item;
+        private final String error;
+
+        private RowResult(int rowNumber, InventoryItem item, String error) {
+            this.rowNumber = rowNumber;
+            this.item = item;
+            this.error = error;
+        }
+
+        private static RowResult valid(int rowNumber, InventoryItem item) {
+            return new RowResult(rowNumber, item, null);
+        }
+
+        private static RowResult failed(int rowNumber, String error) {
+            return new RowResult(rowNumber, null, error);
+        }
+    }
+
+    private static final class ImportProgress {
+        private final int maxReportedErrors;
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private int totalRows;
+        private int imported;
+        private int failed;
+
+        private ImportProgress(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void fail(int rowNumber, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportRowError(rowNumber, message));
+            }
+        }
+
+        private InventoryImportReport toReport() {
+            return new InventoryImportReport(totalRows, imported, failed, errors, failed > errors.size());
+        }
+    }
+}
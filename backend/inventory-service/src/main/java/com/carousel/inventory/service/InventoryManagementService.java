@@ -1,70 +1,138 @@
 package com.carousel.inventory.service;
 
-import com.carousel.inventory.client.RoleServiceClient;
-import com.carousel.inventory.client.UserServiceClient;
+import com.carousel.inventory.config.InventoryProperties;
 import com.carousel.inventory.domain.InventoryItem;
+import com.carousel.inventory.domain.InventoryItemTombstone;
 import com.carousel.inventory.domain.ResourceType;
 import com.carousel.inventory.dto.*;
 import com.carousel.inventory.repository.InventoryItemRepository;
+import com.carousel.inventory.repository.InventoryItemTombstoneRepository;
+import com.carousel.inventory.repository.LocationStockRepository;
 import com.carousel.inventory.repository.ResourceTypeRepository;
 import jakarta.annotation.PostConstruct;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 
 @Service
 public class InventoryManagementService {
+    private static final List<String> ICONS = List.of("💎", "🪙", "🧩", "📿", "🔗", "💠", "⚙️", "✨", "🔶", "🧿", "🪄", "🧱");
+    private static final String[][] DEFAULT_TYPES = {
+            {"Stone", "Natural and lab stones used in jewelry", "💎"},
+            {"Metal", "Precious and non-precious metals", "🪙"},
+            {"Casting", "Pre-made casts of jewelry models", "🧩"}
+    };
+    private static final String ICONS_ETAG = "W/\"icons-" + Integer.toHexString(ICONS.hashCode()) + "\"";
+
     private final ResourceTypeRepository resourceTypeRepository;
     private final InventoryItemRepository inventoryItemRepository;
-    private final RoleServiceClient roleServiceClient;
-    private final UserServiceClient userServiceClient;
+    private final InventoryItemTombstoneRepository tombstoneRepository;
+    private final LocationStockRepository locationStockRepository;
+    private final InventoryAuthorizationService authorizationService;
+    private final ResourceTypeCatalog typeCatalog;
+    private final TypeRenamePropagationService renamePropagationService;
+    private final TypeHierarchyService typeHierarchy;
+    private final InventoryChangeHub changeHub;
+    private final QuantityLedgerService ledgerService;
+    private final LowStockAlertService lowStockAlerts;
+    private final OptimisticRetryPolicy retryPolicy;
+    private final InventoryProperties inventoryProperties;
 
     public InventoryManagementService(
             ResourceTypeRepository resourceTypeRepository,
             InventoryItemRepository inventoryItemRepository,
-            RoleServiceClient roleServiceClient,
-            UserServiceClient userServiceClient
+            InventoryItemTombstoneRepository tombstoneRepository,
+            LocationStockRepository locationStockRepository,
+            InventoryAuthorizationService authorizationService,
+            ResourceTypeCatalog typeCatalog,
+            TypeRenamePropagationService renamePropagationService,
+            TypeHierarchyService typeHierarchy,
+            InventoryChangeHub changeHub,
+            QuantityLedgerService ledgerService,
+            LowStockAlertService lowStockAlerts,
+            OptimisticRetryPolicy retryPolicy,
+            InventoryProperties inventoryProperties
     ) {
         this.resourceTypeRepository = resourceTypeRepository;
         this.inventoryItemRepository = inventoryItemRepository;
-        this.roleServiceClient = roleServiceClient;
-        this.userServiceClient = userServiceClient;
+        this.tombstoneRepository = tombstoneRepository;
+        this.locationStockRepository = locationStockRepository;
+        this.authorizationService = authorizationService;
+        this.typeCatalog = typeCatalog;
+        this.renamePropagationService = renamePropagationService;
+        this.typeHierarchy = typeHierarchy;
+        this.changeHub = changeHub;
+        this.ledgerService = ledgerService;
+        this.lowStockAlerts = lowStockAlerts;
+        this.retryPolicy = retryPolicy;
+        this.inventoryProperties = inventoryProperties;
     }
 
     @PostConstruct
     public void ensureDefaultTypes() {
-        createDefaultTypeIfMissing("Stone", "Natural and lab stones used in jewelry", "💎");
-        createDefaultTypeIfMissing("Metal", "Precious and non-precious metals", "🪙");
-        createDefaultTypeIfMissing("Casting", "Pre-made casts of jewelry models", "🧩");
-    }
-
-    private void createDefaultTypeIfMissing(String name, String description, String icon) {
-        if (resourceTypeRepository.existsByNameIgnoreCase(name)) {
-            return;
+        // Documents written before versioning must carry a version before any versioned save can match them
+        resourceTypeRepository.backfillVersion();
+        inventoryItemRepository.backfillVersion();
+
+        // One catalog load answers every default check, and it leaves the type tree cached for the first requests
+        ResourceTypeCatalog.Snapshot snapshot = typeCatalog.refresh();
+        LocalDateTime now = LocalDateTime.now();
+        List<ResourceType> missing = new ArrayList<>();
+        for (String[] defaultType : DEFAULT_TYPES) {
+            if (snapshot.byName(defaultType[0]) == null) {
+                missing.add(defaultType(defaultType[0], defaultType[1], defaultType[2], now));
+            }
         }
+        if (!missing.isEmpty()) {
+            resourceTypeRepository.saveAll(missing);
+            typeCatalog.refresh();
+        }
+        typeHierarchy.backfillPaths();
+    }
 
+    private static ResourceType defaultType(String name, String description, String icon, LocalDateTime now) {
         ResourceType type = new ResourceType();
         type.setName(name);
         type.setDescription(description);
         type.setIcon(icon);
-        type.setCreatedAt(LocalDateTime.now());
-        type.setUpdatedAt(LocalDateTime.now());
-        resourceTypeRepository.save(type);
+        type.setAncestorIds(List.of());
+        type.setCreatedAt(now);
+        type.setUpdatedAt(now);
+        return type;
     }
 
     public List<ResourceTypeDto> getAllTypes(String requesterEmail) {
-        ensureInventoryAccess(requesterEmail);
-        return resourceTypeRepository.findAll().stream()
-                .sorted(Comparator.comparing(ResourceType::getName))
-                .map(this::toTypeDto)
+        return getAllTypesTagged(requesterEmail).getValue();
+    }
+
+    /**
+     * All types together with the entity tag of the catalog snapshot they were read from.
+     */
+    public Tagged<List<ResourceTypeDto>> getAllTypesTagged(String requesterEmail) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+        ResourceTypeCatalog.Snapshot snapshot = typeCatalog.current();
+        List<ResourceTypeDto> types = snapshot.getTypesSortedByName().stream()
+                .map(InventoryDtoMapper::toTypeDto)
                 .toList();
+        return new Tagged<>(types, snapshot.getEtag());
     }
 
     public ResourceTypeDto createType(ResourceTypeRequest request, String requesterEmail) {
-        ensureTypeManagementAccess(requesterEmail);
+        authorizationService.ensureTypeManagementAccess(requesterEmail);
 
         String typeName = requiredText(request.getName(), "Type name is required");
         if (resourceTypeRepository.existsByNameIgnoreCase(typeName)) {
@@ -75,62 +143,218 @@ public class InventoryManagementService {
         resourceType.setName(typeName);
         resourceType.setDescription(requiredText(request.getDescription(), "Type description is required"));
         resourceType.setIcon(normalizeIcon(request.getIcon()));
+        resourceType.setLowStockThreshold(updatedThreshold(request.getLowStockThreshold(), null));
         resourceType.setCreatedAt(LocalDateTime.now());
         resourceType.setUpdatedAt(LocalDateTime.now());
 
+        ResourceType saved;
         if (request.getParentTypeId() != null && !request.getParentTypeId().isBlank()) {
-            ResourceType parent = resourceTypeRepository.findById(request.getParentTypeId())
-                    .orElseThrow(() -> new RuntimeException("Parent type not found"));
-            resourceType.setParentTypeId(parent.getId());
-            resourceType.setParentTypeName(parent.getName());
+            String parentTypeId = request.getParentTypeId();
+            // Read the parent under the move lock so a move running meanwhile cannot leave this type on its old path
+            saved = retryPolicy.execute(OptimisticRetryPolicy.TYPE, () -> typeHierarchy.withMoveLock(() -> {
+                ResourceType parent = resourceTypeRepository.findById(parentTypeId)
+                        .orElseThrow(() -> new RuntimeException("Parent type not found"));
+                resourceType.setParentTypeId(parent.getId());
+                resourceType.setParentTypeName(parent.getName());
+                resourceType.setAncestorIds(TypeHierarchyService.pathOf(parent));
+                return resourceTypeRepository.save(resourceType);
+            }));
+        } else {
+            resourceType.setAncestorIds(List.of());
+            saved = resourceTypeRepository.save(resourceType);
         }
 
-        ResourceType saved = resourceTypeRepository.save(resourceType);
-        return toTypeDto(saved);
+        typeCatalog.apply(saved);
+        return InventoryDtoMapper.toTypeDto(saved);
     }
 
     public ResourceTypeDto updateType(String typeId, ResourceTypeRequest request, String requesterEmail) {
-        ensureTypeManagementAccess(requesterEmail);
+        authorizationService.ensureTypeManagementAccess(requesterEmail);
+        return retryPolicy.execute(OptimisticRetryPolicy.TYPE, () -> saveTypeUpdate(typeId, request));
+    }
 
+    private ResourceTypeDto saveTypeUpdate(String typeId, ResourceTypeRequest request) {
         ResourceType existing = resourceTypeRepository.findById(typeId)
                 .orElseThrow(() -> new RuntimeException("Resource type not found"));
 
+        String parentTypeId = request.getParentTypeId() == null || request.getParentTypeId().isBlank()
+                ? null
+                : request.getParentTypeId();
+        if (!Objects.equals(parentTypeId, existing.getParentTypeId())) {
+            return typeHierarchy.withMoveLock(() -> saveTypeUpdate(existing, parentTypeId, request));
+        }
+        return saveTypeUpdate(existing, parentTypeId, request);
+    }
+
+    private ResourceTypeDto saveTypeUpdate(ResourceType existing, String parentTypeId, ResourceTypeRequest request) {
+        String previousName = existing.getName();
+        List<String> previousAncestors = TypeHierarchyService.ancestorsOf(existing);
         existing.setName(requiredText(request.getName(), "Type name is required"));
         existing.setDescription(requiredText(request.getDescription(), "Type description is required"));
         existing.setIcon(normalizeIcon(request.getIcon()));
+        existing.setLowStockThreshold(updatedThreshold(request.getLowStockThreshold(), existing.getLowStockThreshold()));
 
-        if (request.getParentTypeId() != null && !request.getParentTypeId().isBlank()) {
-            ResourceType parent = resourceTypeRepository.findById(request.getParentTypeId())
+        if (parentTypeId != null) {
+            // Read from Mongo rather than the catalog so the cycle check sees the parent's current path
+            ResourceType parent = resourceTypeRepository.findById(parentTypeId)
                     .orElseThrow(() -> new RuntimeException("Parent type not found"));
-            if (parent.getId().equals(existing.getId())) {
-                throw new RuntimeException("Type cannot be parent of itself");
-            }
+            typeHierarchy.ensureNoCycle(existing, parent);
             existing.setParentTypeId(parent.getId());
             existing.setParentTypeName(parent.getName());
+            existing.setAncestorIds(TypeHierarchyService.pathOf(parent));
         } else {
             existing.setParentTypeId(null);
             existing.setParentTypeName(null);
+            existing.setAncestorIds(List.of());
         }
 
-        existing.setUpdatedAt(LocalDateTime.now());
+        boolean renamed = !existing.getName().equals(previousName);
+        if (renamed) {
+            existing.setRenamePending(true);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        existing.setUpdatedAt(now);
         ResourceType saved = resourceTypeRepository.save(existing);
-        return toTypeDto(saved);
+        typeCatalog.apply(saved);
+        if (!saved.getAncestorIds().equals(previousAncestors)) {
+            typeHierarchy.propagateMove(saved, now);
+        }
+        if (renamed) {
+            renamePropagationService.propagate(saved);
+        }
+        return InventoryDtoMapper.toTypeDto(saved);
+    }
+
+    /**
+     * Every type anywhere below the given one, ordered by name.
+     */
+    public List<ResourceTypeDto> getTypeDescendants(String typeId, String requesterEmail) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+        return typeHierarchy.getDescendants(typeId).stream()
+                .map(InventoryDtoMapper::toTypeDto)
+                .toList();
+    }
+
+    public RenamePropagationStatus getRenamePropagation(String typeId, String requesterEmail) {
+        authorizationService.ensureTypeManagementAccess(requesterEmail);
+        return renamePropagationService.getStatus(typeId);
     }
 
     public List<String> getIconCollection() {
-        return List.of("💎", "🪙", "🧩", "📿", "🔗", "💠", "⚙️", "✨", "🔶", "🧿", "🪄", "🧱");
+        return ICONS;
+    }
+
+    public String getIconCollectionTag() {
+        return ICONS_ETAG;
+    }
+
+    /**
+     * Entity tag for the full item list, built from the item count and the newest write and deletion, all of which
+     * are answered from indexes or collection metadata without reading the items themselves.
+     * Returns null while the newest change is inside the settle window: two writes in the same millisecond would
+     * otherwise leave the tag unchanged, and a client could keep a list that misses the second one.
+     * <p>
+     * The tag is derived on each request rather than kept as a version counter bumped on writes: items are written
+     * by many independent atomic updates, and without multi-document transactions a separate counter could miss a
+     * bump and serve a stale tag, while these three lookups always reflect what is stored.
+     */
+    public String getItemsTag(String requesterEmail) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+        LocalDateTime settledBefore = LocalDateTime.now().minus(Duration.ofMillis(inventoryProperties.getChanges().getSettleMillis()));
+        long count = inventoryItemRepository.estimatedCount();
+        LocalDateTime latestUpdate = inventoryItemRepository.findLatestUpdate()
+                .map(InventoryItem::getUpdatedAt)
+                .orElse(null);
+        LocalDateTime latestDeletion = tombstoneRepository.findFirstByOrderByDeletedAtDesc()
+                .map(InventoryItemTombstone::getDeletedAt)
+                .orElse(null);
+        if (isAfter(latestUpdate, settledBefore) || isAfter(latestDeletion, settledBefore)) {
+            return null;
+        }
+        return "W/\"items-" + count + "-" + epochMillis(latestUpdate) + "-" + epochMillis(latestDeletion) + "\"";
     }
 
     public List<InventoryItemDto> getItems(String requesterEmail) {
-        ensureInventoryAccess(requesterEmail);
-        return inventoryItemRepository.findAll().stream()
-                .sorted(Comparator.comparing(InventoryItem::getName))
-                .map(this::toItemDto)
+        authorizationService.ensureInventoryAccess(requesterEmail);
+        return inventoryItemRepository.findAll(Sort.by(Sort.Direction.ASC, "name", "id")).stream()
+                .map(InventoryDtoMapper::toItemDto)
                 .toList();
     }
 
+    public List<Map<String, Object>> getItemRows(String requesterEmail, ItemFields fields) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+        return inventoryItemRepository.findAllProjected(fields.projection()).stream()
+                .map(fields::toRow)
+                .toList();
+    }
+
+    public InventoryItemPage getItemPage(
+            String requesterEmail,
+            String cursor,
+            Integer limit,
+            String resourceTypeId,
+            String resourceSubTypeId,
+            String underTypeId
+    ) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+        PageSlice slice = readPage(cursor, limit, resourceTypeId, resourceSubTypeId, underTypeId, null);
+        return new InventoryItemPage(slice.items.stream().map(InventoryDtoMapper::toItemDto).toList(), slice.nextCursor);
+    }
+
+    /**
+     * Same page as {@link #getItemPage}, reading and returning only the selected fields.
+     */
+    public InventoryItemRowPage getItemRowPage(
+            String requesterEmail,
+            String cursor,
+            Integer limit,
+            String resourceTypeId,
+            String resourceSubTypeId,
+            String underTypeId,
+            ItemFields fields
+    ) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+        // The name is read even when not selected because the next cursor is keyed on it
+        PageSlice slice = readPage(cursor, limit, resourceTypeId, resourceSubTypeId, underTypeId, fields.projection("name"));
+        return new InventoryItemRowPage(slice.items.stream().map(fields::toRow).toList(), slice.nextCursor);
+    }
+
+    private PageSlice readPage(
+            String cursor,
+            Integer limit,
+            String resourceTypeId,
+            String resourceSubTypeId,
+            String underTypeId,
+            Collection<String> projection
+    ) {
+        int pageSize = inventoryProperties.getItems().resolvePageSize(limit);
+        String afterName = null;
+        String afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] key = decodeCursor(cursor);
+            afterId = key[0];
+            afterName = key[1];
+        }
+
+        List<InventoryItem> window = inventoryItemRepository.findPage(
+                RequestParams.blankToNull(resourceTypeId),
+                RequestParams.blankToNull(resourceSubTypeId),
+                RequestParams.blankToNull(underTypeId),
+                afterName,
+                afterId,
+                pageSize + 1,
+                projection
+        );
+
+        boolean hasMore = window.size() > pageSize;
+        List<InventoryItem> page = hasMore ? window.subList(0, pageSize) : window;
+        String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1)) : null;
+        return new PageSlice(page, nextCursor);
+    }
+
     public InventoryItemDto createItem(InventoryItemRequest request, String requesterEmail) {
-        ensureInventoryAccess(requesterEmail);
+        authorizationService.ensureInventoryAccess(requesterEmail);
 
         ResourceType type = resolveType(request.getResourceTypeId(), "Resource type is required");
         ResourceType subType = resolveOptionalSubType(request.getResourceSubTypeId());
@@ -141,8 +365,10 @@ public class InventoryManagementService {
         item.setResourceTypeId(type.getId());
         item.setResourceTypeName(type.getName());
         item.setAvailableQuantity(normalizeQuantity(request.getAvailableQuantity()));
+        item.setLowStockThreshold(updatedThreshold(request.getLowStockThreshold(), null));
         item.setCreatedAt(LocalDateTime.now());
         item.setUpdatedAt(LocalDateTime.now());
+        item.setLedgerOpened(true);
 
         if (subType != null) {
             validateSubtypeBelongsToType(subType, type);
@@ -150,13 +376,20 @@ public class InventoryManagementService {
             item.setResourceSubTypeName(subType.getName());
         }
 
-        InventoryItem saved = inventoryItemRepository.save(item);
-        return toItemDto(saved);
+        InventoryItemDto saved = InventoryDtoMapper.toItemDto(
+                retryPolicy.execute(OptimisticRetryPolicy.ITEM, () -> saveWithCurrentTypePath(item)));
+        ledgerService.record(saved.getId(), saved.getAvailableQuantity(), saved.getAvailableQuantity(),
+                QuantityLedgerService.CREATE, requesterEmail);
+        changeHub.publish(InventoryChangeHub.CREATED, saved);
+        return saved;
     }
 
     public InventoryItemDto updateItem(String itemId, InventoryItemRequest request, String requesterEmail) {
-        ensureInventoryAccess(requesterEmail);
+        authorizationService.ensureInventoryAccess(requesterEmail);
+        return retryPolicy.execute(OptimisticRetryPolicy.ITEM, () -> saveItemUpdate(itemId, request, requesterEmail));
+    }
 
+    private InventoryItemDto saveItemUpdate(String itemId, InventoryItemRequest request, String requesterEmail) {
         InventoryItem existing = inventoryItemRepository.findById(itemId)
                 .orElseThrow(() -> new RuntimeException("Inventory item not found"));
 
@@ -172,9 +405,9 @@ public class InventoryManagementService {
             existing.setResourceTypeId(type.getId());
             existing.setResourceTypeName(type.getName());
             if (existing.getResourceSubTypeId() != null) {
-                ResourceType existingSubtype = resourceTypeRepository.findById(existing.getResourceSubTypeId())
+                ResourceType existingSubtype = typeCatalog.findById(existing.getResourceSubTypeId())
                         .orElse(null);
-                if (existingSubtype != null && !type.getId().equals(existingSubtype.getParentTypeId())) {
+                if (existingSubtype != null && !TypeHierarchyService.isUnder(existingSubtype, type.getId())) {
                     existing.setResourceSubTypeId(null);
                     existing.setResourceSubTypeName(null);
                 }
@@ -199,78 +432,135 @@ public class InventoryManagementService {
             }
         }
 
+        int previousQuantity = existing.getAvailableQuantity();
         if (request.getAvailableQuantity() != null) {
-            existing.setAvailableQuantity(normalizeQuantity(request.getAvailableQuantity()));
+            int quantity = normalizeQuantity(request.getAvailableQuantity());
+            if (quantity < existing.getLocatedQuantity()) {
+                throw new RuntimeException("Available quantity cannot be less than the quantity held at locations");
+            }
+            existing.setAvailableQuantity(quantity);
         }
+        existing.setLowStockThreshold(updatedThreshold(request.getLowStockThreshold(), existing.getLowStockThreshold()));
 
         existing.setUpdatedAt(LocalDateTime.now());
-        InventoryItem saved = inventoryItemRepository.save(existing);
-        return toItemDto(saved);
+        InventoryItem savedItem = saveWithCurrentTypePath(existing);
+        lowStockAlerts.onQuantityChanged(savedItem, previousQuantity);
+        InventoryItemDto saved = InventoryDtoMapper.toItemDto(savedItem);
+        ledgerService.record(saved.getId(), saved.getAvailableQuantity() - previousQuantity, saved.getAvailableQuantity(),
+                QuantityLedgerService.UPDATE, requesterEmail);
+        changeHub.publish(InventoryChangeHub.UPDATED, saved);
+        return saved;
     }
 
-    public InventoryItemDto adjustQuantity(String itemId, int quantityDelta, String requesterEmail) {
-        ensureInventoryAccess(requesterEmail);
+    public void deleteItem(String itemId, String requesterEmail) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
 
         InventoryItem existing = inventoryItemRepository.findById(itemId)
                 .orElseThrow(() -> new RuntimeException("Inventory item not found"));
+        // Tombstone first: a delta-sync client may briefly see a deletion of a still-present item, but never misses one
+        tombstoneRepository.save(new InventoryItemTombstone(itemId, LocalDateTime.now()));
+        inventoryItemRepository.deleteById(itemId);
+        locationStockRepository.deleteByItemId(itemId);
+        ledgerService.record(itemId, -existing.getAvailableQuantity(), 0, QuantityLedgerService.DELETE, requesterEmail);
+        changeHub.publishDeleted(itemId);
+    }
 
-        int newQuantity = existing.getAvailableQuantity() + quantityDelta;
-        if (newQuantity < 0) {
-            throw new RuntimeException("Available quantity cannot be negative");
-        }
-
-        existing.setAvailableQuantity(newQuantity);
-        existing.setUpdatedAt(LocalDateTime.now());
-        InventoryItem saved = inventoryItemRepository.save(existing);
-        return toItemDto(saved);
+    public InventoryItemDto adjustQuantity(String itemId, int quantityDelta, String requesterEmail) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+
+        InventoryItem updated = inventoryItemRepository.adjustQuantity(itemId, quantityDelta, LocalDateTime.now())
+                .orElseThrow(() -> inventoryItemRepository.existsById(itemId)
+                        ? new RuntimeException("Available quantity cannot be negative")
+                        : new RuntimeException("Inventory item not found"));
+        ledgerService.record(itemId, quantityDelta, updated.getAvailableQuantity(), QuantityLedgerService.ADJUST, requesterEmail);
+        lowStockAlerts.onQuantityChanged(updated, updated.getAvailableQuantity() - quantityDelta);
+        InventoryItemDto dto = InventoryDtoMapper.toItemDto(updated);
+        changeHub.publish(InventoryChangeHub.QUANTITY_CHANGED, dto);
+        return dto;
     }
 
-    private void ensureInventoryAccess(String requesterEmail) {
-        AuthorizationContext context = resolveAuthorizationContext(requesterEmail);
+    public BatchQuantityAdjustmentResult adjustQuantities(BatchQuantityAdjustmentRequest request, String requesterEmail) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
 
-        if (context.isAdmin) {
-            return;
+        List<QuantityAdjustmentEntry> entries = request == null || request.getAdjustments() == null
+                ? List.of()
+                : request.getAdjustments();
+        if (entries.isEmpty()) {
+            throw new RuntimeException("At least one adjustment is required");
         }
-
-        if (context.hasAnyRole("inventorymanager", "inventoryuser", "inventoryadmin")) {
-            return;
+        int maxBatchSize = inventoryProperties.getItems().getMaxBatchSize();
+        if (entries.size() > maxBatchSize) {
+            throw new RuntimeException("Batch cannot contain more than " + maxBatchSize + " adjustments");
         }
 
-        throw new RuntimeException("Insufficient role privileges to manage inventory");
-    }
+        Map<String, Integer> deltas = new LinkedHashMap<>();
+        for (QuantityAdjustmentEntry entry : entries) {
+            String itemId = requiredText(entry.getItemId(), "Item id is required");
+            if (deltas.putIfAbsent(itemId, entry.getQuantityDelta()) != null) {
+                throw new RuntimeException("Each item may appear only once per batch");
+            }
+        }
 
-    private void ensureTypeManagementAccess(String requesterEmail) {
-        AuthorizationContext context = resolveAuthorizationContext(requesterEmail);
+        Map<String, InventoryItem> current = indexById(inventoryItemRepository.findAllById(deltas.keySet()));
+        Map<String, String> failures = new HashMap<>();
+        deltas.forEach((itemId, delta) -> {
+            InventoryItem item = current.get(itemId);
+            if (item == null) {
+                failures.put(itemId, "Inventory item not found");
+            } else if (item.getAvailableQuantity() + delta < 0) {
+                failures.put(itemId, "Available quantity cannot be negative");
+            }
+        });
 
-        if (context.isAdmin) {
-            return;
+        if (request.isAllOrNothing() && !failures.isEmpty()) {
+            deltas.keySet().forEach(itemId -> failures.putIfAbsent(itemId, "Not applied because another adjustment in the batch failed"));
+            return toBatchResult(deltas, failures, Map.of());
         }
 
-        if (context.hasAnyRole("inventorymanager", "inventoryadmin")) {
-            return;
+        Map<String, Integer> pending = new LinkedHashMap<>(deltas);
+        pending.keySet().removeAll(failures.keySet());
+        String batchId = UUID.randomUUID().toString();
+        Set<String> rejected = inventoryItemRepository.bulkAdjustQuantities(pending, batchId, LocalDateTime.now());
+        rejected.forEach(itemId -> failures.put(itemId, "Available quantity cannot be negative"));
+        pending.keySet().removeAll(rejected);
+        List<String> applied = List.copyOf(pending.keySet());
+
+        if (request.isAllOrNothing() && !rejected.isEmpty()) {
+            // Standalone Mongo has no multi-document transactions, so all-or-nothing is restored by compensation
+            Map<String, Integer> reversal = new LinkedHashMap<>();
+            pending.forEach((itemId, delta) -> reversal.put(itemId, -delta));
+            String reversalId = UUID.randomUUID().toString();
+            Set<String> notReverted = inventoryItemRepository.bulkAdjustQuantities(reversal, reversalId, LocalDateTime.now());
+            inventoryItemRepository.clearAppliedBatch(reversal.keySet(), reversalId);
+            pending.keySet().retainAll(notReverted);
+            deltas.keySet().forEach(itemId -> {
+                if (!pending.containsKey(itemId)) {
+                    failures.putIfAbsent(itemId, "Rolled back because another adjustment in the batch failed");
+                }
+            });
         }
-
-        throw new RuntimeException("Insufficient role privileges to manage resource types");
+        inventoryItemRepository.clearAppliedBatch(applied, batchId);
+
+        Map<String, InventoryItem> updated = pending.isEmpty()
+                ? Map.of()
+                : indexById(inventoryItemRepository.findAllById(pending.keySet()));
+        // Only net effects are recorded: adjustments rolled back by compensation leave no ledger entry
+        ledgerService.recordAll(pending.entrySet().stream()
+                .map(entry -> ledgerService.entry(entry.getKey(), entry.getValue(), null, QuantityLedgerService.BATCH_ADJUST, requesterEmail))
+                .toList());
+        updated.values().forEach(item -> {
+            lowStockAlerts.onQuantityChanged(item, item.getAvailableQuantity() - pending.get(item.getId()));
+            changeHub.publish(InventoryChangeHub.QUANTITY_CHANGED, InventoryDtoMapper.toItemDto(item));
+        });
+        return toBatchResult(deltas, failures, updated);
     }
 
-    private AuthorizationContext resolveAuthorizationContext(String requesterEmail) {
-        String normalizedEmail = requiredText(requesterEmail, "Requester email is required");
-
-        boolean isAdmin = false;
-        try {
-            UserDto user = userServiceClient.getUserByEmail(normalizedEmail);
-            isAdmin = user != null && user.getAccessLevel() != null && "Admin".equalsIgnoreCase(user.getAccessLevel());
-        } catch (Exception ignored) {
-        }
-
-        List<String> roles;
-        try {
-            roles = roleServiceClient.getRolesForUser(normalizedEmail);
-        } catch (Exception e) {
-            roles = List.of();
-        }
+    private boolean isAfter(LocalDateTime value, LocalDateTime threshold) {
+        return value != null && value.isAfter(threshold);
+    }
 
-        return new AuthorizationContext(isAdmin, roles);
+    private long epochMillis(LocalDateTime value) {
+        return value == null ? 0 : value.toInstant(ZoneOffset.UTC).toEpochMilli();
     }
 
     private String requiredText(String text, String message) {
@@ -280,6 +570,50 @@ public class InventoryManagementService {
         return text.trim();
     }
 
+    private Map<String, InventoryItem> indexById(Iterable<InventoryItem> items) {
+        Map<String, InventoryItem> indexed = new HashMap<>();
+        items.forEach(item -> indexed.put(item.getId(), item));
+        return indexed;
+    }
+
+    private BatchQuantityAdjustmentResult toBatchResult(
+            Map<String, Integer> deltas,
+            Map<String, String> failures,
+            Map<String, InventoryItem> updated
+    ) {
+        List<QuantityAdjustmentOutcome> outcomes = deltas.entrySet().stream()
+                .map(entry -> {
+                    String failure = failures.get(entry.getKey());
+                    if (failure != null) {
+                        return new QuantityAdjustmentOutcome(entry.getKey(), entry.getValue(), false, null, failure);
+                    }
+                    InventoryItem item = updated.get(entry.getKey());
+                    Integer quantity = item == null ? null : item.getAvailableQuantity();
+                    return new QuantityAdjustmentOutcome(entry.getKey(), entry.getValue(), true, quantity, null);
+                })
+                .toList();
+        int applied = (int) outcomes.stream().filter(QuantityAdjustmentOutcome::isSuccess).count();
+        return new BatchQuantityAdjustmentResult(applied, outcomes.size() - applied, outcomes);
+    }
+
+    private String encodeCursor(InventoryItem item) {
+        String key = item.getId() + ":" + item.getName();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = key.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Missing cursor separator");
+            }
+            return new String[]{key.substring(0, separator), key.substring(separator + 1)};
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid page cursor");
+        }
+    }
+
     private int normalizeQuantity(Integer quantity) {
         if (quantity == null) {
             return 0;
@@ -290,6 +624,17 @@ public class InventoryManagementService {
         return quantity;
     }
 
+    /**
+     * Null keeps the current value, so clients unaware of thresholds do not wipe them on update;
+     * a negative value removes the threshold so that the next type up the path applies again.
+     */
+    private Integer updatedThreshold(Integer requested, Integer current) {
+        if (requested == null) {
+            return current;
+        }
+        return requested < 0 ? null : requested;
+    }
+
     private String normalizeIcon(String icon) {
         if (icon == null || icon.isBlank()) {
             return "📦";
@@ -297,9 +642,24 @@ public class InventoryManagementService {
         return icon.trim();
     }
 
+    /**
+     * Saves the item under the move lock with its type path read from Mongo rather than the catalog, so a type
+     * move running meanwhile cannot leave the item on the path its type had before the move.
+     */
+    private InventoryItem saveWithCurrentTypePath(InventoryItem item) {
+        String mostSpecificTypeId = item.getResourceSubTypeId() != null
+                ? item.getResourceSubTypeId()
+                : item.getResourceTypeId();
+        return typeHierarchy.withMoveLock(() -> {
+            resourceTypeRepository.findById(mostSpecificTypeId)
+                    .ifPresent(type -> item.setTypePath(TypeHierarchyService.pathOf(type)));
+            return inventoryItemRepository.save(item);
+        });
+    }
+
     private ResourceType resolveType(String typeId, String requiredMessage) {
         String normalizedId = requiredText(typeId, requiredMessage);
-        return resourceTypeRepository.findById(normalizedId)
+        return typeCatalog.findById(normalizedId)
                 .orElseThrow(() -> new RuntimeException("Resource type not found"));
     }
 
@@ -308,7 +668,7 @@ public class InventoryManagementService {
             return null;
         }
 
-        return resourceTypeRepository.findById(subtypeId)
+        return typeCatalog.findById(subtypeId)
                 .orElseThrow(() -> new RuntimeException("Resource subtype not found"));
     }
 
@@ -316,54 +676,18 @@ public class InventoryManagementService {
         if (subType.getParentTypeId() == null || subType.getParentTypeId().isBlank()) {
             throw new RuntimeException("Provided subtype is not a subtype");
         }
-        if (!subType.getParentTypeId().equals(type.getId())) {
+        if (!TypeHierarchyService.isUnder(subType, type.getId())) {
             throw new RuntimeException("Subtype does not belong to selected type");
         }
     }
 
-    private ResourceTypeDto toTypeDto(ResourceType type) {
-        return new ResourceTypeDto(
-                type.getId(),
-                type.getName(),
-                type.getDescription(),
-                type.getIcon(),
-                type.getParentTypeId(),
-                type.getParentTypeName()
-        );
-    }
-
-    private InventoryItemDto toItemDto(InventoryItem item) {
-        return new InventoryItemDto(
-                item.getId(),
-                item.getName(),
-                item.getDescription(),
-                item.getResourceTypeId(),
-                item.getResourceTypeName(),
-                item.getResourceSubTypeId(),
-                item.getResourceSubTypeName(),
-                item.getAvailableQuantity()
-        );
-    }
-
-    private static class AuthorizationContext {
-        private final boolean isAdmin;
-        private final List<String> roles;
-
-        private AuthorizationContext(boolean isAdmin, List<String> roles) {
-            this.isAdmin = isAdmin;
-            this.roles = roles == null ? List.of() : roles;
-        }
+    private static final class PageSlice {
+        private final List<InventoryItem> items;
+        private final String nextCursor;
 
-        private boolean hasAnyRole(String... targets) {
-            for (String role : roles) {
-                String normalizedRole = role == null ? "" : role.toLowerCase(Locale.ROOT);
-                for (String target : targets) {
-                    if (normalizedRole.equals(target)) {
-                        return true;
-                    }
-                }
-            }
-            return false;
+        private PageSlice(List<InventoryItem> items, String nextCursor) {
+            this.items = items;
+            this.nextCursor = nextCursor;
         }
     }
 }
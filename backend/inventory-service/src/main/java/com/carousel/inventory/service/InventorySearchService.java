@@ -0,0 +1,88 @@
+package com.carousel.inventory.service;
+
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.domain.InventoryItem;
+import com.carousel.inventory.dto.InventoryItemSearchPage;
+import com.carousel.inventory.repository.InventoryItemRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class InventorySearchService {
+    private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryAuthorizationService authorizationService;
+    private final InventoryProperties inventoryProperties;
+
+    public InventorySearchService(
+            InventoryItemRepository inventoryItemRepository,
+            InventoryAuthorizationService authorizationService,
+            InventoryProperties inventoryProperties
+    ) {
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.authorizationService = authorizationService;
+        this.inventoryProperties = inventoryProperties;
+    }
+
+    @PostConstruct
+    public void backfillSearchFields() {
+        inventoryItemRepository.backfillNameLower();
+    }
+
+    /**
+     * Ranks name-prefix matches (exact names first) ahead of full-text matches on name and description,
+     * which follow in text score order. Both sources are read only up to the end of the requested page.
+     */
+    public InventoryItemSearchPage search(
+            String requesterEmail,
+            String query,
+            Integer offset,
+            Integer limit,
+            String resourceTypeId,
+            String resourceSubTypeId
+    ) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+
+        String text = query == null ? "" : query.trim();
+        if (text.isEmpty()) {
+            throw new RuntimeException("Search query is required");
+        }
+        int pageSize = inventoryProperties.getItems().resolvePageSize(limit);
+        int start = offset == null ? 0 : offset;
+        if (start < 0) {
+            throw new RuntimeException("Search offset cannot be negative");
+        }
+        int maxResultWindow = inventoryProperties.getSearch().getMaxResultWindow();
+        if (start + pageSize > maxResultWindow) {
+            throw new RuntimeException("Search results are limited to the first " + maxResultWindow + " matches");
+        }
+
+        String typeId = RequestParams.blankToNull(resourceTypeId);
+        String subTypeId = RequestParams.blankToNull(resourceSubTypeId);
+        int window = start + pageSize + 1;
+
+        Map<String, InventoryItem> ranked = new LinkedHashMap<>();
+        inventoryItemRepository.findByNamePrefix(text, typeId, subTypeId, window)
+                .forEach(item -> ranked.putIfAbsent(item.getId(), item));
+        if (ranked.size() < window) {
+            inventoryItemRepository.searchText(text, typeId, subTypeId, window)
+                    .forEach(item -> ranked.putIfAbsent(item.getId(), item));
+        }
+
+        List<InventoryItem> matches = new ArrayList<>(ranked.values());
+        if (start >= matches.size()) {
+            return new InventoryItemSearchPage(List.of(), start, null);
+        }
+        int end = Math.min(matches.size(), start + pageSize);
+        Integer nextOffset = matches.size() > end ? end : null;
+        return new InventoryItemSearchPage(
+                matches.subList(start, end).stream().map(InventoryDtoMapper::toItemDto).toList(),
+                start,
+                nextOffset
+        );
+    }
+}
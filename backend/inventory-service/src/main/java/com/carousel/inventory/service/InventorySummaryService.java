@@ -0,0 +1,100 @@
+package com.carousel.inventory.service;
+
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.domain.ResourceType;
+import com.carousel.inventory.dto.InventoryStockSummary;
+import com.carousel.inventory.dto.ResourceTypeStockSummary;
+import com.carousel.inventory.repository.InventoryItemRepository;
+import com.carousel.inventory.repository.StockSummaryRow;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class InventorySummaryService {
+    private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryAuthorizationService authorizationService;
+    private final ResourceTypeCatalog typeCatalog;
+    private final InventoryProperties inventoryProperties;
+    private volatile CachedSummary cached;
+
+    public InventorySummaryService(
+            InventoryItemRepository inventoryItemRepository,
+            InventoryAuthorizationService authorizationService,
+            ResourceTypeCatalog typeCatalog,
+            InventoryProperties inventoryProperties
+    ) {
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.authorizationService = authorizationService;
+        this.typeCatalog = typeCatalog;
+        this.inventoryProperties = inventoryProperties;
+    }
+
+    /**
+     * Returns stock totals per type with a per-subtype breakdown. The aggregation result is shared by
+     * all callers for a few seconds, so a dashboard refreshing on many screens costs one pipeline run.
+     */
+    public InventoryStockSummary getStockSummary(String requesterEmail) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+
+        CachedSummary current = cached;
+        long now = System.nanoTime();
+        if (current != null && now - current.expiresAtNanos < 0) {
+            return current.summary;
+        }
+
+        InventoryStockSummary summary = buildSummary(inventoryItemRepository.summarizeStock());
+        long ttlNanos = Duration.ofSeconds(inventoryProperties.getSummary().getCacheTtlSeconds()).toNanos();
+        cached = new CachedSummary(summary, now + ttlNanos);
+        return summary;
+    }
+
+    private InventoryStockSummary buildSummary(List<StockSummaryRow> rows) {
+        ResourceTypeCatalog.Snapshot types = typeCatalog.current();
+        Map<String, ResourceTypeStockSummary> byType = new LinkedHashMap<>();
+        for (StockSummaryRow row : rows) {
+            ResourceTypeStockSummary typeSummary = byType.computeIfAbsent(row.getResourceTypeId(),
+                    typeId -> new ResourceTypeStockSummary(typeId, nameOf(types, typeId)));
+            add(typeSummary, row);
+
+            if (row.getResourceSubTypeId() != null) {
+                ResourceTypeStockSummary subTypeSummary = new ResourceTypeStockSummary(
+                        row.getResourceSubTypeId(), nameOf(types, row.getResourceSubTypeId()));
+                add(subTypeSummary, row);
+                typeSummary.getSubtypes().add(subTypeSummary);
+            }
+        }
+
+        Comparator<ResourceTypeStockSummary> byName = Comparator.comparing(
+                ResourceTypeStockSummary::getResourceTypeName, Comparator.nullsLast(Comparator.naturalOrder()));
+        byType.values().forEach(typeSummary -> typeSummary.getSubtypes().sort(byName));
+        List<ResourceTypeStockSummary> sorted = byType.values().stream().sorted(byName).toList();
+        return new InventoryStockSummary(LocalDateTime.now(), sorted);
+    }
+
+    private void add(ResourceTypeStockSummary summary, StockSummaryRow row) {
+        summary.setItemCount(summary.getItemCount() + row.getItemCount());
+        summary.setTotalQuantity(summary.getTotalQuantity() + row.getTotalQuantity());
+        summary.setZeroStockCount(summary.getZeroStockCount() + row.getZeroStockCount());
+    }
+
+    private String nameOf(ResourceTypeCatalog.Snapshot types, String typeId) {
+        ResourceType type = types.byId(typeId);
+        return type == null ? null : type.getName();
+    }
+
+    private static final class CachedSummary {
+        private final InventoryStockSummary summary;
+        private final long expiresAtNanos;
+
+        private CachedSummary(InventoryStockSummary summary, long expiresAtNanos) {
+            this.summary = summary;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
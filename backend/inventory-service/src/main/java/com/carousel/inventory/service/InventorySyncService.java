@@ -0,0 +1,135 @@
+package com.carousel.inventory.service;
+
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.domain.InventoryItem;
+import com.carousel.inventory.domain.InventoryItemTombstone;
+import com.carousel.inventory.dto.InventoryItemChanges;
+import com.carousel.inventory.dto.InventoryItemDto;
+import com.carousel.inventory.repository.InventoryItemRepository;
+import com.carousel.inventory.repository.InventoryItemTombstoneRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+@Service
+public class InventorySyncService {
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryItemTombstoneRepository tombstoneRepository;
+    private final InventoryAuthorizationService authorizationService;
+    private final InventoryProperties inventoryProperties;
+
+    public InventorySyncService(
+            InventoryItemRepository inventoryItemRepository,
+            InventoryItemTombstoneRepository tombstoneRepository,
+            InventoryAuthorizationService authorizationService,
+            InventoryProperties inventoryProperties
+    ) {
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.authorizationService = authorizationService;
+        this.inventoryProperties = inventoryProperties;
+    }
+
+    /**
+     * Returns items updated and items deleted after the watermark, merged in (timestamp, id) order.
+     * Without a watermark the whole catalogue is returned page by page. Changes younger than the settle
+     * window are held back to the next call so a write that commits late with an older timestamp is not skipped.
+     * Once nothing is left before the settle cutoff, the watermark moves up to the cutoff itself, so a client
+     * that keeps finding no changes does not age past the tombstone retention and into a forced resync.
+     */
+    public InventoryItemChanges getChanges(String requesterEmail, String watermark, Integer limit) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+
+        int pageSize = inventoryProperties.getItems().resolvePageSize(limit);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        LocalDateTime upTo = now.minus(inventoryProperties.getChanges().getSettleMillis(), ChronoUnit.MILLIS);
+
+        boolean fullSync = watermark == null || watermark.isBlank();
+        ChangeKey after = fullSync ? new ChangeKey(EPOCH, "") : decodeWatermark(watermark);
+        if (!fullSync && after.timestamp.isBefore(now.minusDays(InventoryItemTombstone.RETENTION_DAYS))) {
+            return new InventoryItemChanges(List.of(), List.of(), null, false, true);
+        }
+
+        List<InventoryItem> items = inventoryItemRepository.findChangedAfter(after.timestamp, after.id, upTo, pageSize + 1);
+        List<InventoryItemTombstone> tombstones = fullSync
+                ? List.of()
+                : tombstoneRepository.findAfter(after.timestamp, after.id, upTo, PageRequest.of(0, pageSize + 1));
+
+        List<InventoryItemDto> changedItems = new ArrayList<>();
+        List<String> deletedItemIds = new ArrayList<>();
+        ChangeKey last = after;
+        int itemIndex = 0;
+        int tombstoneIndex = 0;
+        while (changedItems.size() + deletedItemIds.size() < pageSize
+                && (itemIndex < items.size() || tombstoneIndex < tombstones.size())) {
+            ChangeKey itemKey = itemIndex < items.size() ? keyOf(items.get(itemIndex)) : null;
+            ChangeKey tombstoneKey = tombstoneIndex < tombstones.size() ? keyOf(tombstones.get(tombstoneIndex)) : null;
+            if (tombstoneKey == null || (itemKey != null && itemKey.compareTo(tombstoneKey) <= 0)) {
+                changedItems.add(InventoryDtoMapper.toItemDto(items.get(itemIndex++)));
+                last = itemKey;
+            } else {
+                deletedItemIds.add(tombstones.get(tombstoneIndex++).getItemId());
+                last = tombstoneKey;
+            }
+        }
+
+        boolean hasMore = itemIndex < items.size() || tombstoneIndex < tombstones.size();
+        if (!hasMore) {
+            // Everything before the cutoff has been returned; never move a watermark back, though
+            ChangeKey cutoff = new ChangeKey(upTo, "");
+            last = cutoff.compareTo(last) > 0 ? cutoff : last;
+        }
+        return new InventoryItemChanges(changedItems, deletedItemIds, encodeWatermark(last), hasMore, false);
+    }
+
+    private ChangeKey keyOf(InventoryItem item) {
+        return new ChangeKey(item.getUpdatedAt(), item.getId());
+    }
+
+    private ChangeKey keyOf(InventoryItemTombstone tombstone) {
+        return new ChangeKey(tombstone.getDeletedAt(), tombstone.getItemId());
+    }
+
+    private String encodeWatermark(ChangeKey key) {
+        String value = key.timestamp + "|" + key.id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ChangeKey decodeWatermark(String watermark) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(watermark.trim()), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Missing watermark separator");
+            }
+            return new ChangeKey(LocalDateTime.parse(value.substring(0, separator)), value.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid sync watermark");
+        }
+    }
+
+    private static final class ChangeKey implements Comparable<ChangeKey> {
+        private final LocalDateTime timestamp;
+        private final String id;
+
+        private ChangeKey(LocalDateTime timestamp, String id) {
+            this.timestamp = timestamp;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(ChangeKey other) {
+            int byTime = timestamp.compareTo(other.timestamp);
+            return byTime != 0 ? byTime : id.compareTo(other.id);
+        }
+    }
+}
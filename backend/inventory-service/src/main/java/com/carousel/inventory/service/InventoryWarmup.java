@@ -0,0 +1,129 @@
+package com.carousel.inventory.service;
+
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.dto.InventoryChangeEvent;
+import com.carousel.inventory.dto.InventoryItemDto;
+import com.carousel.inventory.dto.ResourceTypeDto;
+import com.carousel.inventory.repository.QuantityLedgerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms the paths the first requests after a start would otherwise pay for: the type tree, the authorization
+ * lookups against the user and role services, and Jackson's serializers for the payloads served most often.
+ * <p>
+ * It runs as an application runner, and Spring Boot only reports the readiness probe as accepting traffic once
+ * every runner has returned, so an instance does not enter the load balancer while it is still cold. Each step
+ * is best effort: a failure is logged and the start carries on, since a cold path is slow, not broken.
+ */
+@Component
+public class InventoryWarmup implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(InventoryWarmup.class);
+
+    private final ResourceTypeCatalog typeCatalog;
+    private final QuantityLedgerRepository ledgerRepository;
+    private final InventoryAuthorizationService authorizationService;
+    private final ObjectMapper objectMapper;
+    private final InventoryProperties inventoryProperties;
+    private final MeterRegistry meterRegistry;
+
+    public InventoryWarmup(
+            ResourceTypeCatalog typeCatalog,
+            QuantityLedgerRepository ledgerRepository,
+            InventoryAuthorizationService authorizationService,
+            ObjectMapper objectMapper,
+            InventoryProperties inventoryProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.typeCatalog = typeCatalog;
+        this.ledgerRepository = ledgerRepository;
+        this.authorizationService = authorizationService;
+        this.objectMapper = objectMapper;
+        this.inventoryProperties = inventoryProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        InventoryProperties.Warmup settings = inventoryProperties.getWarmup();
+        if (!settings.isEnabled()) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.SECONDS.toNanos(Math.max(1, settings.getMaxDurationSeconds()));
+        step("types", () -> typeCatalog.current());
+        step("authorization", () -> primeRecentActors(settings, deadline));
+        step("json", this::exerciseJson);
+        long elapsed = System.nanoTime() - started;
+        timer("total").record(elapsed, TimeUnit.NANOSECONDS);
+        logger.info("Inventory warm-up finished in {} ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    /**
+     * Resolves the authorization of the users who changed stock lately, which also opens the Feign connections
+     * to the user and role services, stopping early once the warm-up has used up its time.
+     */
+    private void primeRecentActors(InventoryProperties.Warmup settings, long deadline) {
+        LocalDateTime since = LocalDateTime.now().minusDays(settings.getRecentActorDays());
+        List<String> actors = ledgerRepository.findRecentActors(since, QuantityLedgerService.SYSTEM_ACTOR,
+                Math.max(0, settings.getMaxPrimedUsers()));
+
+        int primed = 0;
+        for (String actor : actors) {
+            if (System.nanoTime() - deadline >= 0) {
+                logger.info("Warm-up time used up after priming {} of {} users", primed, actors.size());
+                return;
+            }
+            try {
+                authorizationService.prime(actor);
+                primed++;
+            } catch (RuntimeException ex) {
+                logger.debug("Could not prime authorization for {}: {}", actor, ex.getMessage());
+            }
+        }
+    }
+
+    private void exerciseJson() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        InventoryItemDto item = new InventoryItemDto("warmup", "Warm-up", null, null, null, null, null, 0);
+        ResourceTypeDto type = new ResourceTypeDto("warmup", "Warm-up", null, null, null, null, List.of(), null);
+        InventoryChangeEvent event = new InventoryChangeEvent(InventoryChangeHub.QUANTITY_CHANGED, item.getId(), item, now);
+
+        objectMapper.readValue(objectMapper.writeValueAsBytes(item), InventoryItemDto.class);
+        objectMapper.readValue(objectMapper.writeValueAsBytes(type), ResourceTypeDto.class);
+        objectMapper.readValue(objectMapper.writeValueAsBytes(event), InventoryChangeEvent.class);
+    }
+
+    private void step(String name, WarmupStep step) {
+        long started = System.nanoTime();
+        try {
+            step.run();
+        } catch (Exception ex) {
+            logger.warn("Warm-up step {} failed: {}", name, ex.getMessage());
+        } finally {
+            timer(name).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String step) {
+        return Timer.builder("inventory.warmup")
+                .tag("step", step)
+                .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    private interface WarmupStep {
+        void run() throws Exception;
+    }
+}
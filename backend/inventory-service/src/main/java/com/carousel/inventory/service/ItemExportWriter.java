@@ -0,0 +1,9 @@
+package com.carousel.inventory.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+@FunctionalInterface
+public interface ItemExportWriter {
+    void writeTo(OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,97 @@
+package com.carousel.inventory.service;
+
+import com.carousel.inventory.domain.InventoryItem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Columns selected with the {@code fields=} parameter of item listings.
+ * The same selection drives the Mongo projection and the rows written to the response, so unrequested
+ * columns are neither read from the database nor serialized.
+ */
+public final class ItemFields {
+    private static final List<String> SUPPORTED = List.of(
+            "id",
+            "name",
+            "description",
+            "resourceTypeId",
+            "resourceTypeName",
+            "resourceSubTypeId",
+            "resourceSubTypeName",
+            "availableQuantity",
+            "lowStockThreshold"
+    );
+
+    private final List<String> names;
+
+    private ItemFields(List<String> names) {
+        this.names = names;
+    }
+
+    /**
+     * Parses a comma-separated field list; the id is always returned so rows stay addressable.
+     *
+     * @return the selection, or null when no fields were requested and full items should be returned
+     */
+    public static ItemFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!SUPPORTED.contains(name)) {
+                throw new RuntimeException("Unknown item field: " + name);
+            }
+            selected.add(name);
+        }
+        return new ItemFields(new ArrayList<>(selected));
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Document fields to read: the selected ones plus any the caller needs internally, such as a cursor key.
+     */
+    Set<String> projection(String... required) {
+        Set<String> projection = new LinkedHashSet<>(names);
+        projection.addAll(Arrays.asList(required));
+        return projection;
+    }
+
+    Map<String, Object> toRow(InventoryItem item) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String name : names) {
+            row.put(name, value(item, name));
+        }
+        return row;
+    }
+
+    private Object value(InventoryItem item, String name) {
+        return switch (name) {
+            case "id" -> item.getId();
+            case "name" -> item.getName();
+            case "description" -> item.getDescription();
+            case "resourceTypeId" -> item.getResourceTypeId();
+            case "resourceTypeName" -> item.getResourceTypeName();
+            case "resourceSubTypeId" -> item.getResourceSubTypeId();
+            case "resourceSubTypeName" -> item.getResourceSubTypeName();
+            case "availableQuantity" -> item.getAvailableQuantity();
+            case "lowStockThreshold" -> item.getLowStockThreshold();
+            default -> throw new IllegalArgumentException("Unsupported item field: " + name);
+        };
+    }
+}
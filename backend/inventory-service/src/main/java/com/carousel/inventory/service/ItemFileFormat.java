@@ -0,0 +1,42 @@
+package com.carousel.inventory.service;
+
+import java.util.Locale;
+
+public enum ItemFileFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    ItemFileFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public static ItemFileFormat parse(String format) {
+        if (format == null || format.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported file format");
+        }
+    }
+
+    public static ItemFileFormat fromFileName(String fileName) {
+        if (fileName != null && fileName.toLowerCase(Locale.ROOT).endsWith(".csv")) {
+            return CSV;
+        }
+        return NDJSON;
+    }
+}
@@ -0,0 +1,398 @@
+package com.carousel.inventory.service;
+
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.domain.InventoryItem;
+import com.carousel.inventory.domain.LocationStock;
+import com.carousel.inventory.domain.StockTransfer;
+import com.carousel.inventory.domain.TransferKind;
+import com.carousel.inventory.domain.TransferStatus;
+import com.carousel.inventory.dto.ItemLocationStock;
+import com.carousel.inventory.dto.LocationStockDto;
+import com.carousel.inventory.dto.StockTransferDto;
+import com.carousel.inventory.dto.StockTransferRequest;
+import com.carousel.inventory.repository.InventoryItemRepository;
+import com.carousel.inventory.repository.LocationStockRepository;
+import com.carousel.inventory.repository.StockTransferRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Per-location stock of inventory items. Every item and location pair is its own document, so the per-location
+ * quantities and their guards do not share a document, while the item keeps the total and the located part of it
+ * as counters that each location change also increments; every location change therefore still writes the item.
+ * <p>
+ * Transfers and location adjustments touch two documents on a deployment without multi-document transactions, so
+ * they follow the two-phase pattern: a journal entry is written first, each side is changed together with a marker
+ * naming the entry, and the markers are cleared once both sides are applied. Every step can be repeated safely,
+ * which lets the scheduled recovery finish an entry that was interrupted after its first side was applied. The
+ * entry names its owner, and the recovery takes an entry over with a compare-and-set before touching it, so a slow
+ * request and the recovery do not both drive the same entry.
+ */
+@Service
+public class LocationStockService {
+    private static final Logger logger = LoggerFactory.getLogger(LocationStockService.class);
+    private static final Pattern LOCATION_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    private static final Set<TransferStatus> UNFINISHED = EnumSet.of(TransferStatus.PENDING, TransferStatus.APPLIED);
+
+    private final LocationStockRepository locationStockRepository;
+    private final StockTransferRepository transferRepository;
+    private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryAuthorizationService authorizationService;
+    private final InventoryChangeHub changeHub;
+    private final QuantityLedgerService ledgerService;
+    private final LowStockAlertService lowStockAlerts;
+    private final InventoryProperties inventoryProperties;
+
+    public LocationStockService(
+            LocationStockRepository locationStockRepository,
+            StockTransferRepository transferRepository,
+            InventoryItemRepository inventoryItemRepository,
+            InventoryAuthorizationService authorizationService,
+            InventoryChangeHub changeHub,
+            QuantityLedgerService ledgerService,
+            LowStockAlertService lowStockAlerts,
+            InventoryProperties inventoryProperties
+    ) {
+        this.locationStockRepository = locationStockRepository;
+        this.transferRepository = transferRepository;
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.authorizationService = authorizationService;
+        this.changeHub = changeHub;
+        this.ledgerService = ledgerService;
+        this.lowStockAlerts = lowStockAlerts;
+        this.inventoryProperties = inventoryProperties;
+    }
+
+    public ItemLocationStock getItemLocations(String itemId, String requesterEmail) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+
+        InventoryItem item = inventoryItemRepository.findById(itemId)
+                .orElseThrow(() -> new RuntimeException("Inventory item not found"));
+        List<LocationStockDto> locations = locationStockRepository.findByItemIdOrderByLocationIdAsc(itemId).stream()
+                .filter(stock -> stock.getQuantity() > 0)
+                .map(this::toDto)
+                .toList();
+        return new ItemLocationStock(item.getId(), item.getAvailableQuantity(),
+                item.getAvailableQuantity() - item.getLocatedQuantity(), locations);
+    }
+
+    public List<LocationStockDto> getLocationStock(String locationId, String requesterEmail) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+
+        return locationStockRepository.findByLocationIdAndQuantityGreaterThanOrderByItemIdAsc(requiredLocation(locationId), 0).stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    /**
+     * Changes the location entry first, under its own non-negative guard, and the item's counters second.
+     * If the item was deleted in between, the location change is undone.
+     */
+    public LocationStockDto adjustAtLocation(String itemId, String locationId, int quantityDelta, String requesterEmail) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+
+        String location = requiredLocation(locationId);
+        if (quantityDelta == 0) {
+            throw new RuntimeException("Quantity delta cannot be zero");
+        }
+        if (!inventoryItemRepository.existsById(itemId)) {
+            throw new RuntimeException("Inventory item not found");
+        }
+
+        StockTransfer adjustment = journal(TransferKind.LOCATION_ADJUSTMENT, itemId, null, location, quantityDelta, requesterEmail);
+        if (!applyLeg(adjustment, location, quantityDelta)) {
+            cancel(adjustment);
+            throw new RuntimeException("Insufficient quantity at location");
+        }
+        if (keepsOwnership(adjustment)) {
+            InventoryItem item = inventoryItemRepository.applyAdjustmentLeg(itemId, adjustment.getId(), quantityDelta, LocalDateTime.now())
+                    .orElse(null);
+            if (item != null) {
+                onLocationAdjusted(item, quantityDelta, requesterEmail);
+                finish(adjustment);
+            } else if (!inventoryItemRepository.hasTransfer(itemId, adjustment.getId())) {
+                undo(adjustment);
+                throw new RuntimeException("Inventory item not found");
+            }
+        }
+
+        return locationStockRepository.findById(LocationStock.idOf(itemId, location))
+                .map(this::toDto)
+                .orElseThrow(() -> new RuntimeException("Inventory item not found"));
+    }
+
+    /**
+     * Moves stock between two locations of an item; a missing location stands for its unlocated stock.
+     * The item's total does not change, so no ledger entry is written.
+     */
+    public StockTransferDto transfer(String itemId, StockTransferRequest request, String requesterEmail) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+
+        if (request == null) {
+            throw new RuntimeException("Transfer request is required");
+        }
+        String from = optionalLocation(request.getFromLocationId());
+        String to = optionalLocation(request.getToLocationId());
+        if (Objects.equals(from, to)) {
+            throw new RuntimeException("Transfer source and destination must differ");
+        }
+        if (request.getQuantity() <= 0) {
+            throw new RuntimeException("Transfer quantity must be positive");
+        }
+        if (!inventoryItemRepository.existsById(itemId)) {
+            throw new RuntimeException("Inventory item not found");
+        }
+
+        StockTransfer transfer = journal(TransferKind.TRANSFER, itemId, from, to, request.getQuantity(), requesterEmail);
+        if (!applyLeg(transfer, from, -transfer.getQuantity())) {
+            cancel(transfer);
+            throw new RuntimeException(from == null
+                    ? "Insufficient unlocated quantity"
+                    : "Insufficient quantity at location");
+        }
+        if (keepsOwnership(transfer)) {
+            complete(transfer);
+        }
+        return toDto(transfer);
+    }
+
+    public StockTransferDto getTransfer(String transferId, String requesterEmail) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+        return transferRepository.findById(transferId)
+                .filter(transfer -> transfer.getKind() == TransferKind.TRANSFER)
+                .map(this::toDto)
+                .orElseThrow(() -> new RuntimeException("Transfer not found"));
+    }
+
+    /**
+     * Finishes transfers and location adjustments left unfinished for longer than the lease, taking each one over
+     * first. One whose first side was never applied is cancelled rather than applied late, because its caller has
+     * already been told it failed.
+     */
+    @Scheduled(fixedDelayString = "${carousel.inventory.locations.transfer-recovery-interval-millis:30000}")
+    public void recoverTransfers() {
+        InventoryProperties.Locations settings = inventoryProperties.getLocations();
+        LocalDateTime staleBefore = LocalDateTime.now().minusSeconds(settings.getTransferLeaseSeconds());
+        List<StockTransfer> stale = transferRepository.findByStatusInAndUpdatedAtBeforeOrderByUpdatedAtAsc(
+                UNFINISHED, staleBefore, PageRequest.of(0, Math.max(1, settings.getRecoveryBatchSize())));
+
+        int recovered = 0;
+        int cancelled = 0;
+        for (StockTransfer transfer : stale) {
+            String owner = UUID.randomUUID().toString();
+            LocalDateTime now = LocalDateTime.now();
+            if (!transferRepository.claim(transfer.getId(), transfer.getStatus(), transfer.getUpdatedAt(), owner, now)) {
+                // Its owner moved it on since it was read, or another instance took it over
+                continue;
+            }
+            transfer.setOwner(owner);
+            transfer.setUpdatedAt(now);
+            recovered++;
+
+            if (transfer.getStatus() == TransferStatus.PENDING && !hasLeg(transfer, firstLocation(transfer))) {
+                if (cancel(transfer)) {
+                    cancelled++;
+                }
+            } else if (transfer.getKind() == TransferKind.LOCATION_ADJUSTMENT) {
+                recoverAdjustment(transfer);
+            } else {
+                complete(transfer);
+            }
+        }
+        if (recovered > 0) {
+            logger.info("Recovered {} interrupted transfers and adjustments, {} of them cancelled", recovered, cancelled);
+        }
+    }
+
+    private void recoverAdjustment(StockTransfer adjustment) {
+        if (adjustment.getStatus() == TransferStatus.PENDING) {
+            Optional<InventoryItem> item = inventoryItemRepository.applyAdjustmentLeg(
+                    adjustment.getItemId(), adjustment.getId(), adjustment.getQuantity(), LocalDateTime.now());
+            if (item.isPresent()) {
+                onLocationAdjusted(item.get(), adjustment.getQuantity(), adjustment.getRequesterEmail());
+            } else if (!inventoryItemRepository.hasTransfer(adjustment.getItemId(), adjustment.getId())) {
+                undo(adjustment);
+                return;
+            }
+        }
+        finish(adjustment);
+    }
+
+    private StockTransfer journal(TransferKind kind, String itemId, String from, String to, int quantity, String requesterEmail) {
+        LocalDateTime now = LocalDateTime.now();
+        StockTransfer transfer = new StockTransfer();
+        transfer.setKind(kind);
+        transfer.setItemId(itemId);
+        transfer.setFromLocationId(from);
+        transfer.setToLocationId(to);
+        transfer.setQuantity(quantity);
+        transfer.setStatus(TransferStatus.PENDING);
+        transfer.setOwner(UUID.randomUUID().toString());
+        transfer.setRequesterEmail(requesterEmail);
+        transfer.setCreatedAt(now);
+        transfer.setUpdatedAt(now);
+        return transferRepository.insert(transfer);
+    }
+
+    /**
+     * Confirms, after the first side was applied, that the recovery did not take the entry over in the meantime.
+     * If the recovery cancelled it before that side landed, the side is undone and the request fails.
+     */
+    private boolean keepsOwnership(StockTransfer transfer) {
+        LocalDateTime now = LocalDateTime.now();
+        if (transferRepository.advance(transfer.getId(), transfer.getOwner(), TransferStatus.PENDING, TransferStatus.PENDING, now, null)) {
+            transfer.setUpdatedAt(now);
+            return true;
+        }
+        StockTransfer current = transferRepository.findById(transfer.getId()).orElse(transfer);
+        if (current.getStatus() == TransferStatus.CANCELLED) {
+            revertLeg(transfer, firstLocation(transfer), firstDelta(transfer));
+            throw new RuntimeException("Transfer was cancelled before it could be applied");
+        }
+        // The recovery found the first side applied and finishes the entry
+        transfer.setStatus(current.getStatus());
+        transfer.setUpdatedAt(current.getUpdatedAt());
+        return false;
+    }
+
+    /**
+     * Credits the destination of a transfer whose source is debited, then clears both markers.
+     */
+    private void complete(StockTransfer transfer) {
+        if (transfer.getStatus() == TransferStatus.PENDING) {
+            // False here only means the credit was applied by an earlier, interrupted attempt
+            applyLeg(transfer, transfer.getToLocationId(), transfer.getQuantity());
+        }
+        finish(transfer);
+    }
+
+    private void finish(StockTransfer transfer) {
+        LocalDateTime now = LocalDateTime.now();
+        if (transfer.getStatus() == TransferStatus.PENDING
+                && !transferRepository.advance(transfer.getId(), transfer.getOwner(), TransferStatus.PENDING, TransferStatus.APPLIED, now, null)) {
+            // Taken over after the lease ran out; the new owner clears the markers
+            return;
+        }
+        clearLeg(transfer, firstLocation(transfer));
+        clearLeg(transfer, secondLocation(transfer));
+        transferRepository.advance(transfer.getId(), transfer.getOwner(), TransferStatus.APPLIED, TransferStatus.COMPLETED, now, purgeAt(now));
+        transfer.setStatus(TransferStatus.COMPLETED);
+        transfer.setUpdatedAt(now);
+    }
+
+    private boolean cancel(StockTransfer transfer) {
+        LocalDateTime now = LocalDateTime.now();
+        return transferRepository.advance(transfer.getId(), transfer.getOwner(), TransferStatus.PENDING, TransferStatus.CANCELLED, now, purgeAt(now));
+    }
+
+    /**
+     * Cancels an entry whose first side was applied but whose second side cannot be, and undoes the first side.
+     */
+    private void undo(StockTransfer transfer) {
+        if (cancel(transfer)) {
+            revertLeg(transfer, firstLocation(transfer), firstDelta(transfer));
+        }
+    }
+
+    private void onLocationAdjusted(InventoryItem item, int quantityDelta, String actor) {
+        ledgerService.record(item.getId(), quantityDelta, item.getAvailableQuantity(), QuantityLedgerService.LOCATION_ADJUST, actor);
+        lowStockAlerts.onQuantityChanged(item, item.getAvailableQuantity() - quantityDelta);
+        changeHub.publish(InventoryChangeHub.QUANTITY_CHANGED, InventoryDtoMapper.toItemDto(item));
+    }
+
+    // A transfer debits its source first; an adjustment changes its location first and the item's counters second
+    private String firstLocation(StockTransfer transfer) {
+        return transfer.getKind() == TransferKind.LOCATION_ADJUSTMENT ? transfer.getToLocationId() : transfer.getFromLocationId();
+    }
+
+    private String secondLocation(StockTransfer transfer) {
+        return transfer.getKind() == TransferKind.LOCATION_ADJUSTMENT ? null : transfer.getToLocationId();
+    }
+
+    private int firstDelta(StockTransfer transfer) {
+        return transfer.getKind() == TransferKind.LOCATION_ADJUSTMENT ? transfer.getQuantity() : -transfer.getQuantity();
+    }
+
+    private boolean applyLeg(StockTransfer transfer, String locationId, int quantityDelta) {
+        LocalDateTime now = LocalDateTime.now();
+        return locationId == null
+                // Stock entering a location leaves the unlocated part, so the located counter moves the other way
+                ? inventoryItemRepository.applyTransferLeg(transfer.getItemId(), transfer.getId(), -quantityDelta, now)
+                : locationStockRepository.applyTransferLeg(transfer.getItemId(), locationId, transfer.getId(), quantityDelta, now);
+    }
+
+    private void revertLeg(StockTransfer transfer, String locationId, int quantityDelta) {
+        LocalDateTime now = LocalDateTime.now();
+        if (locationId == null) {
+            inventoryItemRepository.revertTransferLeg(transfer.getItemId(), transfer.getId(), -quantityDelta, now);
+        } else {
+            locationStockRepository.revertTransferLeg(transfer.getItemId(), locationId, transfer.getId(), quantityDelta, now);
+        }
+    }
+
+    private boolean hasLeg(StockTransfer transfer, String locationId) {
+        return locationId == null
+                ? inventoryItemRepository.hasTransfer(transfer.getItemId(), transfer.getId())
+                : locationStockRepository.hasTransfer(transfer.getItemId(), locationId, transfer.getId());
+    }
+
+    private void clearLeg(StockTransfer transfer, String locationId) {
+        if (locationId == null) {
+            inventoryItemRepository.clearTransfer(transfer.getItemId(), transfer.getId());
+        } else {
+            locationStockRepository.clearTransfer(transfer.getItemId(), locationId, transfer.getId());
+        }
+    }
+
+    private String requiredLocation(String locationId) {
+        String location = optionalLocation(locationId);
+        if (location == null) {
+            throw new RuntimeException("Location id is required");
+        }
+        return location;
+    }
+
+    private String optionalLocation(String locationId) {
+        if (locationId == null || locationId.isBlank()) {
+            return null;
+        }
+        String location = locationId.trim();
+        if (!LOCATION_ID.matcher(location).matches()) {
+            throw new RuntimeException("Location id may only contain letters, digits, '.', '_' and '-' and be at most 64 characters");
+        }
+        return location;
+    }
+
+    private LocalDateTime purgeAt(LocalDateTime finishedAt) {
+        return finishedAt.plusDays(inventoryProperties.getLocations().getTransferRetentionDays());
+    }
+
+    private LocationStockDto toDto(LocationStock stock) {
+        return new LocationStockDto(stock.getItemId(), stock.getLocationId(), stock.getQuantity(), stock.getUpdatedAt());
+    }
+
+    private StockTransferDto toDto(StockTransfer transfer) {
+        return new StockTransferDto(
+                transfer.getId(),
+                transfer.getItemId(),
+                transfer.getFromLocationId(),
+                transfer.getToLocationId(),
+                transfer.getQuantity(),
+                transfer.getStatus().name(),
+                transfer.getCreatedAt(),
+                transfer.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,170 @@
+package com.carousel.inventory.service;
+
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.domain.InventoryItem;
+import com.carousel.inventory.domain.ResourceType;
+import com.carousel.inventory.domain.StockAlert;
+import com.carousel.inventory.dto.StockAlertDto;
+import com.carousel.inventory.repository.InventoryItemRepository;
+import com.carousel.inventory.repository.StockAlertRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Raises low-stock alerts from the quantity-change paths instead of scanning items. Each write already knows the
+ * quantity before and after, so only a change that crosses the reorder point from at-or-above to below produces
+ * an alert, and the cost is one in-memory threshold lookup per change. Alerts go to an outbox collection first
+ * and a scheduled relay publishes them on the change stream.
+ */
+@Service
+public class LowStockAlertService {
+    private static final Logger logger = LoggerFactory.getLogger(LowStockAlertService.class);
+
+    private final StockAlertRepository alertRepository;
+    private final InventoryItemRepository inventoryItemRepository;
+    private final ResourceTypeCatalog typeCatalog;
+    private final InventoryChangeHub changeHub;
+    private final InventoryAuthorizationService authorizationService;
+    private final InventoryProperties inventoryProperties;
+    private final Counter raisedAlerts;
+    private final Counter debouncedAlerts;
+
+    public LowStockAlertService(
+            StockAlertRepository alertRepository,
+            InventoryItemRepository inventoryItemRepository,
+            ResourceTypeCatalog typeCatalog,
+            InventoryChangeHub changeHub,
+            InventoryAuthorizationService authorizationService,
+            InventoryProperties inventoryProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.alertRepository = alertRepository;
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.typeCatalog = typeCatalog;
+        this.changeHub = changeHub;
+        this.authorizationService = authorizationService;
+        this.inventoryProperties = inventoryProperties;
+        this.raisedAlerts = Counter.builder("inventory.low_stock.alerts").tag("outcome", "raised").register(meterRegistry);
+        this.debouncedAlerts = Counter.builder("inventory.low_stock.alerts").tag("outcome", "debounced").register(meterRegistry);
+    }
+
+    /**
+     * Checks one applied quantity change. Never throws: the change itself has already been written, and a lost
+     * alert is preferable to failing a request whose effect cannot be taken back.
+     */
+    public void onQuantityChanged(InventoryItem item, int previousQuantity) {
+        if (item == null || item.getAvailableQuantity() >= previousQuantity) {
+            return;
+        }
+        try {
+            int threshold = resolveThreshold(item);
+            if (threshold > 0 && previousQuantity >= threshold && item.getAvailableQuantity() < threshold) {
+                raise(item, threshold);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not evaluate low-stock threshold of item {}", item.getId(), e);
+        }
+    }
+
+    /**
+     * The item's own threshold, or else the one of its most specific type that sets one, walking up the type path.
+     * Returns 0 when no threshold applies.
+     */
+    int resolveThreshold(InventoryItem item) {
+        if (item.getLowStockThreshold() != null) {
+            return item.getLowStockThreshold();
+        }
+        List<String> typePath = item.getTypePath();
+        if (typePath == null || typePath.isEmpty()) {
+            typePath = Stream.of(item.getResourceTypeId(), item.getResourceSubTypeId())
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+        ResourceTypeCatalog.Snapshot types = typeCatalog.current();
+        for (int i = typePath.size() - 1; i >= 0; i--) {
+            ResourceType type = types.byId(typePath.get(i));
+            if (type != null && type.getLowStockThreshold() != null) {
+                return type.getLowStockThreshold();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Publishes queued alerts, one batch per pass, until the outbox is drained. Alerts are claimed before they are
+     * published, so several instances never send the same alert; one lost in a crash stays readable through the
+     * alert listing.
+     */
+    @Scheduled(fixedDelayString = "${carousel.inventory.low-stock.dispatch-interval-millis:10000}")
+    public void dispatchAlerts() {
+        int batchSize = Math.max(1, inventoryProperties.getLowStock().getDispatchBatchSize());
+        long claimed;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            String runId = UUID.randomUUID().toString();
+            claimed = alertRepository.claimUndispatched(batchSize, runId, now,
+                    now.plusDays(inventoryProperties.getLowStock().getRetentionDays()));
+            if (claimed > 0) {
+                List<StockAlert> alerts = alertRepository.findByDispatchRunId(runId);
+                inventoryItemRepository.findAllById(alerts.stream().map(StockAlert::getItemId).distinct().toList())
+                        .forEach(item -> changeHub.publish(InventoryChangeHub.LOW_STOCK, InventoryDtoMapper.toItemDto(item)));
+                logger.info("Dispatched {} low-stock alerts", alerts.size());
+            }
+        } while (claimed >= batchSize);
+    }
+
+    public List<StockAlertDto> getAlerts(LocalDateTime since, Integer limit, String requesterEmail) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+
+        int maxListed = inventoryProperties.getLowStock().getMaxListedAlerts();
+        int size = limit == null ? maxListed : Math.max(1, Math.min(limit, maxListed));
+        LocalDateTime after = since == null ? LocalDateTime.now().minusDays(1) : since;
+        return alertRepository.findByRaisedAtAfterOrderByRaisedAtAsc(after, PageRequest.of(0, size)).stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    private void raise(InventoryItem item, int threshold) {
+        LocalDateTime now = LocalDateTime.now();
+        long debounceSeconds = Math.max(1, inventoryProperties.getLowStock().getDebounceSeconds());
+        if (!alertRepository.claimAlert(item.getId(), now, now.minusSeconds(debounceSeconds), now.plusSeconds(debounceSeconds))) {
+            // Alerted less than a debounce period ago; the item keeps bouncing around its reorder point
+            debouncedAlerts.increment();
+            return;
+        }
+
+        StockAlert alert = new StockAlert();
+        alert.setId(item.getId() + ":" + now.toInstant(ZoneOffset.UTC).toEpochMilli());
+        alert.setItemId(item.getId());
+        alert.setItemName(item.getName());
+        alert.setQuantity(item.getAvailableQuantity());
+        alert.setThreshold(threshold);
+        alert.setRaisedAt(now);
+        alertRepository.insert(alert);
+        raisedAlerts.increment();
+    }
+
+    private StockAlertDto toDto(StockAlert alert) {
+        return new StockAlertDto(
+                alert.getId(),
+                alert.getItemId(),
+                alert.getItemName(),
+                alert.getQuantity(),
+                alert.getThreshold(),
+                alert.getRaisedAt(),
+                alert.isDispatched()
+        );
+    }
+}
@@ -0,0 +1,74 @@
+package com.carousel.inventory.service;
+
+import com.carousel.inventory.config.InventoryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a read-modify-write attempt when its versioned save loses a race, backing off exponentially
+ * with jitter between attempts. Conflicts, retries and exhausted attempts are counted per entity
+ * so contention on hot documents shows up in metrics.
+ */
+@Component
+public class OptimisticRetryPolicy {
+    static final String ITEM = "item";
+    static final String TYPE = "type";
+
+    private final InventoryProperties inventoryProperties;
+    private final MeterRegistry meterRegistry;
+
+    public OptimisticRetryPolicy(InventoryProperties inventoryProperties, MeterRegistry meterRegistry) {
+        this.inventoryProperties = inventoryProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs the attempt until it succeeds or the configured number of attempts is used up.
+     * Each attempt must re-read the document it saves so that it applies its change on top of the winner's.
+     */
+    public <T> T execute(String entity, Supplier<T> attempt) {
+        InventoryProperties.OptimisticLocking settings = inventoryProperties.getOptimisticLocking();
+        int maxAttempts = Math.max(1, settings.getMaxAttempts());
+        long backoffMillis = Math.max(0, settings.getInitialBackoffMillis());
+
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                return attempt.get();
+            } catch (OptimisticLockingFailureException e) {
+                counter("inventory.optimistic.conflicts", entity).increment();
+                if (attemptNumber >= maxAttempts) {
+                    counter("inventory.optimistic.exhausted", entity).increment();
+                    throw new RuntimeException("Concurrent update conflict, please retry");
+                }
+            }
+
+            counter("inventory.optimistic.retries", entity).increment();
+            sleep(backoffMillis);
+            backoffMillis = Math.min(Math.max(1, backoffMillis * 2), Math.max(0, settings.getMaxBackoffMillis()));
+        }
+    }
+
+    private void sleep(long backoffMillis) {
+        if (backoffMillis <= 0) {
+            return;
+        }
+        try {
+            // Full jitter so that writers which collided once do not collide again on the next attempt
+            Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Concurrent update conflict, please retry");
+        }
+    }
+
+    private Counter counter(String name, String entity) {
+        return Counter.builder(name)
+                .tag("entity", entity)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,278 @@
+package com.carousel.inventory.service;
+
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.domain.InventoryItem;
+import com.carousel.inventory.domain.QuantityLedgerEntry;
+import com.carousel.inventory.domain.QuantitySnapshot;
+import com.carousel.inventory.dto.QuantityAsOf;
+import com.carousel.inventory.dto.QuantityLedgerEntryDto;
+import com.carousel.inventory.repository.InventoryItemRepository;
+import com.carousel.inventory.repository.QuantityLedgerRepository;
+import com.carousel.inventory.repository.QuantitySnapshotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only audit trail of quantity changes. The item document keeps the live quantity that guarded
+ * updates check against; every change is also written here, and a scheduled job compacts the ledger into
+ * per-item snapshots so that "quantity as of" queries only replay the entries recorded after a snapshot.
+ * <p>
+ * An entry that cannot be written flags its item, and a second job books the difference between the item's
+ * quantity and its ledger sum as a correcting entry, so a lost entry skews history until the next run rather
+ * than for good.
+ */
+@Service
+public class QuantityLedgerService {
+    public static final String OPENING_BALANCE = "OPENING_BALANCE";
+    public static final String CREATE = "CREATE";
+    public static final String UPDATE = "UPDATE";
+    public static final String DELETE = "DELETE";
+    public static final String ADJUST = "ADJUST";
+    public static final String BATCH_ADJUST = "BATCH_ADJUST";
+    public static final String IMPORT = "IMPORT";
+    public static final String RESERVE = "RESERVE";
+    public static final String RELEASE = "RELEASE";
+    public static final String RESERVATION_EXPIRED = "RESERVATION_EXPIRED";
+    public static final String LOCATION_ADJUST = "LOCATION_ADJUST";
+    public static final String RECONCILE = "RECONCILE";
+    public static final String SYSTEM_ACTOR = "system";
+
+    private static final Logger logger = LoggerFactory.getLogger(QuantityLedgerService.class);
+
+    private final QuantityLedgerRepository ledgerRepository;
+    private final QuantitySnapshotRepository snapshotRepository;
+    private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryAuthorizationService authorizationService;
+    private final InventoryProperties inventoryProperties;
+    private final Counter failedEntries;
+    private final Counter correctedItems;
+
+    public QuantityLedgerService(
+            QuantityLedgerRepository ledgerRepository,
+            QuantitySnapshotRepository snapshotRepository,
+            InventoryItemRepository inventoryItemRepository,
+            InventoryAuthorizationService authorizationService,
+            InventoryProperties inventoryProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.ledgerRepository = ledgerRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.authorizationService = authorizationService;
+        this.inventoryProperties = inventoryProperties;
+        this.failedEntries = Counter.builder("inventory.ledger.write.failures").register(meterRegistry);
+        this.correctedItems = Counter.builder("inventory.ledger.drift.corrections").register(meterRegistry);
+    }
+
+    /**
+     * Gives items created before the ledger existed an opening balance equal to their current quantity.
+     */
+    @PostConstruct
+    public void openMissingLedgers() {
+        int opened = 0;
+        Optional<InventoryItem> item;
+        while ((item = inventoryItemRepository.claimUnopenedLedger()).isPresent()) {
+            InventoryItem claimed = item.get();
+            record(claimed.getId(), claimed.getAvailableQuantity(), claimed.getAvailableQuantity(), OPENING_BALANCE, SYSTEM_ACTOR);
+            opened++;
+        }
+        if (opened > 0) {
+            logger.info("Recorded opening ledger balances for {} inventory items", opened);
+        }
+    }
+
+    public void record(String itemId, int delta, Integer quantityAfter, String reason, String actor) {
+        if (delta == 0 && !OPENING_BALANCE.equals(reason) && !CREATE.equals(reason) && !IMPORT.equals(reason)) {
+            return;
+        }
+        recordAll(List.of(entry(itemId, delta, quantityAfter, reason, actor)));
+    }
+
+    public QuantityLedgerEntry entry(String itemId, int delta, Integer quantityAfter, String reason, String actor) {
+        return new QuantityLedgerEntry(itemId, delta, quantityAfter, reason, actor, MDC.get("requestId"), LocalDateTime.now());
+    }
+
+    /**
+     * The quantity change has already been applied when this runs, so a ledger write failure is not surfaced to
+     * a caller whose update succeeded; the items are flagged for {@link #reconcileDrift()} instead.
+     */
+    public void recordAll(List<QuantityLedgerEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            ledgerRepository.insert(entries);
+        } catch (RuntimeException e) {
+            failedEntries.increment(entries.size());
+            logger.error("Failed to record {} quantity ledger entries: {}", entries.size(), e.getMessage());
+            markDrift(entries);
+        }
+    }
+
+    /**
+     * Books the difference between a flagged item's quantity and its ledger sum as a correcting entry. Only items
+     * unchanged for the settle window are checked, and the flag is cleared against the version that was read, so a
+     * change whose entry is still in flight is never mistaken for drift.
+     */
+    @Scheduled(
+            initialDelayString = "${carousel.inventory.ledger.drift-reconcile-interval-millis:300000}",
+            fixedDelayString = "${carousel.inventory.ledger.drift-reconcile-interval-millis:300000}"
+    )
+    public void reconcileDrift() {
+        InventoryProperties.Ledger settings = inventoryProperties.getLedger();
+        LocalDateTime settledBefore = LocalDateTime.now().minusSeconds(settings.getSnapshotSettleSeconds());
+        List<InventoryItem> drifted = inventoryItemRepository.findLedgerDrift(settledBefore, Math.max(1, settings.getDriftReconcileBatchSize()));
+
+        int corrected = 0;
+        for (InventoryItem item : drifted) {
+            long drift = item.getAvailableQuantity() - ledgerRepository.sumDeltas(item.getId(), null, LocalDateTime.now());
+            if (!inventoryItemRepository.clearLedgerDrift(item.getId(), item.getVersion())) {
+                // Changed since it was read; the next run looks at it again
+                continue;
+            }
+            if (drift != 0) {
+                recordAll(List.of(entry(item.getId(), Math.toIntExact(drift), item.getAvailableQuantity(), RECONCILE, SYSTEM_ACTOR)));
+                correctedItems.increment();
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            logger.warn("Corrected the quantity ledger of {} inventory items", corrected);
+        }
+    }
+
+    public QuantityAsOf getQuantityAsOf(String itemId, String asOf, String requesterEmail) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+
+        LocalDateTime timestamp = parseTimestamp(asOf);
+        Optional<QuantitySnapshot> snapshot = snapshotRepository.findFirstByItemIdAndTakenAtLessThanEqualOrderByTakenAtDesc(itemId, timestamp);
+        LocalDateTime replayFrom = snapshot.map(QuantitySnapshot::getTakenAt).orElse(null);
+        long base = snapshot.map(QuantitySnapshot::getQuantity).orElse(0L);
+        long quantity = base + ledgerRepository.sumDeltas(itemId, replayFrom, timestamp);
+        return new QuantityAsOf(itemId, timestamp, quantity, replayFrom);
+    }
+
+    public List<QuantityLedgerEntryDto> getLedger(String itemId, Integer limit, String requesterEmail) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+
+        int maxEntries = inventoryProperties.getLedger().getMaxHistoryEntries();
+        int size = limit == null ? maxEntries : limit;
+        if (size < 1 || size > maxEntries) {
+            throw new RuntimeException("Page size must be between 1 and " + maxEntries);
+        }
+        return ledgerRepository.findByItemIdOrderByRecordedAtDesc(itemId, PageRequest.of(0, size)).stream()
+                .map(entry -> new QuantityLedgerEntryDto(
+                        entry.getItemId(),
+                        entry.getDelta(),
+                        entry.getQuantityAfter(),
+                        entry.getReason(),
+                        entry.getActor(),
+                        entry.getRequestId(),
+                        entry.getRecordedAt()
+                ))
+                .toList();
+    }
+
+    /**
+     * Rolls every item changed since the previous compaction forward into a new snapshot. The cutoff trails
+     * the clock by a settle window so entries still in flight are not left behind a snapshot, and is rounded
+     * down to the snapshot interval, so instances running in the same interval pick the same cutoff and the
+     * unique index collapses their snapshots.
+     */
+    @Scheduled(
+            initialDelayString = "${carousel.inventory.ledger.snapshot-interval-millis:3600000}",
+            fixedDelayString = "${carousel.inventory.ledger.snapshot-interval-millis:3600000}"
+    )
+    public void compactSnapshots() {
+        InventoryProperties.Ledger settings = inventoryProperties.getLedger();
+        LocalDateTime cutoff = alignDown(LocalDateTime.now().minusSeconds(settings.getSnapshotSettleSeconds()),
+                settings.getSnapshotIntervalMillis());
+        LocalDateTime previousCutoff = snapshotRepository.findFirstByOrderByTakenAtDesc()
+                .map(QuantitySnapshot::getTakenAt)
+                .orElse(null);
+        if (previousCutoff != null && !cutoff.isAfter(previousCutoff)) {
+            return;
+        }
+
+        Map<String, Long> windowTotals = ledgerRepository.sumDeltasByItem(previousCutoff, cutoff);
+        List<QuantitySnapshot> snapshots = new ArrayList<>(windowTotals.size());
+        windowTotals.forEach((itemId, windowTotal) -> {
+            // The item's own snapshot can be older than the previous cutoff if that run did not get to write it
+            long base = previousCutoff == null
+                    ? 0
+                    : snapshotRepository.findFirstByItemIdAndTakenAtLessThanEqualOrderByTakenAtDesc(itemId, previousCutoff)
+                            .map(snapshot -> snapshot.getTakenAt().isBefore(previousCutoff)
+                                    ? snapshot.getQuantity() + ledgerRepository.sumDeltas(itemId, snapshot.getTakenAt(), previousCutoff)
+                                    : snapshot.getQuantity())
+                            .orElseGet(() -> ledgerRepository.sumDeltas(itemId, null, previousCutoff));
+            snapshots.add(new QuantitySnapshot(itemId, base + windowTotal, cutoff));
+        });
+        if (snapshots.isEmpty()) {
+            return;
+        }
+
+        long written;
+        try {
+            snapshotRepository.insert(snapshots);
+            written = snapshots.size();
+        } catch (DuplicateKeyException e) {
+            // The ordered insert stops at the first snapshot another instance already wrote; write the rest one by one
+            written = snapshots.stream().filter(this::insertIfAbsent).count();
+        }
+        logger.info("Compacted quantity ledger into {} of {} snapshots at {}", written, snapshots.size(), cutoff);
+    }
+
+    private boolean insertIfAbsent(QuantitySnapshot snapshot) {
+        try {
+            snapshotRepository.insert(snapshot);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private void markDrift(List<QuantityLedgerEntry> entries) {
+        Set<String> itemIds = entries.stream().map(QuantityLedgerEntry::getItemId).collect(Collectors.toSet());
+        try {
+            inventoryItemRepository.markLedgerDrift(itemIds);
+        } catch (RuntimeException e) {
+            logger.error("Failed to flag ledger drift for inventory items {}: {}", itemIds, e.getMessage());
+        }
+    }
+
+    private static LocalDateTime alignDown(LocalDateTime time, long intervalMillis) {
+        long epochMillis = time.toInstant(ZoneOffset.UTC).toEpochMilli();
+        long aligned = epochMillis - Math.floorMod(epochMillis, Math.max(1, intervalMillis));
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(aligned), ZoneOffset.UTC);
+    }
+
+    private LocalDateTime parseTimestamp(String value) {
+        if (value == null || value.isBlank()) {
+            return LocalDateTime.now();
+        }
+        try {
+            return LocalDateTime.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("Invalid timestamp");
+        }
+    }
+}
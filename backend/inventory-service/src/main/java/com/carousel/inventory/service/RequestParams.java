@@ -0,0 +1,16 @@
+package com.carousel.inventory.service;
+
+/**
+ * Normalization of optional request parameters shared by the item listing, search and sync services.
+ */
+final class RequestParams {
+    private RequestParams() {
+    }
+
+    /**
+     * Trimmed value, or null when the parameter was left out or blank, so an empty filter means no filter.
+     */
+    static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
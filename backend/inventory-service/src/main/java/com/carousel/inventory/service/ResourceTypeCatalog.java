@@ -0,0 +1,186 @@
+package com.carousel.inventory.service;
+
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.domain.ResourceType;
+import com.carousel.inventory.repository.ResourceTypeRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory view of the resource type hierarchy.
+ * Reads are served from an immutable, versioned snapshot; local writes swap in a new snapshot atomically,
+ * and the snapshot is reloaded from Mongo once it is older than the configured max age so that changes
+ * made by other instances are picked up.
+ */
+@Component
+public class ResourceTypeCatalog {
+    private static final long MIN_RELOAD_GAP_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final ResourceTypeRepository resourceTypeRepository;
+    private final InventoryProperties inventoryProperties;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public ResourceTypeCatalog(ResourceTypeRepository resourceTypeRepository, InventoryProperties inventoryProperties) {
+        this.resourceTypeRepository = resourceTypeRepository;
+        this.inventoryProperties = inventoryProperties;
+    }
+
+    public Snapshot current() {
+        Snapshot current = snapshot.get();
+        long maxAgeNanos = Duration.ofSeconds(inventoryProperties.getTypeCatalog().getMaxAgeSeconds()).toNanos();
+        if (current == null || current.ageNanos() >= maxAgeNanos) {
+            return reload(current);
+        }
+        return current;
+    }
+
+    /**
+     * Looks a type up by id, reloading once when it is missing in case another instance created it.
+     */
+    public Optional<ResourceType> findById(String id) {
+        Snapshot current = current();
+        ResourceType type = current.byId(id);
+        if (type == null && current.ageNanos() >= MIN_RELOAD_GAP_NANOS) {
+            type = reload(current).byId(id);
+        }
+        return Optional.ofNullable(type);
+    }
+
+    public Snapshot refresh() {
+        return reload(snapshot.get());
+    }
+
+    /**
+     * Publishes a locally saved type without going back to Mongo. The snapshot keeps its load time, so local
+     * writes do not postpone the reload that picks up changes made by other instances.
+     */
+    public void apply(ResourceType saved) {
+        snapshot.updateAndGet(current -> {
+            if (current == null) {
+                return null;
+            }
+            Map<String, ResourceType> types = new HashMap<>(current.byId);
+            types.put(saved.getId(), saved);
+            return new Snapshot(current.version + 1, current.loadedAtNanos, types.values());
+        });
+    }
+
+    private synchronized Snapshot reload(Snapshot expected) {
+        Snapshot current = snapshot.get();
+        if (current != expected) {
+            // Another caller reloaded or applied a change while this one was waiting
+            return current;
+        }
+        long version = current == null ? 1 : current.version + 1;
+        Snapshot loaded = new Snapshot(version, System.nanoTime(), resourceTypeRepository.findAll());
+        snapshot.set(loaded);
+        return loaded;
+    }
+
+    public static final class Snapshot {
+        private final long version;
+        private final long loadedAtNanos;
+        private final Map<String, ResourceType> byId;
+        private final Map<String, ResourceType> byName;
+        private final List<ResourceType> sortedByName;
+        private final String etag;
+
+        private Snapshot(long version, long loadedAtNanos, Collection<ResourceType> types) {
+            this.version = version;
+            this.loadedAtNanos = loadedAtNanos;
+
+            Map<String, ResourceType> ids = new HashMap<>();
+            Map<String, ResourceType> names = new HashMap<>();
+            List<ResourceType> sorted = new ArrayList<>();
+            long latestUpdateMillis = 0;
+            long versionSum = 0;
+            for (ResourceType type : types) {
+                ResourceType copy = copyOf(type);
+                ids.put(copy.getId(), copy);
+                if (copy.getName() != null) {
+                    names.put(normalizeName(copy.getName()), copy);
+                }
+                sorted.add(copy);
+                if (copy.getUpdatedAt() != null) {
+                    latestUpdateMillis = Math.max(latestUpdateMillis, copy.getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+                }
+                versionSum += copy.getVersion() == null ? 0 : copy.getVersion();
+            }
+            // Built from content rather than the snapshot version, so a periodic reload that finds nothing new keeps the tag
+            this.etag = "W/\"types-" + ids.size() + "-" + latestUpdateMillis + "-" + versionSum + "\"";
+            sorted.sort(Comparator.comparing(ResourceType::getName, Comparator.nullsLast(Comparator.naturalOrder())));
+
+            this.byId = Collections.unmodifiableMap(ids);
+            this.byName = Collections.unmodifiableMap(names);
+            this.sortedByName = Collections.unmodifiableList(sorted);
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        /**
+         * Returned instances are shared by all readers and must not be modified.
+         */
+        public ResourceType byId(String id) {
+            return id == null ? null : byId.get(id);
+        }
+
+        public ResourceType byName(String name) {
+            return name == null ? null : byName.get(normalizeName(name));
+        }
+
+        /**
+         * Resolves a reference that may be either a type id or a type name.
+         */
+        public ResourceType resolve(String reference) {
+            ResourceType type = byId(reference);
+            return type != null ? type : byName(reference);
+        }
+
+        public List<ResourceType> getTypesSortedByName() {
+            return sortedByName;
+        }
+
+        private long ageNanos() {
+            return System.nanoTime() - loadedAtNanos;
+        }
+
+        private static String normalizeName(String name) {
+            return name.trim().toLowerCase(Locale.ROOT);
+        }
+
+        private static ResourceType copyOf(ResourceType type) {
+            ResourceType copy = new ResourceType(
+                    type.getId(),
+                    type.getName(),
+                    type.getDescription(),
+                    type.getIcon(),
+                    type.getParentTypeId(),
+                    type.getParentTypeName(),
+                    type.getCreatedAt(),
+                    type.getUpdatedAt()
+            );
+            copy.setVersion(type.getVersion());
+            copy.setAncestorIds(type.getAncestorIds() == null ? null : List.copyOf(type.getAncestorIds()));
+            copy.setLowStockThreshold(type.getLowStockThreshold());
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.carousel.inventory.service;
+
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.domain.InventoryItem;
+import com.carousel.inventory.domain.ReservationStatus;
+import com.carousel.inventory.domain.StockReservation;
+import com.carousel.inventory.dto.StockReservationDto;
+import com.carousel.inventory.dto.StockReservationRequest;
+import com.carousel.inventory.repository.InventoryItemRepository;
+import com.carousel.inventory.repository.StockReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+public class StockReservationService {
+    private static final Logger logger = LoggerFactory.getLogger(StockReservationService.class);
+
+    private final StockReservationRepository reservationRepository;
+    private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryAuthorizationService authorizationService;
+    private final InventoryChangeHub changeHub;
+    private final QuantityLedgerService ledgerService;
+    private final LowStockAlertService lowStockAlerts;
+    private final InventoryProperties inventoryProperties;
+
+    public StockReservationService(
+            StockReservationRepository reservationRepository,
+            InventoryItemRepository inventoryItemRepository,
+            InventoryAuthorizationService authorizationService,
+            InventoryChangeHub changeHub,
+            QuantityLedgerService ledgerService,
+            LowStockAlertService lowStockAlerts,
+            InventoryProperties inventoryProperties
+    ) {
+        this.reservationRepository = reservationRepository;
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.authorizationService = authorizationService;
+        this.changeHub = changeHub;
+        this.ledgerService = ledgerService;
+        this.lowStockAlerts = lowStockAlerts;
+        this.inventoryProperties = inventoryProperties;
+    }
+
+    /**
+     * Takes the stock with a guarded decrement first and records the hold second. If the process dies in
+     * between, stock is under-reported rather than handed out twice.
+     */
+    public StockReservationDto reserve(StockReservationRequest request, String requesterEmail) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+
+        if (request == null || request.getItemId() == null || request.getItemId().isBlank()) {
+            throw new RuntimeException("Item id is required");
+        }
+        if (request.getQuantity() <= 0) {
+            throw new RuntimeException("Reservation quantity must be positive");
+        }
+        long ttlSeconds = resolveTtl(request.getTtlSeconds());
+        String itemId = request.getItemId().trim();
+        LocalDateTime now = LocalDateTime.now();
+
+        InventoryItem item = inventoryItemRepository.adjustQuantity(itemId, -request.getQuantity(), now)
+                .orElseThrow(() -> inventoryItemRepository.existsById(itemId)
+                        ? new RuntimeException("Insufficient available quantity")
+                        : new RuntimeException("Inventory item not found"));
+
+        StockReservation reservation = new StockReservation();
+        reservation.setItemId(itemId);
+        reservation.setQuantity(request.getQuantity());
+        reservation.setStatus(ReservationStatus.HELD);
+        reservation.setRequesterEmail(requesterEmail);
+        reservation.setCreatedAt(now);
+        reservation.setExpiresAt(now.plusSeconds(ttlSeconds));
+
+        StockReservation saved;
+        try {
+            saved = reservationRepository.insert(reservation);
+        } catch (RuntimeException e) {
+            inventoryItemRepository.adjustQuantity(itemId, request.getQuantity(), LocalDateTime.now());
+            throw e;
+        }
+        ledgerService.record(itemId, -request.getQuantity(), item.getAvailableQuantity(), QuantityLedgerService.RESERVE, requesterEmail);
+        lowStockAlerts.onQuantityChanged(item, item.getAvailableQuantity() + request.getQuantity());
+        changeHub.publish(InventoryChangeHub.QUANTITY_CHANGED, InventoryDtoMapper.toItemDto(item));
+        return toDto(saved);
+    }
+
+    public StockReservationDto getReservation(String reservationId, String requesterEmail) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+        return reservationRepository.findById(reservationId)
+                .map(this::toDto)
+                .orElseThrow(() -> new RuntimeException("Reservation not found"));
+    }
+
+    /**
+     * Confirming consumes the held stock; the item's available quantity is not touched again.
+     */
+    public StockReservationDto confirm(String reservationId, String requesterEmail) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+        LocalDateTime now = LocalDateTime.now();
+        StockReservation confirmed = reservationRepository.resolveHeld(reservationId, ReservationStatus.CONFIRMED, now, purgeAt(now))
+                .orElseThrow(() -> notHeld(reservationId));
+        return toDto(confirmed);
+    }
+
+    /**
+     * The hold moves to RETURNING before its stock goes back and only reaches RELEASED afterwards, so a failed
+     * return is finished by {@link #resumeStalledReturns()} instead of being lost.
+     */
+    public StockReservationDto release(String reservationId, String requesterEmail) {
+        authorizationService.ensureInventoryAccess(requesterEmail);
+        LocalDateTime now = LocalDateTime.now();
+        String runId = UUID.randomUUID().toString();
+        StockReservation released = reservationRepository.startReturn(reservationId, ReservationStatus.RELEASED, now, runId)
+                .orElseThrow(() -> notHeld(reservationId));
+        returnStock(List.of(released), runId, QuantityLedgerService.RELEASE, requesterEmail, now);
+        released.setStatus(ReservationStatus.RELEASED);
+        released.setPurgeAt(purgeAt(now));
+        return toDto(released);
+    }
+
+    /**
+     * Returns the stock of expired holds, one batch per pass, until no expired hold is left.
+     * Claims are made with a status-guarded multi update, so concurrent reapers on other instances
+     * never return the same hold twice.
+     */
+    @Scheduled(fixedDelayString = "${carousel.inventory.reservations.reaper-interval-millis:15000}")
+    public void reapExpiredReservations() {
+        int batchSize = Math.max(1, inventoryProperties.getReservations().getReaperBatchSize());
+        long claimed;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            String runId = UUID.randomUUID().toString();
+            claimed = reservationRepository.claimExpired(now, batchSize, runId);
+            if (claimed > 0) {
+                returnStock(reservationRepository.findByReturnRunIdAndStatus(runId, ReservationStatus.RETURNING), runId,
+                        QuantityLedgerService.RESERVATION_EXPIRED, QuantityLedgerService.SYSTEM_ACTOR, now);
+            }
+        } while (claimed >= batchSize);
+    }
+
+    /**
+     * Finishes returns whose run failed or died before resolving its holds. The run id doubles as the
+     * marker on each item, so stock a run already gave back is not given back again.
+     */
+    @Scheduled(fixedDelayString = "${carousel.inventory.reservations.reaper-interval-millis:15000}")
+    public void resumeStalledReturns() {
+        InventoryProperties.Reservations reservations = inventoryProperties.getReservations();
+        LocalDateTime startedBefore = LocalDateTime.now().minusSeconds(reservations.getReturnLeaseSeconds());
+        Map<String, List<StockReservation>> runs = new LinkedHashMap<>();
+        reservationRepository.findStalledReturns(startedBefore, Math.max(1, reservations.getReaperBatchSize()))
+                .forEach(reservation -> runs.computeIfAbsent(reservation.getReturnRunId(), runId -> new ArrayList<>()).add(reservation));
+        runs.forEach((runId, holds) -> {
+            String reason = holds.get(0).getResolution() == ReservationStatus.RELEASED
+                    ? QuantityLedgerService.RELEASE
+                    : QuantityLedgerService.RESERVATION_EXPIRED;
+            try {
+                returnStock(holds, runId, reason, QuantityLedgerService.SYSTEM_ACTOR, LocalDateTime.now());
+            } catch (RuntimeException e) {
+                logger.warn("Resuming stock return {} failed and will be retried: {}", runId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Gives the stock of returning holds back, then resolves them. Ledger entries and change events are only
+     * written for items whose adjustment was applied; a hold whose item is gone is resolved without one.
+     */
+    private void returnStock(List<StockReservation> holds, String runId, String ledgerReason, String actor, LocalDateTime now) {
+        if (holds.isEmpty()) {
+            return;
+        }
+        ReservationStatus resolution = holds.get(0).getResolution();
+        Map<String, Integer> returned = new LinkedHashMap<>();
+        holds.forEach(reservation -> returned.merge(reservation.getItemId(), reservation.getQuantity(), Integer::sum));
+        Set<String> rejected = inventoryItemRepository.bulkAdjustQuantities(returned, runId, now);
+        reservationRepository.finishReturn(runId, resolution, purgeAt(now));
+        inventoryItemRepository.clearAppliedBatch(returned.keySet(), runId);
+
+        List<String> applied = returned.keySet().stream()
+                .filter(itemId -> !rejected.contains(itemId))
+                .toList();
+        if (!rejected.isEmpty()) {
+            logger.warn("Could not return stock of {} reservations to missing items {}", resolution, rejected);
+        }
+        ledgerService.recordAll(holds.stream()
+                .filter(reservation -> !rejected.contains(reservation.getItemId()))
+                .map(reservation -> ledgerService.entry(reservation.getItemId(), reservation.getQuantity(), null, ledgerReason, actor))
+                .toList());
+        inventoryItemRepository.findAllById(applied)
+                .forEach(item -> changeHub.publish(InventoryChangeHub.QUANTITY_CHANGED, InventoryDtoMapper.toItemDto(item)));
+        logger.info("Returned stock for {} {} reservations across {} items", holds.size(), resolution, applied.size());
+    }
+
+    private RuntimeException notHeld(String reservationId) {
+        return reservationRepository.existsById(reservationId)
+                ? new RuntimeException("Reservation is no longer held")
+                : new RuntimeException("Reservation not found");
+    }
+
+    private long resolveTtl(Long ttlSeconds) {
+        InventoryProperties.Reservations reservations = inventoryProperties.getReservations();
+        if (ttlSeconds == null) {
+            return reservations.getDefaultTtlSeconds();
+        }
+        if (ttlSeconds < 1 || ttlSeconds > reservations.getMaxTtlSeconds()) {
+            throw new RuntimeException("Reservation TTL must be between 1 and " + reservations.getMaxTtlSeconds() + " seconds");
+        }
+        return ttlSeconds;
+    }
+
+    private LocalDateTime purgeAt(LocalDateTime resolvedAt) {
+        return resolvedAt.plusDays(inventoryProperties.getReservations().getRetentionDays());
+    }
+
+    private StockReservationDto toDto(StockReservation reservation) {
+        return new StockReservationDto(
+                reservation.getId(),
+                reservation.getItemId(),
+                reservation.getQuantity(),
+                reservation.getStatus().name(),
+                reservation.getCreatedAt(),
+                reservation.getExpiresAt(),
+                reservation.getResolvedAt()
+        );
+    }
+}
@@ -0,0 +1,22 @@
+package com.carousel.inventory.service;
+
+/**
+ * A response body together with the entity tag computed from the same state, so the two cannot drift apart.
+ */
+public final class Tagged<T> {
+    private final T value;
+    private final String etag;
+
+    public Tagged(T value, String etag) {
+        this.value = value;
+        this.etag = etag;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+}
@@ -0,0 +1,187 @@
+package com.carousel.inventory.service;
+
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.domain.ResourceType;
+import com.carousel.inventory.repository.InventoryItemRepository;
+import com.carousel.inventory.repository.ResourceTypeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Maintains the materialized ancestor paths of the resource type tree.
+ * Every type stores the ids above it and every item stores the ids of all types it falls under, so
+ * "everything under Metal" is one indexed equality match instead of a recursive walk per request.
+ */
+@Service
+public class TypeHierarchyService {
+    private static final Logger logger = LoggerFactory.getLogger(TypeHierarchyService.class);
+
+    private final ResourceTypeRepository resourceTypeRepository;
+    private final InventoryItemRepository inventoryItemRepository;
+    private final ResourceTypeCatalog typeCatalog;
+    private final InventoryProperties inventoryProperties;
+
+    public TypeHierarchyService(
+            ResourceTypeRepository resourceTypeRepository,
+            InventoryItemRepository inventoryItemRepository,
+            ResourceTypeCatalog typeCatalog,
+            InventoryProperties inventoryProperties
+    ) {
+        this.resourceTypeRepository = resourceTypeRepository;
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.typeCatalog = typeCatalog;
+        this.inventoryProperties = inventoryProperties;
+    }
+
+    static List<String> ancestorsOf(ResourceType type) {
+        return type.getAncestorIds() == null ? List.of() : type.getAncestorIds();
+    }
+
+    /**
+     * Ids from the root down to and including the type itself.
+     */
+    static List<String> pathOf(ResourceType type) {
+        List<String> path = new ArrayList<>(ancestorsOf(type));
+        path.add(type.getId());
+        return path;
+    }
+
+    /**
+     * True when {@code ancestorId} is anywhere above the type. The direct parent is checked as well so that a
+     * type written before its path was backfilled still resolves.
+     */
+    static boolean isUnder(ResourceType type, String ancestorId) {
+        return ancestorId.equals(type.getParentTypeId()) || ancestorsOf(type).contains(ancestorId);
+    }
+
+    /**
+     * Rejects moving {@code type} under {@code newParent} when that would close a loop.
+     */
+    void ensureNoCycle(ResourceType type, ResourceType newParent) {
+        if (newParent.getId().equals(type.getId())) {
+            throw new RuntimeException("Type cannot be parent of itself");
+        }
+        if (isUnder(newParent, type.getId())) {
+            throw new RuntimeException("Type cannot be moved under its own descendant");
+        }
+    }
+
+    /**
+     * Runs a move while holding the tree-wide move lease. The versioned save only covers the moved type, so two
+     * moves that each pass {@link #ensureNoCycle} against the other's old path (A under B while B goes under A)
+     * would otherwise both be saved. The move must read the new parent only once the lease is held. A busy lease
+     * is reported as an optimistic conflict so the caller's retry policy backs off and tries again.
+     */
+    <T> T withMoveLock(Supplier<T> move) {
+        String owner = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plusSeconds(Math.max(1, inventoryProperties.getTypeCatalog().getMoveLeaseSeconds()));
+        if (!resourceTypeRepository.acquireMoveLock(owner, now, leaseUntil)) {
+            throw new OptimisticLockingFailureException("Another resource type move is in progress");
+        }
+        try {
+            return move.get();
+        } finally {
+            resourceTypeRepository.releaseMoveLock(owner);
+        }
+    }
+
+    public List<ResourceType> getDescendants(String typeId) {
+        ResourceTypeCatalog.Snapshot snapshot = typeCatalog.current();
+        if (snapshot.byId(typeId) == null) {
+            typeCatalog.findById(typeId).orElseThrow(() -> new RuntimeException("Resource type not found"));
+            snapshot = typeCatalog.current();
+        }
+        return snapshot.getTypesSortedByName().stream()
+                .filter(type -> ancestorsOf(type).contains(typeId))
+                .toList();
+    }
+
+    /**
+     * Rewrites the paths below a type that was just saved under a new parent: first the descendant types,
+     * then the items of the moved type and of each descendant, one multi-document update per type.
+     */
+    void propagateMove(ResourceType moved, LocalDateTime updatedAt) {
+        List<String> movedPath = pathOf(moved);
+        List<ResourceType> subtree = new ArrayList<>();
+        subtree.add(moved);
+        for (ResourceType descendant : resourceTypeRepository.findByAncestorIds(moved.getId())) {
+            List<String> previous = ancestorsOf(descendant);
+            List<String> rebased = new ArrayList<>(movedPath);
+            rebased.addAll(previous.subList(previous.indexOf(moved.getId()) + 1, previous.size()));
+            resourceTypeRepository.setAncestorIds(descendant.getId(), rebased, false);
+            descendant.setAncestorIds(rebased);
+            subtree.add(descendant);
+        }
+
+        String rootId = movedPath.get(0);
+        String rootName = rootId.equals(moved.getId())
+                ? moved.getName()
+                : typeCatalog.findById(rootId).map(ResourceType::getName).orElse(null);
+        long itemsUpdated = 0;
+        for (ResourceType type : subtree) {
+            itemsUpdated += inventoryItemRepository.retagTypePath(type.getId(), pathOf(type), rootId, rootName, updatedAt);
+        }
+        typeCatalog.refresh();
+        logger.info("Moved type {} with {} descendant types and {} items", moved.getId(), subtree.size() - 1, itemsUpdated);
+    }
+
+    /**
+     * Gives types and items written before paths existed their paths. Only documents without a path are touched,
+     * so running this on every start and on several instances at once is safe.
+     */
+    public void backfillPaths() {
+        List<ResourceType> types = resourceTypeRepository.findAll();
+        Map<String, ResourceType> byId = new HashMap<>();
+        types.forEach(type -> byId.put(type.getId(), type));
+
+        long typesUpdated = 0;
+        for (ResourceType type : types) {
+            if (type.getAncestorIds() == null) {
+                type.setAncestorIds(walkAncestors(type, byId));
+                typesUpdated += resourceTypeRepository.setAncestorIds(type.getId(), type.getAncestorIds(), true);
+            }
+        }
+
+        long itemsUpdated = 0;
+        for (ResourceType type : types) {
+            itemsUpdated += inventoryItemRepository.backfillTypePath(type.getId(), pathOf(type));
+        }
+
+        if (typesUpdated > 0) {
+            typeCatalog.refresh();
+        }
+        if (typesUpdated > 0 || itemsUpdated > 0) {
+            logger.info("Backfilled type paths on {} types and {} items", typesUpdated, itemsUpdated);
+        }
+    }
+
+    private List<String> walkAncestors(ResourceType type, Map<String, ResourceType> byId) {
+        List<String> ancestors = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        seen.add(type.getId());
+        ResourceType parent = byId.get(type.getParentTypeId());
+        while (parent != null && seen.add(parent.getId())) {
+            ancestors.add(parent.getId());
+            parent = byId.get(parent.getParentTypeId());
+        }
+        if (parent != null) {
+            logger.warn("Type {} has a cyclic parent chain; its path stops before the loop", type.getId());
+        }
+        Collections.reverse(ancestors);
+        return ancestors;
+    }
+}
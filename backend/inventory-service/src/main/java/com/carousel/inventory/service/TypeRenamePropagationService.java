@@ -0,0 +1,128 @@
+package com.carousel.inventory.service;
+
+import com.carousel.inventory.domain.ResourceType;
+import com.carousel.inventory.dto.RenamePropagationStatus;
+import com.carousel.inventory.repository.InventoryItemRepository;
+import com.carousel.inventory.repository.ResourceTypeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Copies a renamed type's name onto the documents that denormalize it (items and child types).
+ * The rename is recorded on the type itself, so the work is resumable: it is started on the scheduler right
+ * after the save, and a periodic sweep picks up every type whose rename has not finished, whether its run
+ * failed or the service restarted before it got to it. Each step is a single server-side updateMulti that
+ * skips documents already carrying the current name, and runs are serialized, so the last name always wins.
+ */
+@Service
+public class TypeRenamePropagationService {
+    private static final Logger logger = LoggerFactory.getLogger(TypeRenamePropagationService.class);
+    private static final int TOTAL_STEPS = 3;
+
+    private final InventoryItemRepository inventoryItemRepository;
+    private final ResourceTypeRepository resourceTypeRepository;
+    private final ResourceTypeCatalog typeCatalog;
+    private final TaskScheduler taskScheduler;
+    private final Map<String, PropagationJob> jobs = new ConcurrentHashMap<>();
+
+    public TypeRenamePropagationService(
+            InventoryItemRepository inventoryItemRepository,
+            ResourceTypeRepository resourceTypeRepository,
+            ResourceTypeCatalog typeCatalog,
+            TaskScheduler taskScheduler
+    ) {
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.resourceTypeRepository = resourceTypeRepository;
+        this.typeCatalog = typeCatalog;
+        this.taskScheduler = taskScheduler;
+    }
+
+    /**
+     * Starts copying the name of a type that was saved with its rename marked pending.
+     */
+    public RenamePropagationStatus propagate(ResourceType renamed) {
+        PropagationJob job = new PropagationJob(renamed.getId(), renamed.getName());
+        jobs.put(job.typeId, job);
+        taskScheduler.schedule(this::resumePending, Instant.now());
+        return job.toStatus();
+    }
+
+    public RenamePropagationStatus getStatus(String typeId) {
+        PropagationJob job = jobs.get(typeId);
+        if (job == null) {
+            throw new RuntimeException("Rename propagation not found");
+        }
+        return job.toStatus();
+    }
+
+    @Scheduled(
+            initialDelayString = "${carousel.inventory.type-catalog.rename-retry-interval-millis:60000}",
+            fixedDelayString = "${carousel.inventory.type-catalog.rename-retry-interval-millis:60000}"
+    )
+    public synchronized void resumePending() {
+        for (ResourceType type : resourceTypeRepository.findByRenamePendingTrue()) {
+            run(type);
+        }
+    }
+
+    private void run(ResourceType type) {
+        PropagationJob job = jobs.compute(type.getId(), (typeId, current) ->
+                current != null && current.typeName.equals(type.getName()) ? current : new PropagationJob(typeId, type.getName()));
+        job.state = "RUNNING";
+        job.completedSteps = 0;
+        job.itemsUpdated = 0;
+        job.message = null;
+        job.finishedAt = null;
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            job.itemsUpdated += inventoryItemRepository.renameResourceType(job.typeId, job.typeName, now);
+            job.completedSteps++;
+            job.itemsUpdated += inventoryItemRepository.renameResourceSubType(job.typeId, job.typeName, now);
+            job.completedSteps++;
+            job.childTypesUpdated = resourceTypeRepository.renameParentType(job.typeId, job.typeName, now);
+            job.completedSteps++;
+            if (job.childTypesUpdated > 0) {
+                typeCatalog.refresh();
+            }
+            // Renamed again meanwhile: the flag stays set and the next run copies the newer name
+            resourceTypeRepository.clearRenamePending(job.typeId, job.typeName);
+            job.state = "COMPLETED";
+        } catch (RuntimeException e) {
+            logger.warn("Rename propagation for type {} failed and will be retried: {}", job.typeId, e.getMessage());
+            job.message = e.getMessage();
+            job.state = "FAILED";
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    private static final class PropagationJob {
+        private final String typeId;
+        private final String typeName;
+        private final LocalDateTime requestedAt = LocalDateTime.now();
+        private volatile String state = "QUEUED";
+        private volatile int completedSteps;
+        private volatile long itemsUpdated;
+        private volatile long childTypesUpdated;
+        private volatile LocalDateTime finishedAt;
+        private volatile String message;
+
+        private PropagationJob(String typeId, String typeName) {
+            this.typeId = typeId;
+            this.typeName = typeName;
+        }
+
+        private RenamePropagationStatus toStatus() {
+            return new RenamePropagationStatus(typeId, typeName, state, completedSteps, TOTAL_STEPS,
+                    itemsUpdated, childTypesUpdated, requestedAt, finishedAt, message);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.carousel.inventory;
+
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.domain.IdempotencyRecord;
+import com.carousel.inventory.dto.InventoryItemDto;
+import com.carousel.inventory.dto.QuantityAdjustmentRequest;
+import com.carousel.inventory.repository.IdempotencyRecordRepository;
+import com.carousel.inventory.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRecordRepository recordRepository;
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    public void setUp() {
+        idempotencyService = new IdempotencyService(recordRepository, new InventoryProperties(), new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    public void retryWithSameKeyReturnsOriginalResponseWithoutRunningAgain() {
+        QuantityAdjustmentRequest request = adjustment(-3);
+        AtomicInteger applied = new AtomicInteger();
+        when(recordRepository.complete(anyString(), anyString(), anyString(), any(LocalDateTime.class))).thenReturn(true);
+
+        InventoryItemDto first = idempotencyService.execute("scan-1", "scanner@example.com", "PATCH /items/item-1/quantity",
+                request, InventoryItemDto.class, () -> item(applied.incrementAndGet()));
+        InventoryItemDto retried = idempotencyService.execute("scan-1", "Scanner@example.com ", "PATCH /items/item-1/quantity",
+                request, InventoryItemDto.class, () -> item(applied.incrementAndGet()));
+
+        assertEquals(1, applied.get());
+        assertEquals(first.getAvailableQuantity(), retried.getAvailableQuantity());
+        verify(recordRepository, times(1)).insert(any(IdempotencyRecord.class));
+        verify(recordRepository).complete(anyString(), anyString(), anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void completedRecordFromAnotherInstanceIsReplayedAndReuseWithDifferentBodyIsRejected() {
+        QuantityAdjustmentRequest request = adjustment(-3);
+        AtomicInteger applied = new AtomicInteger();
+        ArgumentCaptor<IdempotencyRecord> claim = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        when(recordRepository.insert(claim.capture()))
+                .thenReturn(null)
+                .thenThrow(new DuplicateKeyException("duplicate"));
+
+        idempotencyService.execute("scan-2", "scanner@example.com", "PATCH /items/item-1/quantity",
+                request, InventoryItemDto.class, () -> item(applied.incrementAndGet()));
+
+        IdempotencyRecord stored = claim.getAllValues().get(0);
+        stored.setCompleted(true);
+        stored.setResponseBody("{\"id\":\"item-1\",\"availableQuantity\":41}");
+        stored.setExpiresAt(LocalDateTime.now().plusHours(1));
+        when(recordRepository.findById(stored.getId())).thenReturn(Optional.of(stored));
+
+        IdempotencyService otherInstance = new IdempotencyService(recordRepository, new InventoryProperties(), new ObjectMapper().findAndRegisterModules());
+        InventoryItemDto replayed = otherInstance.execute("scan-2", "scanner@example.com", "PATCH /items/item-1/quantity",
+                request, InventoryItemDto.class, () -> item(applied.incrementAndGet()));
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> otherInstance.execute("scan-2", "scanner@example.com",
+                "PATCH /items/item-1/quantity", adjustment(5), InventoryItemDto.class, () -> item(applied.incrementAndGet())));
+
+        assertEquals(1, applied.get());
+        assertEquals(41, replayed.getAvailableQuantity());
+        assertEquals("Idempotency-Key was already used for a different request", ex.getMessage());
+    }
+
+    @Test
+    public void rejectedMutationReleasesOnlyItsOwnClaimSoRetryRunsAgain() {
+        ArgumentCaptor<IdempotencyRecord> claim = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        when(recordRepository.insert(claim.capture())).thenReturn(null);
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> idempotencyService.execute("scan-3", "scanner@example.com",
+                "PATCH /items/item-1/quantity", adjustment(-50), InventoryItemDto.class, () -> {
+                    throw new RuntimeException("Available quantity cannot be negative");
+                }));
+
+        assertEquals("Available quantity cannot be negative", ex.getMessage());
+        IdempotencyRecord stored = claim.getValue();
+        verify(recordRepository).release(stored.getId(), stored.getClaimToken());
+        verify(recordRepository, never()).deleteById(anyString());
+        verify(recordRepository, never()).complete(anyString(), anyString(), anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void failureWithUnknownOutcomeKeepsKeyAndRefusesRetry() {
+        ArgumentCaptor<IdempotencyRecord> claim = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        when(recordRepository.insert(claim.capture()))
+                .thenReturn(null)
+                .thenThrow(new DuplicateKeyException("duplicate"));
+        AtomicInteger applied = new AtomicInteger();
+
+        assertThrows(DataAccessResourceFailureException.class, () -> idempotencyService.execute("scan-4", "scanner@example.com",
+                "POST /items/item-1/transfers", adjustment(-3), InventoryItemDto.class, () -> {
+                    applied.incrementAndGet();
+                    throw new DataAccessResourceFailureException("connection reset");
+                }));
+
+        IdempotencyRecord stored = claim.getAllValues().get(0);
+        verify(recordRepository).markFailed(eq(stored.getId()), eq(stored.getClaimToken()), any(LocalDateTime.class));
+        verify(recordRepository, never()).release(anyString(), anyString());
+
+        stored.setFailed(true);
+        stored.setExpiresAt(LocalDateTime.now().plusHours(1));
+        when(recordRepository.findById(stored.getId())).thenReturn(Optional.of(stored));
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> idempotencyService.execute("scan-4", "scanner@example.com",
+                "POST /items/item-1/transfers", adjustment(-3), InventoryItemDto.class, () -> item(applied.incrementAndGet())));
+
+        assertEquals(1, applied.get());
+        assertEquals("Request with this Idempotency-Key failed with an unknown outcome", ex.getMessage());
+    }
+
+    private QuantityAdjustmentRequest adjustment(int delta) {
+        QuantityAdjustmentRequest request = new QuantityAdjustmentRequest();
+        request.setQuantityDelta(delta);
+        return request;
+    }
+
+    private InventoryItemDto item(int appliedCount) {
+        return new InventoryItemDto("item-1", "Round Diamond", "Brilliant cut", "type-1", "Stone", null, null, 45 - appliedCount * 3);
+    }
+}
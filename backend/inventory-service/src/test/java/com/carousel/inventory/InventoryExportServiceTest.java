@@ -0,0 +1,119 @@
+package com.carousel.inventory;
+
+import com.carousel.inventory.client.RoleServiceClient;
+import com.carousel.inventory.client.UserServiceClient;
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.domain.InventoryItem;
+import com.carousel.inventory.dto.UserDto;
+import com.carousel.inventory.repository.InventoryItemRepository;
+import com.carousel.inventory.service.AuthorizationCache;
+import com.carousel.inventory.service.InventoryAuthorizationService;
+import com.carousel.inventory.service.InventoryExportService;
+import com.carousel.inventory.service.ItemFileFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class InventoryExportServiceTest {
+
+    @Mock
+    private InventoryItemRepository inventoryItemRepository;
+
+    @Mock
+    private RoleServiceClient roleServiceClient;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    private InventoryExportService exportService;
+
+    @BeforeEach
+    public void setUp() {
+        InventoryAuthorizationService authorizationService = new InventoryAuthorizationService(
+                userServiceClient,
+                roleServiceClient,
+                new AuthorizationCache(new InventoryProperties(), new SimpleMeterRegistry())
+        );
+        exportService = new InventoryExportService(
+                inventoryItemRepository,
+                authorizationService,
+                new InventoryProperties(),
+                new ObjectMapper()
+        );
+    }
+
+    @Test
+    public void csvExportQuotesFieldsContainingSeparators() throws Exception {
+        InventoryItem item = new InventoryItem();
+        item.setId("item-1");
+        item.setName("Ring, gold");
+        item.setDescription("18k \"classic\"");
+        item.setResourceTypeId("type-1");
+        item.setResourceTypeName("Metal");
+        item.setAvailableQuantity(4);
+
+        allowInventoryUser();
+        when(inventoryItemRepository.streamAll(anyInt())).thenReturn(Stream.of(item));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportItems("inventory.user@example.com", ItemFileFormat.CSV).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("item-1,\"Ring, gold\",\"18k \"\"classic\"\"\",type-1,Metal,,,4", lines[1]);
+    }
+
+    @Test
+    public void ndjsonExportWritesOneDocumentPerLine() throws Exception {
+        InventoryItem first = new InventoryItem();
+        first.setId("item-1");
+        first.setName("Amethyst");
+        InventoryItem second = new InventoryItem();
+        second.setId("item-2");
+        second.setName("Beryl");
+
+        allowInventoryUser();
+        when(inventoryItemRepository.streamAll(anyInt())).thenReturn(Stream.of(first, second));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportItems("inventory.user@example.com", ItemFileFormat.NDJSON).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Beryl", new ObjectMapper().readTree(lines[1]).get("name").asText());
+    }
+
+    @Test
+    public void exportIsAuthorizedBeforeStreaming() {
+        when(userServiceClient.getUserByEmail("viewer@example.com"))
+                .thenReturn(new UserDto("3", "View", "Only", "viewer@example.com", "User"));
+        when(roleServiceClient.getRolesForUser("viewer@example.com")).thenReturn(List.of("ReadOnly"));
+
+        assertThrows(RuntimeException.class,
+                () -> exportService.exportItems("viewer@example.com", ItemFileFormat.NDJSON));
+        verify(inventoryItemRepository, never()).streamAll(anyInt());
+    }
+
+    private void allowInventoryUser() {
+        when(userServiceClient.getUserByEmail("inventory.user@example.com"))
+                .thenReturn(new UserDto("2", "Inventory", "User", "inventory.user@example.com", "User"));
+        when(roleServiceClient.getRolesForUser("inventory.user@example.com")).thenReturn(List.of("InventoryUser"));
+    }
+}
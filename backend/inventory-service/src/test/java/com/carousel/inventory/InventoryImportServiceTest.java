@@ -0,0 +1,168 @@
+package com.carousel.inventory;
+
+import com.carousel.inventory.client.RoleServiceClient;
+import com.carousel.inventory.client.UserServiceClient;
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.domain.InventoryItem;
+import com.carousel.inventory.domain.ResourceType;
+import com.carousel.inventory.dto.UserDto;
+import com.carousel.inventory.repository.InventoryItemRepository;
+import com.carousel.inventory.repository.QuantityLedgerRepository;
+import com.carousel.inventory.repository.QuantitySnapshotRepository;
+import com.carousel.inventory.repository.ResourceTypeRepository;
+import com.carousel.inventory.service.AuthorizationCache;
+import com.carousel.inventory.service.InventoryAuthorizationService;
+import com.carousel.inventory.service.InventoryChangeHub;
+import com.carousel.inventory.service.InventoryImportService;
+import com.carousel.inventory.service.ItemFileFormat;
+import com.carousel.inventory.service.QuantityLedgerService;
+import com.carousel.inventory.service.ResourceTypeCatalog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.BulkOperationException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class InventoryImportServiceTest {
+
+    @Mock
+    private InventoryItemRepository inventoryItemRepository;
+
+    @Mock
+    private QuantityLedgerRepository ledgerRepository;
+
+    @Mock
+    private QuantitySnapshotRepository snapshotRepository;
+
+    @Mock
+    private ResourceTypeRepository resourceTypeRepository;
+
+    @Mock
+    private RoleServiceClient roleServiceClient;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    private InventoryImportService importService;
+    private InventoryProperties inventoryProperties;
+
+    @BeforeEach
+    public void setUp() {
+        InventoryAuthorizationService authorizationService = new InventoryAuthorizationService(
+                userServiceClient,
+                roleServiceClient,
+                new AuthorizationCache(new InventoryProperties(), new SimpleMeterRegistry())
+        );
+        inventoryProperties = new InventoryProperties();
+        importService = new InventoryImportService(
+                inventoryItemRepository,
+                new ResourceTypeCatalog(resourceTypeRepository, inventoryProperties),
+                authorizationService,
+                inventoryProperties,
+                new ObjectMapper(),
+                new InventoryChangeHub(inventoryProperties),
+                new QuantityLedgerService(ledgerRepository, snapshotRepository, inventoryItemRepository, authorizationService, inventoryProperties, new SimpleMeterRegistry())
+        );
+
+        when(userServiceClient.getUserByEmail("inventory.user@example.com"))
+                .thenReturn(new UserDto("2", "Inventory", "User", "inventory.user@example.com", "User"));
+        when(roleServiceClient.getRolesForUser("inventory.user@example.com")).thenReturn(List.of("InventoryUser"));
+        when(resourceTypeRepository.findAll()).thenReturn(List.of(type("type-1", "Metal", null), type("sub-1", "Gold", "type-1")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void csvImportWritesValidRowsInBatchesAndReportsRowErrors() {
+        inventoryProperties.getBulkImport().setBatchSize(2);
+        String csv = "name,description,resourceType,resourceSubType,availableQuantity\n"
+                + "Ring,\"Plain, polished\",metal,Gold,3\n"
+                + "Chain,Link chain,Metal,,-1\n"
+                + "Clasp,Lobster clasp,Stone,,1\n"
+                + "Wire,Round wire,type-1,sub-1,\n";
+
+        var report = importService.importItems("inventory.user@example.com", stream(csv), ItemFileFormat.CSV);
+
+        assertEquals(4, report.getTotalRows());
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals(3, report.getErrors().get(0).getRow());
+        assertEquals("Available quantity cannot be negative", report.getErrors().get(0).getMessage());
+        assertEquals("Resource type not found", report.getErrors().get(1).getMessage());
+
+        ArgumentCaptor<List<InventoryItem>> batches = ArgumentCaptor.forClass(List.class);
+        verify(inventoryItemRepository, times(2)).insert(batches.capture());
+        InventoryItem ring = batches.getAllValues().get(0).get(0);
+        assertEquals("Plain, polished", ring.getDescription());
+        assertEquals("Gold", ring.getResourceSubTypeName());
+    }
+
+    @Test
+    public void ndjsonImportReportsMalformedLines() {
+        String ndjson = "{\"name\":\"Ring\",\"description\":\"Plain\",\"resourceTypeName\":\"Metal\",\"availableQuantity\":2}\n"
+                + "not json\n";
+
+        var report = importService.importItems("inventory.user@example.com", stream(ndjson), ItemFileFormat.NDJSON);
+
+        assertEquals(1, report.getImported());
+        assertEquals(2, report.getErrors().get(0).getRow());
+        assertEquals("Malformed JSON", report.getErrors().get(0).getMessage());
+        verify(inventoryItemRepository, times(1)).insert(anyList());
+    }
+
+    @Test
+    public void partiallyWrittenBatchFailsOnlyTheRowsThatWereNotWritten() {
+        String csv = "name,description,resourceType,availableQuantity\n"
+                + "Ring,Plain,Metal,1\n"
+                + "Chain,Link chain,Metal,2\n"
+                + "Wire,Round wire,Metal,3\n";
+        MongoBulkWriteException rejected = new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()),
+                List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1)),
+                null,
+                new ServerAddress(),
+                Set.of());
+        when(inventoryItemRepository.insert(anyList()))
+                .thenThrow(new BulkOperationException("Bulk write failed", rejected));
+
+        var report = importService.importItems("inventory.user@example.com", stream(csv), ItemFileFormat.CSV);
+
+        assertEquals(1, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals(3, report.getErrors().get(0).getRow());
+        assertEquals(4, report.getErrors().get(1).getRow());
+        verify(ledgerRepository, times(1)).insert(anyList());
+    }
+
+    private ResourceType type(String id, String name, String parentTypeId) {
+        ResourceType type = new ResourceType();
+        type.setId(id);
+        type.setName(name);
+        type.setParentTypeId(parentTypeId);
+        return type;
+    }
+
+    private ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -2,26 +2,65 @@ package com.carousel.inventory;
 
 import com.carousel.inventory.client.RoleServiceClient;
 import com.carousel.inventory.client.UserServiceClient;
+import com.carousel.inventory.config.InventoryProperties;
 import com.carousel.inventory.domain.InventoryItem;
 import com.carousel.inventory.domain.ResourceType;
+import com.carousel.inventory.dto.BatchQuantityAdjustmentRequest;
 import com.carousel.inventory.dto.InventoryItemRequest;
+import com.carousel.inventory.dto.QuantityAdjustmentEntry;
+import com.carousel.inventory.dto.RenamePropagationStatus;
 import com.carousel.inventory.dto.ResourceTypeRequest;
 import com.carousel.inventory.dto.UserDto;
 import com.carousel.inventory.repository.InventoryItemRepository;
+import com.carousel.inventory.repository.InventoryItemTombstoneRepository;
+import com.carousel.inventory.repository.LocationStockRepository;
+import com.carousel.inventory.repository.QuantityLedgerRepository;
+import com.carousel.inventory.repository.QuantitySnapshotRepository;
 import com.carousel.inventory.repository.ResourceTypeRepository;
+import com.carousel.inventory.repository.StockAlertRepository;
+import com.carousel.inventory.service.AuthorizationCache;
+import com.carousel.inventory.service.InventoryAuthorizationService;
+import com.carousel.inventory.service.InventoryChangeHub;
 import com.carousel.inventory.service.InventoryManagementService;
+import com.carousel.inventory.service.ItemFields;
+import com.carousel.inventory.service.LowStockAlertService;
+import com.carousel.inventory.service.OptimisticRetryPolicy;
+import com.carousel.inventory.service.QuantityLedgerService;
+import com.carousel.inventory.service.ResourceTypeCatalog;
+import com.carousel.inventory.service.TypeHierarchyService;
+import com.carousel.inventory.service.TypeRenamePropagationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,18 +69,70 @@ public class InventoryManagementServiceTest {
     @Mock
     private ResourceTypeRepository resourceTypeRepository;
 
+    @Mock
+    private InventoryItemTombstoneRepository tombstoneRepository;
+
     @Mock
     private InventoryItemRepository inventoryItemRepository;
 
+    @Mock
+    private LocationStockRepository locationStockRepository;
+
+    @Mock
+    private QuantityLedgerRepository ledgerRepository;
+
+    @Mock
+    private QuantitySnapshotRepository snapshotRepository;
+
+    @Mock
+    private StockAlertRepository stockAlertRepository;
+
     @Mock
     private RoleServiceClient roleServiceClient;
 
     @Mock
     private UserServiceClient userServiceClient;
 
-    @InjectMocks
     private InventoryManagementService inventoryManagementService;
 
+    private InventoryAuthorizationService authorizationService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TypeRenamePropagationService renamePropagationService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @BeforeEach
+    public void setUp() {
+        authorizationService = new InventoryAuthorizationService(
+                userServiceClient,
+                roleServiceClient,
+                new AuthorizationCache(new InventoryProperties(), new SimpleMeterRegistry())
+        );
+        InventoryProperties inventoryProperties = new InventoryProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        ResourceTypeCatalog typeCatalog = new ResourceTypeCatalog(resourceTypeRepository, inventoryProperties);
+        InventoryChangeHub changeHub = new InventoryChangeHub(inventoryProperties);
+        renamePropagationService = new TypeRenamePropagationService(inventoryItemRepository, resourceTypeRepository, typeCatalog, taskScheduler);
+        inventoryManagementService = new InventoryManagementService(
+                resourceTypeRepository,
+                inventoryItemRepository,
+                tombstoneRepository,
+                locationStockRepository,
+                authorizationService,
+                typeCatalog,
+                renamePropagationService,
+                new TypeHierarchyService(resourceTypeRepository, inventoryItemRepository, typeCatalog, inventoryProperties),
+                changeHub,
+                new QuantityLedgerService(ledgerRepository, snapshotRepository, inventoryItemRepository, authorizationService, inventoryProperties, new SimpleMeterRegistry()),
+                new LowStockAlertService(stockAlertRepository, inventoryItemRepository, typeCatalog, changeHub, authorizationService, inventoryProperties, meterRegistry),
+                new OptimisticRetryPolicy(inventoryProperties, meterRegistry),
+                inventoryProperties
+        );
+    }
+
     @Test
     public void createTypeAllowsAdminWithoutExplicitInventoryRole() {
         ResourceTypeRequest request = new ResourceTypeRequest();
@@ -90,7 +181,8 @@ public class InventoryManagementServiceTest {
         when(userServiceClient.getUserByEmail("inventory.user@example.com"))
                 .thenReturn(new UserDto("2", "Inventory", "User", "inventory.user@example.com", "User"));
         when(roleServiceClient.getRolesForUser("inventory.user@example.com")).thenReturn(List.of("InventoryUser"));
-        when(resourceTypeRepository.findById("type-1")).thenReturn(Optional.of(type));
+        when(resourceTypeRepository.findAll()).thenReturn(List.of(type));
+        when(resourceTypeRepository.acquireMoveLock(anyString(), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(true);
         when(inventoryItemRepository.save(any(InventoryItem.class))).thenAnswer(invocation -> {
             InventoryItem saved = invocation.getArgument(0);
             saved.setId("item-1");
@@ -102,4 +194,559 @@ public class InventoryManagementServiceTest {
         assertEquals(25, result.getAvailableQuantity());
         assertEquals("Stone", result.getResourceTypeName());
     }
+
+    @Test
+    public void typeReadsAreServedFromCatalogAndLocalWritesArePublished() {
+        ResourceType metal = new ResourceType();
+        metal.setId("type-1");
+        metal.setName("Metal");
+
+        ResourceTypeRequest request = new ResourceTypeRequest();
+        request.setName("Stone");
+        request.setDescription("Stone resources");
+
+        when(userServiceClient.getUserByEmail("admin@example.com"))
+                .thenReturn(new UserDto("1", "Admin", "User", "admin@example.com", "Admin"));
+        when(roleServiceClient.getRolesForUser("admin@example.com")).thenReturn(List.of());
+        when(resourceTypeRepository.findAll()).thenReturn(List.of(metal));
+        when(resourceTypeRepository.existsByNameIgnoreCase("Stone")).thenReturn(false);
+        when(resourceTypeRepository.save(any(ResourceType.class))).thenAnswer(invocation -> {
+            ResourceType saved = invocation.getArgument(0);
+            saved.setId("type-2");
+            return saved;
+        });
+
+        assertEquals(1, inventoryManagementService.getAllTypes("admin@example.com").size());
+        inventoryManagementService.createType(request, "admin@example.com");
+        var types = inventoryManagementService.getAllTypes("admin@example.com");
+
+        assertEquals(List.of("Metal", "Stone"), types.stream().map(type -> type.getName()).toList());
+        verify(resourceTypeRepository, times(1)).findAll();
+    }
+
+    @Test
+    public void typesTagStaysStableUntilCatalogContentChanges() {
+        ResourceType metal = new ResourceType();
+        metal.setId("type-1");
+        metal.setName("Metal");
+        metal.setVersion(2L);
+
+        ResourceTypeRequest request = new ResourceTypeRequest();
+        request.setName("Stone");
+        request.setDescription("Stone resources");
+
+        when(userServiceClient.getUserByEmail("admin@example.com"))
+                .thenReturn(new UserDto("1", "Admin", "User", "admin@example.com", "Admin"));
+        when(roleServiceClient.getRolesForUser("admin@example.com")).thenReturn(List.of());
+        when(resourceTypeRepository.findAll()).thenReturn(List.of(metal));
+        when(resourceTypeRepository.existsByNameIgnoreCase("Stone")).thenReturn(false);
+        when(resourceTypeRepository.save(any(ResourceType.class))).thenAnswer(invocation -> {
+            ResourceType saved = invocation.getArgument(0);
+            saved.setId("type-2");
+            saved.setVersion(0L);
+            return saved;
+        });
+
+        String first = inventoryManagementService.getAllTypesTagged("admin@example.com").getEtag();
+        String repeated = inventoryManagementService.getAllTypesTagged("admin@example.com").getEtag();
+        inventoryManagementService.createType(request, "admin@example.com");
+        String afterCreate = inventoryManagementService.getAllTypesTagged("admin@example.com").getEtag();
+
+        assertEquals(first, repeated);
+        assertNotEquals(first, afterCreate);
+    }
+
+    @Test
+    public void itemsTagIsWithheldWhileNewestWriteIsUnsettled() {
+        InventoryItem settled = new InventoryItem();
+        settled.setId("item-1");
+        settled.setUpdatedAt(LocalDateTime.now().minusMinutes(5));
+        InventoryItem fresh = new InventoryItem();
+        fresh.setId("item-2");
+        fresh.setUpdatedAt(LocalDateTime.now());
+
+        when(userServiceClient.getUserByEmail("inventory.user@example.com"))
+                .thenReturn(new UserDto("2", "Inventory", "User", "inventory.user@example.com", "User"));
+        when(roleServiceClient.getRolesForUser("inventory.user@example.com")).thenReturn(List.of("InventoryUser"));
+        when(inventoryItemRepository.estimatedCount()).thenReturn(2L);
+        when(inventoryItemRepository.findLatestUpdate())
+                .thenReturn(Optional.of(settled))
+                .thenReturn(Optional.of(settled))
+                .thenReturn(Optional.of(fresh));
+        when(tombstoneRepository.findFirstByOrderByDeletedAtDesc()).thenReturn(Optional.empty());
+
+        String first = inventoryManagementService.getItemsTag("inventory.user@example.com");
+        String repeated = inventoryManagementService.getItemsTag("inventory.user@example.com");
+        String unsettled = inventoryManagementService.getItemsTag("inventory.user@example.com");
+
+        assertNotNull(first);
+        assertEquals(first, repeated);
+        assertNull(unsettled);
+    }
+
+    @Test
+    public void renamingTypePropagatesNameWithMultiDocumentUpdates() {
+        ResourceType existing = renamableType();
+        when(inventoryItemRepository.renameResourceType(eq("type-1"), eq("Precious Metal"), any(LocalDateTime.class))).thenReturn(40L);
+        when(inventoryItemRepository.renameResourceSubType(eq("type-1"), eq("Precious Metal"), any(LocalDateTime.class))).thenReturn(0L);
+        when(resourceTypeRepository.renameParentType(eq("type-1"), eq("Precious Metal"), any(LocalDateTime.class))).thenReturn(0L);
+
+        inventoryManagementService.updateType("type-1", renameRequest(), "admin@example.com");
+
+        assertEquals(Boolean.TRUE, existing.getRenamePending());
+        assertEquals("QUEUED", inventoryManagementService.getRenamePropagation("type-1", "admin@example.com").getState());
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+
+        when(resourceTypeRepository.findByRenamePendingTrue()).thenReturn(List.of(existing));
+        renamePropagationService.resumePending();
+
+        RenamePropagationStatus status = inventoryManagementService.getRenamePropagation("type-1", "admin@example.com");
+        assertEquals("COMPLETED", status.getState());
+        assertEquals(3, status.getCompletedSteps());
+        assertEquals(40L, status.getItemsUpdated());
+        verify(resourceTypeRepository).clearRenamePending("type-1", "Precious Metal");
+        verify(inventoryItemRepository, never()).save(any(InventoryItem.class));
+    }
+
+    @Test
+    public void failedRenamePropagationStaysPendingAndIsResumedBySweep() {
+        ResourceType existing = renamableType();
+        when(inventoryItemRepository.renameResourceType(eq("type-1"), eq("Precious Metal"), any(LocalDateTime.class)))
+                .thenThrow(new RuntimeException("Mongo unavailable"))
+                .thenReturn(40L);
+        when(resourceTypeRepository.findByRenamePendingTrue()).thenReturn(List.of(existing));
+
+        inventoryManagementService.updateType("type-1", renameRequest(), "admin@example.com");
+        renamePropagationService.resumePending();
+
+        RenamePropagationStatus status = inventoryManagementService.getRenamePropagation("type-1", "admin@example.com");
+        assertEquals("FAILED", status.getState());
+        assertEquals(0, status.getCompletedSteps());
+        verify(resourceTypeRepository, never()).clearRenamePending(anyString(), anyString());
+
+        renamePropagationService.resumePending();
+
+        status = inventoryManagementService.getRenamePropagation("type-1", "admin@example.com");
+        assertEquals("COMPLETED", status.getState());
+        assertEquals(40L, status.getItemsUpdated());
+        verify(resourceTypeRepository).clearRenamePending("type-1", "Precious Metal");
+    }
+
+    private ResourceType renamableType() {
+        ResourceType existing = new ResourceType();
+        existing.setId("type-1");
+        existing.setName("Metal");
+        existing.setDescription("Metal resources");
+
+        when(userServiceClient.getUserByEmail("admin@example.com"))
+                .thenReturn(new UserDto("1", "Admin", "User", "admin@example.com", "Admin"));
+        when(roleServiceClient.getRolesForUser("admin@example.com")).thenReturn(List.of());
+        when(resourceTypeRepository.findById("type-1")).thenReturn(Optional.of(existing));
+        when(resourceTypeRepository.save(any(ResourceType.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        return existing;
+    }
+
+    private ResourceTypeRequest renameRequest() {
+        ResourceTypeRequest request = new ResourceTypeRequest();
+        request.setName("Precious Metal");
+        request.setDescription("Metal resources");
+        return request;
+    }
+
+    @Test
+    public void movingTypeUnderItsOwnDescendantIsRejected() {
+        ResourceType gold = new ResourceType();
+        gold.setId("gold");
+        gold.setName("Gold");
+        gold.setDescription("Gold alloys");
+        gold.setParentTypeId("metal");
+        gold.setAncestorIds(List.of("metal"));
+        ResourceType karat = new ResourceType();
+        karat.setId("18k");
+        karat.setName("18k");
+        karat.setParentTypeId("gold");
+        karat.setAncestorIds(List.of("metal", "gold"));
+
+        ResourceTypeRequest request = new ResourceTypeRequest();
+        request.setName("Gold");
+        request.setDescription("Gold alloys");
+        request.setParentTypeId("18k");
+
+        when(userServiceClient.getUserByEmail("admin@example.com"))
+                .thenReturn(new UserDto("1", "Admin", "User", "admin@example.com", "Admin"));
+        when(roleServiceClient.getRolesForUser("admin@example.com")).thenReturn(List.of());
+        when(resourceTypeRepository.findById("gold")).thenReturn(Optional.of(gold));
+        when(resourceTypeRepository.findById("18k")).thenReturn(Optional.of(karat));
+        when(resourceTypeRepository.acquireMoveLock(anyString(), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(true);
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> inventoryManagementService.updateType("gold", request, "admin@example.com"));
+
+        assertEquals("Type cannot be moved under its own descendant", ex.getMessage());
+        verify(resourceTypeRepository, never()).save(any(ResourceType.class));
+        verify(resourceTypeRepository).releaseMoveLock(anyString());
+    }
+
+    @Test
+    public void movingTypeWaitsForTheMoveLeaseBeforeReadingTheNewParent() {
+        ResourceType gold = new ResourceType();
+        gold.setId("gold");
+        gold.setName("Gold");
+        gold.setDescription("Gold alloys");
+        gold.setParentTypeId("metal");
+        gold.setAncestorIds(List.of("metal"));
+
+        ResourceTypeRequest request = new ResourceTypeRequest();
+        request.setName("Gold");
+        request.setDescription("Gold alloys");
+        request.setParentTypeId("alloys");
+
+        when(userServiceClient.getUserByEmail("admin@example.com"))
+                .thenReturn(new UserDto("1", "Admin", "User", "admin@example.com", "Admin"));
+        when(roleServiceClient.getRolesForUser("admin@example.com")).thenReturn(List.of());
+        when(resourceTypeRepository.findById("gold")).thenReturn(Optional.of(gold));
+        when(resourceTypeRepository.acquireMoveLock(anyString(), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(false);
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> inventoryManagementService.updateType("gold", request, "admin@example.com"));
+
+        assertEquals("Concurrent update conflict, please retry", ex.getMessage());
+        verify(resourceTypeRepository, never()).findById("alloys");
+        verify(resourceTypeRepository, never()).save(any(ResourceType.class));
+        verify(resourceTypeRepository, never()).releaseMoveLock(anyString());
+    }
+
+    @Test
+    public void movingTypeRebasesDescendantPathsAndRetagsItems() {
+        ResourceType alloys = new ResourceType();
+        alloys.setId("alloys");
+        alloys.setName("Alloys");
+        alloys.setAncestorIds(List.of());
+        ResourceType gold = new ResourceType();
+        gold.setId("gold");
+        gold.setName("Gold");
+        gold.setDescription("Gold alloys");
+        gold.setParentTypeId("metal");
+        gold.setAncestorIds(List.of("metal"));
+        ResourceType karat = new ResourceType();
+        karat.setId("18k");
+        karat.setName("18k");
+        karat.setParentTypeId("gold");
+        karat.setAncestorIds(List.of("metal", "gold"));
+
+        ResourceTypeRequest request = new ResourceTypeRequest();
+        request.setName("Gold");
+        request.setDescription("Gold alloys");
+        request.setParentTypeId("alloys");
+
+        when(userServiceClient.getUserByEmail("admin@example.com"))
+                .thenReturn(new UserDto("1", "Admin", "User", "admin@example.com", "Admin"));
+        when(roleServiceClient.getRolesForUser("admin@example.com")).thenReturn(List.of());
+        when(resourceTypeRepository.findById("gold")).thenReturn(Optional.of(gold));
+        when(resourceTypeRepository.findById("alloys")).thenReturn(Optional.of(alloys));
+        when(resourceTypeRepository.save(any(ResourceType.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(resourceTypeRepository.findAll()).thenReturn(List.of(alloys, gold, karat));
+        when(resourceTypeRepository.findByAncestorIds("gold")).thenReturn(List.of(karat));
+        when(resourceTypeRepository.acquireMoveLock(anyString(), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(true);
+
+        var result = inventoryManagementService.updateType("gold", request, "admin@example.com");
+
+        assertEquals(List.of("alloys"), result.getAncestorIds());
+        verify(resourceTypeRepository).setAncestorIds("18k", List.of("alloys", "gold"), false);
+        verify(inventoryItemRepository).retagTypePath(eq("gold"), eq(List.of("alloys", "gold")), eq("alloys"), eq("Alloys"), any(LocalDateTime.class));
+        verify(inventoryItemRepository).retagTypePath(eq("18k"), eq(List.of("alloys", "gold", "18k")), eq("alloys"), eq("Alloys"), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void createdTypeAndItemTakeTheirPathFromMongoUnderTheMoveLock() {
+        ResourceType cachedGold = new ResourceType();
+        cachedGold.setId("gold");
+        cachedGold.setName("Gold");
+        cachedGold.setParentTypeId("metal");
+        cachedGold.setAncestorIds(List.of("metal"));
+        ResourceType movedGold = new ResourceType();
+        movedGold.setId("gold");
+        movedGold.setName("Gold");
+        movedGold.setParentTypeId("alloys");
+        movedGold.setAncestorIds(List.of("alloys"));
+
+        ResourceTypeRequest typeRequest = new ResourceTypeRequest();
+        typeRequest.setName("18k");
+        typeRequest.setDescription("18 karat gold");
+        typeRequest.setParentTypeId("gold");
+        InventoryItemRequest itemRequest = new InventoryItemRequest();
+        itemRequest.setName("Ring");
+        itemRequest.setDescription("Plain band");
+        itemRequest.setResourceTypeId("gold");
+
+        when(userServiceClient.getUserByEmail("admin@example.com"))
+                .thenReturn(new UserDto("1", "Admin", "User", "admin@example.com", "Admin"));
+        when(roleServiceClient.getRolesForUser("admin@example.com")).thenReturn(List.of());
+        when(resourceTypeRepository.findAll()).thenReturn(List.of(cachedGold));
+        when(resourceTypeRepository.findById("gold")).thenReturn(Optional.of(movedGold));
+        when(resourceTypeRepository.acquireMoveLock(anyString(), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(true);
+        when(resourceTypeRepository.save(any(ResourceType.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(inventoryItemRepository.save(any(InventoryItem.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var type = inventoryManagementService.createType(typeRequest, "admin@example.com");
+        var item = inventoryManagementService.createItem(itemRequest, "admin@example.com");
+
+        assertEquals(List.of("alloys", "gold"), type.getAncestorIds());
+        ArgumentCaptor<InventoryItem> savedItem = ArgumentCaptor.forClass(InventoryItem.class);
+        verify(inventoryItemRepository).save(savedItem.capture());
+        assertEquals(List.of("alloys", "gold"), savedItem.getValue().getTypePath());
+        assertEquals("Ring", item.getName());
+        verify(resourceTypeRepository, times(2)).releaseMoveLock(anyString());
+    }
+
+    @Test
+    public void repeatedCallsReuseCachedAuthorization() {
+        when(userServiceClient.getUserByEmail("inventory.user@example.com"))
+                .thenReturn(new UserDto("2", "Inventory", "User", "inventory.user@example.com", "User"));
+        when(roleServiceClient.getRolesForUser("inventory.user@example.com")).thenReturn(List.of("InventoryUser"));
+        when(inventoryItemRepository.findAll(any(Sort.class))).thenReturn(List.of());
+
+        inventoryManagementService.getItems("inventory.user@example.com");
+        inventoryManagementService.getItems(" Inventory.User@example.com ");
+
+        verify(userServiceClient, times(1)).getUserByEmail("inventory.user@example.com");
+        verify(roleServiceClient, times(1)).getRolesForUser("inventory.user@example.com");
+    }
+
+    @Test
+    public void authorizationCacheFlushIsRejectedForNonAdminRequester() {
+        when(userServiceClient.getUserByEmail("inventory.user@example.com"))
+                .thenReturn(new UserDto("2", "Inventory", "User", "inventory.user@example.com", "User"));
+        when(roleServiceClient.getRolesForUser("inventory.user@example.com")).thenReturn(List.of("InventoryUser"));
+        when(inventoryItemRepository.findAll(any(Sort.class))).thenReturn(List.of());
+        inventoryManagementService.getItems("inventory.user@example.com");
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> authorizationService.invalidate(null, "inventory.user@example.com"));
+        inventoryManagementService.getItems("inventory.user@example.com");
+
+        assertEquals("Insufficient role privileges to manage the authorization cache", ex.getMessage());
+        // The denial re-checks the requester once, but the cache itself was kept
+        verify(userServiceClient, times(2)).getUserByEmail("inventory.user@example.com");
+    }
+
+    @Test
+    public void cachedDenialIsRecheckedAfterRoleGrant() {
+        ResourceTypeRequest request = new ResourceTypeRequest();
+        request.setName("Stone");
+        request.setDescription("Stone resources");
+
+        when(userServiceClient.getUserByEmail("inventory.user@example.com"))
+                .thenReturn(new UserDto("2", "Inventory", "User", "inventory.user@example.com", "User"));
+        when(roleServiceClient.getRolesForUser("inventory.user@example.com"))
+                .thenReturn(List.of("InventoryUser"))
+                .thenReturn(List.of("InventoryManager"));
+        when(resourceTypeRepository.existsByNameIgnoreCase("Stone")).thenReturn(false);
+        when(resourceTypeRepository.save(any(ResourceType.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThrows(RuntimeException.class,
+                () -> inventoryManagementService.createType(request, "inventory.user@example.com"));
+
+        var result = inventoryManagementService.createType(request, "inventory.user@example.com");
+        assertEquals("Stone", result.getName());
+    }
+
+    @Test
+    public void adjustQuantityReturnsAtomicallyUpdatedItem() {
+        InventoryItem updated = new InventoryItem();
+        updated.setId("item-1");
+        updated.setName("Round Diamond");
+        updated.setAvailableQuantity(22);
+
+        when(userServiceClient.getUserByEmail("inventory.user@example.com"))
+                .thenReturn(new UserDto("2", "Inventory", "User", "inventory.user@example.com", "User"));
+        when(roleServiceClient.getRolesForUser("inventory.user@example.com")).thenReturn(List.of("InventoryUser"));
+        when(inventoryItemRepository.adjustQuantity(eq("item-1"), eq(-3), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(updated));
+
+        var result = inventoryManagementService.adjustQuantity("item-1", -3, "inventory.user@example.com");
+        assertEquals(22, result.getAvailableQuantity());
+        verify(inventoryItemRepository, times(0)).save(any(InventoryItem.class));
+    }
+
+    @Test
+    public void adjustQuantityRejectsChangeThatWouldGoNegative() {
+        when(userServiceClient.getUserByEmail("inventory.user@example.com"))
+                .thenReturn(new UserDto("2", "Inventory", "User", "inventory.user@example.com", "User"));
+        when(roleServiceClient.getRolesForUser("inventory.user@example.com")).thenReturn(List.of("InventoryUser"));
+        when(inventoryItemRepository.adjustQuantity(eq("item-1"), eq(-50), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(inventoryItemRepository.existsById("item-1")).thenReturn(true);
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> inventoryManagementService.adjustQuantity("item-1", -50, "inventory.user@example.com"));
+        assertEquals("Available quantity cannot be negative", ex.getMessage());
+    }
+
+    @Test
+    public void updateItemRereadsAndRetriesAfterVersionConflict() {
+        InventoryItem stale = new InventoryItem();
+        stale.setId("item-1");
+        stale.setName("Round Diamond");
+        stale.setAvailableQuantity(10);
+        stale.setVersion(3L);
+        InventoryItem current = new InventoryItem();
+        current.setId("item-1");
+        current.setName("Round Diamond");
+        current.setAvailableQuantity(7);
+        current.setVersion(4L);
+
+        InventoryItemRequest request = new InventoryItemRequest();
+        request.setDescription("Brilliant cut");
+
+        when(userServiceClient.getUserByEmail("inventory.user@example.com"))
+                .thenReturn(new UserDto("2", "Inventory", "User", "inventory.user@example.com", "User"));
+        when(roleServiceClient.getRolesForUser("inventory.user@example.com")).thenReturn(List.of("InventoryUser"));
+        when(resourceTypeRepository.acquireMoveLock(anyString(), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(true);
+        when(inventoryItemRepository.findById("item-1"))
+                .thenReturn(Optional.of(stale))
+                .thenReturn(Optional.of(current));
+        when(inventoryItemRepository.save(any(InventoryItem.class)))
+                .thenThrow(new OptimisticLockingFailureException("version mismatch"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        var result = inventoryManagementService.updateItem("item-1", request, "inventory.user@example.com");
+
+        assertEquals(7, result.getAvailableQuantity());
+        assertEquals("Brilliant cut", result.getDescription());
+        verify(inventoryItemRepository, times(2)).findById("item-1");
+        assertEquals(1.0, meterRegistry.get("inventory.optimistic.retries").tag("entity", "item").counter().count());
+    }
+
+    @Test
+    public void updateItemReportsConflictWhenRetriesAreExhausted() {
+        InventoryItem existing = new InventoryItem();
+        existing.setId("item-1");
+        existing.setName("Round Diamond");
+
+        InventoryItemRequest request = new InventoryItemRequest();
+        request.setDescription("Brilliant cut");
+
+        when(userServiceClient.getUserByEmail("inventory.user@example.com"))
+                .thenReturn(new UserDto("2", "Inventory", "User", "inventory.user@example.com", "User"));
+        when(roleServiceClient.getRolesForUser("inventory.user@example.com")).thenReturn(List.of("InventoryUser"));
+        when(resourceTypeRepository.acquireMoveLock(anyString(), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(true);
+        when(inventoryItemRepository.findById("item-1")).thenReturn(Optional.of(existing));
+        when(inventoryItemRepository.save(any(InventoryItem.class)))
+                .thenThrow(new OptimisticLockingFailureException("version mismatch"));
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> inventoryManagementService.updateItem("item-1", request, "inventory.user@example.com"));
+
+        assertEquals("Concurrent update conflict, please retry", ex.getMessage());
+        verify(inventoryItemRepository, times(5)).save(any(InventoryItem.class));
+        assertEquals(1.0, meterRegistry.get("inventory.optimistic.exhausted").tag("entity", "item").counter().count());
+    }
+
+    @Test
+    public void itemPageReturnsCursorThatResumesAfterLastItem() {
+        InventoryItem first = new InventoryItem();
+        first.setId("item-1");
+        first.setName("Amethyst");
+        InventoryItem second = new InventoryItem();
+        second.setId("item-2");
+        second.setName("Beryl");
+        InventoryItem third = new InventoryItem();
+        third.setId("item-3");
+        third.setName("Citrine");
+
+        when(userServiceClient.getUserByEmail("inventory.user@example.com"))
+                .thenReturn(new UserDto("2", "Inventory", "User", "inventory.user@example.com", "User"));
+        when(roleServiceClient.getRolesForUser("inventory.user@example.com")).thenReturn(List.of("InventoryUser"));
+        when(inventoryItemRepository.findPage(eq("type-1"), isNull(), isNull(), isNull(), isNull(), eq(3), isNull()))
+                .thenReturn(List.of(first, second, third));
+        when(inventoryItemRepository.findPage(eq("type-1"), isNull(), isNull(), eq("Beryl"), eq("item-2"), eq(3), isNull()))
+                .thenReturn(List.of(third));
+
+        var firstPage = inventoryManagementService.getItemPage("inventory.user@example.com", null, 2, "type-1", null, null);
+        assertEquals(2, firstPage.getItems().size());
+
+        var secondPage = inventoryManagementService.getItemPage(
+                "inventory.user@example.com", firstPage.getNextCursor(), 2, "type-1", null, null);
+        assertEquals(1, secondPage.getItems().size());
+        assertEquals("Citrine", secondPage.getItems().get(0).getName());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    public void itemRowPageReadsAndReturnsOnlySelectedFields() {
+        InventoryItem projected = new InventoryItem();
+        projected.setId("item-1");
+        projected.setName("Amethyst");
+        projected.setAvailableQuantity(4);
+
+        when(userServiceClient.getUserByEmail("inventory.user@example.com"))
+                .thenReturn(new UserDto("2", "Inventory", "User", "inventory.user@example.com", "User"));
+        when(roleServiceClient.getRolesForUser("inventory.user@example.com")).thenReturn(List.of("InventoryUser"));
+        when(inventoryItemRepository.findPage(isNull(), isNull(), isNull(), isNull(), isNull(), eq(51),
+                eq(Set.of("id", "availableQuantity", "name"))))
+                .thenReturn(List.of(projected));
+
+        var page = inventoryManagementService.getItemRowPage("inventory.user@example.com", null, null, null, null, null,
+                ItemFields.parse("availableQuantity"));
+
+        assertEquals(List.of(Map.of("id", "item-1", "availableQuantity", 4)), page.getItems());
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> ItemFields.parse("name,price"));
+        assertEquals("Unknown item field: price", ex.getMessage());
+    }
+
+    @Test
+    public void batchAdjustmentReportsPerItemOutcomes() {
+        when(userServiceClient.getUserByEmail("inventory.user@example.com"))
+                .thenReturn(new UserDto("2", "Inventory", "User", "inventory.user@example.com", "User"));
+        when(roleServiceClient.getRolesForUser("inventory.user@example.com")).thenReturn(List.of("InventoryUser"));
+        when(inventoryItemRepository.findAllById(any()))
+                .thenReturn(List.of(item("item-1", 10), item("item-2", 1)))
+                .thenReturn(List.of(item("item-1", 15)));
+        when(inventoryItemRepository.bulkAdjustQuantities(eq(Map.of("item-1", 5)), anyString(), any(LocalDateTime.class)))
+                .thenReturn(Set.of());
+
+        var result = inventoryManagementService.adjustQuantities(
+                batch(false, new QuantityAdjustmentEntry("item-1", 5), new QuantityAdjustmentEntry("item-2", -4),
+                        new QuantityAdjustmentEntry("missing", 1)),
+                "inventory.user@example.com");
+
+        assertEquals(1, result.getApplied());
+        assertEquals(2, result.getFailed());
+        assertEquals(15, result.getResults().get(0).getAvailableQuantity());
+        assertEquals("Available quantity cannot be negative", result.getResults().get(1).getMessage());
+        assertEquals("Inventory item not found", result.getResults().get(2).getMessage());
+        verify(inventoryItemRepository).clearAppliedBatch(eq(List.of("item-1")), anyString());
+    }
+
+    @Test
+    public void allOrNothingBatchSkipsWritesWhenAnyAdjustmentFails() {
+        when(userServiceClient.getUserByEmail("inventory.user@example.com"))
+                .thenReturn(new UserDto("2", "Inventory", "User", "inventory.user@example.com", "User"));
+        when(roleServiceClient.getRolesForUser("inventory.user@example.com")).thenReturn(List.of("InventoryUser"));
+        when(inventoryItemRepository.findAllById(any())).thenReturn(List.of(item("item-1", 10), item("item-2", 1)));
+
+        var result = inventoryManagementService.adjustQuantities(
+                batch(true, new QuantityAdjustmentEntry("item-1", 5), new QuantityAdjustmentEntry("item-2", -4)),
+                "inventory.user@example.com");
+
+        assertEquals(0, result.getApplied());
+        assertFalse(result.getResults().get(0).isSuccess());
+        verify(inventoryItemRepository, never()).bulkAdjustQuantities(anyMap(), anyString(), any(LocalDateTime.class));
+    }
+
+    private InventoryItem item(String id, int quantity) {
+        InventoryItem item = new InventoryItem();
+        item.setId(id);
+        item.setName(id);
+        item.setAvailableQuantity(quantity);
+        return item;
+    }
+
+    private BatchQuantityAdjustmentRequest batch(boolean allOrNothing, QuantityAdjustmentEntry... entries) {
+        BatchQuantityAdjustmentRequest request = new BatchQuantityAdjustmentRequest();
+        request.setAllOrNothing(allOrNothing);
+        request.setAdjustments(List.of(entries));
+        return request;
+    }
 }
@@ -0,0 +1,91 @@
+package com.carousel.inventory;
+
+import com.carousel.inventory.client.RoleServiceClient;
+import com.carousel.inventory.client.UserServiceClient;
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.domain.InventoryItem;
+import com.carousel.inventory.dto.InventoryItemSearchPage;
+import com.carousel.inventory.dto.UserDto;
+import com.carousel.inventory.repository.InventoryItemRepository;
+import com.carousel.inventory.service.AuthorizationCache;
+import com.carousel.inventory.service.InventoryAuthorizationService;
+import com.carousel.inventory.service.InventorySearchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class InventorySearchServiceTest {
+
+    @Mock
+    private InventoryItemRepository inventoryItemRepository;
+
+    @Mock
+    private RoleServiceClient roleServiceClient;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    private InventorySearchService searchService;
+
+    @BeforeEach
+    public void setUp() {
+        InventoryAuthorizationService authorizationService = new InventoryAuthorizationService(
+                userServiceClient,
+                roleServiceClient,
+                new AuthorizationCache(new InventoryProperties(), new SimpleMeterRegistry())
+        );
+        searchService = new InventorySearchService(inventoryItemRepository, authorizationService, new InventoryProperties());
+
+        when(userServiceClient.getUserByEmail("inventory.user@example.com"))
+                .thenReturn(new UserDto("2", "Inventory", "User", "inventory.user@example.com", "User"));
+        when(roleServiceClient.getRolesForUser("inventory.user@example.com")).thenReturn(List.of("InventoryUser"));
+    }
+
+    @Test
+    public void prefixMatchesRankAheadOfTextMatchesWithoutDuplicates() {
+        when(inventoryItemRepository.findByNamePrefix("ring", "type-1", null, 3))
+                .thenReturn(List.of(item("item-1", "Ring"), item("item-2", "Ring Gold")));
+        when(inventoryItemRepository.searchText("ring", "type-1", null, 3))
+                .thenReturn(List.of(item("item-2", "Ring Gold"), item("item-3", "Band"), item("item-4", "Clasp")));
+
+        InventoryItemSearchPage first = searchService.search("inventory.user@example.com", "ring", null, 2, "type-1", " ");
+        assertEquals(List.of("item-1", "item-2"), first.getItems().stream().map(item -> item.getId()).toList());
+        assertEquals(2, first.getNextOffset());
+
+        when(inventoryItemRepository.findByNamePrefix("ring", "type-1", null, 5))
+                .thenReturn(List.of(item("item-1", "Ring"), item("item-2", "Ring Gold")));
+        when(inventoryItemRepository.searchText("ring", "type-1", null, 5))
+                .thenReturn(List.of(item("item-2", "Ring Gold"), item("item-3", "Band"), item("item-4", "Clasp")));
+
+        InventoryItemSearchPage second = searchService.search("inventory.user@example.com", "ring", 2, 2, "type-1", null);
+        assertEquals(List.of("item-3", "item-4"), second.getItems().stream().map(item -> item.getId()).toList());
+        assertNull(second.getNextOffset());
+    }
+
+    @Test
+    public void blankQueryIsRejected() {
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> searchService.search("inventory.user@example.com", "  ", null, null, null, null));
+        assertEquals("Search query is required", ex.getMessage());
+    }
+
+    private InventoryItem item(String id, String name) {
+        InventoryItem item = new InventoryItem();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(name);
+        item.setResourceTypeId("type-1");
+        return item;
+    }
+}
@@ -0,0 +1,96 @@
+package com.carousel.inventory;
+
+import com.carousel.inventory.client.RoleServiceClient;
+import com.carousel.inventory.client.UserServiceClient;
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.domain.ResourceType;
+import com.carousel.inventory.dto.InventoryStockSummary;
+import com.carousel.inventory.dto.ResourceTypeStockSummary;
+import com.carousel.inventory.dto.UserDto;
+import com.carousel.inventory.repository.InventoryItemRepository;
+import com.carousel.inventory.repository.ResourceTypeRepository;
+import com.carousel.inventory.repository.StockSummaryRow;
+import com.carousel.inventory.service.AuthorizationCache;
+import com.carousel.inventory.service.InventoryAuthorizationService;
+import com.carousel.inventory.service.InventorySummaryService;
+import com.carousel.inventory.service.ResourceTypeCatalog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class InventorySummaryServiceTest {
+
+    @Mock
+    private InventoryItemRepository inventoryItemRepository;
+
+    @Mock
+    private ResourceTypeRepository resourceTypeRepository;
+
+    @Mock
+    private RoleServiceClient roleServiceClient;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    private InventorySummaryService summaryService;
+
+    @BeforeEach
+    public void setUp() {
+        InventoryAuthorizationService authorizationService = new InventoryAuthorizationService(
+                userServiceClient,
+                roleServiceClient,
+                new AuthorizationCache(new InventoryProperties(), new SimpleMeterRegistry())
+        );
+        InventoryProperties inventoryProperties = new InventoryProperties();
+        summaryService = new InventorySummaryService(
+                inventoryItemRepository,
+                authorizationService,
+                new ResourceTypeCatalog(resourceTypeRepository, inventoryProperties),
+                inventoryProperties
+        );
+    }
+
+    @Test
+    public void rollsSubtypeGroupsUpIntoTypeTotalsAndCachesResult() {
+        when(userServiceClient.getUserByEmail("inventory.user@example.com"))
+                .thenReturn(new UserDto("2", "Inventory", "User", "inventory.user@example.com", "User"));
+        when(roleServiceClient.getRolesForUser("inventory.user@example.com")).thenReturn(List.of("InventoryUser"));
+        when(resourceTypeRepository.findAll()).thenReturn(List.of(type("type-1", "Metal"), type("sub-1", "Gold")));
+        when(inventoryItemRepository.summarizeStock()).thenReturn(List.of(
+                new StockSummaryRow("type-1", null, 2, 10, 1),
+                new StockSummaryRow("type-1", "sub-1", 3, 7, 0)
+        ));
+
+        InventoryStockSummary first = summaryService.getStockSummary("inventory.user@example.com");
+        InventoryStockSummary second = summaryService.getStockSummary("inventory.user@example.com");
+
+        ResourceTypeStockSummary metal = first.getTypes().get(0);
+        assertEquals("Metal", metal.getResourceTypeName());
+        assertEquals(5, metal.getItemCount());
+        assertEquals(17, metal.getTotalQuantity());
+        assertEquals(1, metal.getZeroStockCount());
+        assertEquals("Gold", metal.getSubtypes().get(0).getResourceTypeName());
+        assertEquals(7, metal.getSubtypes().get(0).getTotalQuantity());
+        assertSame(first, second);
+        verify(inventoryItemRepository, times(1)).summarizeStock();
+    }
+
+    private ResourceType type(String id, String name) {
+        ResourceType type = new ResourceType();
+        type.setId(id);
+        type.setName(name);
+        return type;
+    }
+}
@@ -0,0 +1,136 @@
+package com.carousel.inventory;
+
+import com.carousel.inventory.client.RoleServiceClient;
+import com.carousel.inventory.client.UserServiceClient;
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.domain.InventoryItem;
+import com.carousel.inventory.domain.InventoryItemTombstone;
+import com.carousel.inventory.dto.InventoryItemChanges;
+import com.carousel.inventory.dto.UserDto;
+import com.carousel.inventory.repository.InventoryItemRepository;
+import com.carousel.inventory.repository.InventoryItemTombstoneRepository;
+import com.carousel.inventory.service.AuthorizationCache;
+import com.carousel.inventory.service.InventoryAuthorizationService;
+import com.carousel.inventory.service.InventorySyncService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class InventorySyncServiceTest {
+
+    @Mock
+    private InventoryItemRepository inventoryItemRepository;
+
+    @Mock
+    private InventoryItemTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private RoleServiceClient roleServiceClient;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    private InventorySyncService syncService;
+
+    @BeforeEach
+    public void setUp() {
+        InventoryAuthorizationService authorizationService = new InventoryAuthorizationService(
+                userServiceClient,
+                roleServiceClient,
+                new AuthorizationCache(new InventoryProperties(), new SimpleMeterRegistry())
+        );
+        syncService = new InventorySyncService(inventoryItemRepository, tombstoneRepository, authorizationService, new InventoryProperties());
+
+        when(userServiceClient.getUserByEmail("inventory.user@example.com"))
+                .thenReturn(new UserDto("2", "Inventory", "User", "inventory.user@example.com", "User"));
+        when(roleServiceClient.getRolesForUser("inventory.user@example.com")).thenReturn(List.of("InventoryUser"));
+    }
+
+    @Test
+    public void mergesUpdatesAndDeletionsInTimestampOrder() {
+        LocalDateTime since = LocalDateTime.now().minusHours(1).withNano(0);
+        LocalDateTime t1 = since.plusMinutes(1);
+        LocalDateTime t2 = since.plusMinutes(2);
+        LocalDateTime t3 = since.plusMinutes(3);
+
+        when(inventoryItemRepository.findChangedAfter(eq(since), eq("item-0"), any(LocalDateTime.class), eq(3)))
+                .thenReturn(List.of(item("item-1", t1), item("item-3", t3)));
+        when(tombstoneRepository.findAfter(eq(since), eq("item-0"), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(new InventoryItemTombstone("item-2", t2)));
+
+        InventoryItemChanges changes = syncService.getChanges("inventory.user@example.com", watermark(since, "item-0"), 2);
+
+        assertEquals(List.of("item-1"), changes.getItems().stream().map(item -> item.getId()).toList());
+        assertEquals(List.of("item-2"), changes.getDeletedItemIds());
+        assertTrue(changes.isHasMore());
+        assertEquals(watermark(t2, "item-2"), changes.getNextWatermark());
+    }
+
+    @Test
+    public void watermarkOlderThanTombstoneRetentionRequiresResync() {
+        LocalDateTime since = LocalDateTime.now().minusDays(InventoryItemTombstone.RETENTION_DAYS + 1L).withNano(0);
+
+        InventoryItemChanges changes = syncService.getChanges("inventory.user@example.com", watermark(since, "item-0"), null);
+
+        assertTrue(changes.isResyncRequired());
+        assertFalse(changes.isHasMore());
+        verifyNoInteractions(tombstoneRepository);
+    }
+
+    @Test
+    public void emptySyncAdvancesWatermarkToSettleCutoff() {
+        when(inventoryItemRepository.findChangedAfter(any(LocalDateTime.class), any(String.class), any(LocalDateTime.class), eq(2)))
+                .thenReturn(List.of());
+        when(tombstoneRepository.findAfter(any(LocalDateTime.class), any(String.class), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        InventoryItemChanges full = syncService.getChanges("inventory.user@example.com", null, 1);
+        LocalDateTime cutoff = timestampOf(full.getNextWatermark());
+        assertTrue(cutoff.isAfter(LocalDateTime.now().minusMinutes(1)));
+        assertFalse(full.isHasMore());
+
+        InventoryItemChanges incremental = syncService.getChanges("inventory.user@example.com", full.getNextWatermark(), 1);
+
+        assertFalse(incremental.isResyncRequired());
+        assertTrue(incremental.getItems().isEmpty());
+        assertFalse(timestampOf(incremental.getNextWatermark()).isBefore(cutoff));
+        verify(inventoryItemRepository).findChangedAfter(eq(cutoff), eq(""), any(LocalDateTime.class), eq(2));
+    }
+
+    private LocalDateTime timestampOf(String watermark) {
+        String value = new String(Base64.getUrlDecoder().decode(watermark), StandardCharsets.UTF_8);
+        return LocalDateTime.parse(value.substring(0, value.indexOf('|')));
+    }
+
+    private String watermark(LocalDateTime timestamp, String id) {
+        String value = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private InventoryItem item(String id, LocalDateTime updatedAt) {
+        InventoryItem item = new InventoryItem();
+        item.setId(id);
+        item.setName(id);
+        item.setUpdatedAt(updatedAt);
+        return item;
+    }
+}
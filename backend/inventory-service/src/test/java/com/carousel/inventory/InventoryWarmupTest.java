@@ -0,0 +1,103 @@
+package com.carousel.inventory;
+
+import com.carousel.inventory.client.RoleServiceClient;
+import com.carousel.inventory.client.UserServiceClient;
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.dto.UserDto;
+import com.carousel.inventory.repository.QuantityLedgerRepository;
+import com.carousel.inventory.repository.ResourceTypeRepository;
+import com.carousel.inventory.service.AuthorizationCache;
+import com.carousel.inventory.service.InventoryAuthorizationService;
+import com.carousel.inventory.service.InventoryWarmup;
+import com.carousel.inventory.service.QuantityLedgerService;
+import com.carousel.inventory.service.ResourceTypeCatalog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class InventoryWarmupTest {
+
+    @Mock
+    private ResourceTypeRepository resourceTypeRepository;
+
+    @Mock
+    private QuantityLedgerRepository ledgerRepository;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    @Mock
+    private RoleServiceClient roleServiceClient;
+
+    private InventoryProperties inventoryProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private InventoryAuthorizationService authorizationService;
+    private InventoryWarmup warmup;
+
+    @BeforeEach
+    public void setUp() {
+        inventoryProperties = new InventoryProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        authorizationService = new InventoryAuthorizationService(
+                userServiceClient,
+                roleServiceClient,
+                new AuthorizationCache(new InventoryProperties(), new SimpleMeterRegistry())
+        );
+        warmup = new InventoryWarmup(
+                new ResourceTypeCatalog(resourceTypeRepository, inventoryProperties),
+                ledgerRepository,
+                authorizationService,
+                new ObjectMapper().findAndRegisterModules(),
+                inventoryProperties,
+                meterRegistry
+        );
+    }
+
+    @Test
+    public void primesRecentActorsSoTheirFirstRequestSkipsTheUserAndRoleServices() {
+        when(resourceTypeRepository.findAll()).thenReturn(List.of());
+        when(ledgerRepository.findRecentActors(any(LocalDateTime.class), eq(QuantityLedgerService.SYSTEM_ACTOR), eq(50)))
+                .thenReturn(List.of("inventory.user@example.com", "gone@example.com"));
+        when(userServiceClient.getUserByEmail("inventory.user@example.com"))
+                .thenReturn(new UserDto("2", "Inventory", "User", "inventory.user@example.com", "User"));
+        when(roleServiceClient.getRolesForUser("inventory.user@example.com")).thenReturn(List.of("InventoryUser"));
+        when(userServiceClient.getUserByEmail("gone@example.com")).thenThrow(new RuntimeException("User not found"));
+
+        warmup.run(null);
+        authorizationService.ensureInventoryAccess("inventory.user@example.com");
+
+        verify(userServiceClient, times(1)).getUserByEmail("inventory.user@example.com");
+        verify(resourceTypeRepository, times(1)).findAll();
+        assertEquals(1, meterRegistry.get("inventory.warmup").tag("step", "total").timer().count());
+        assertEquals(1, meterRegistry.get("inventory.warmup").tag("step", "json").timer().count());
+    }
+
+    @Test
+    public void disabledWarmupTouchesNothing() {
+        inventoryProperties.getWarmup().setEnabled(false);
+
+        warmup.run(null);
+
+        verifyNoInteractions(resourceTypeRepository, ledgerRepository, userServiceClient);
+        verify(roleServiceClient, never()).getRolesForUser(anyString());
+        assertEquals(0, meterRegistry.find("inventory.warmup").timers().size());
+    }
+}
@@ -0,0 +1,297 @@
+package com.carousel.inventory;
+
+import com.carousel.inventory.client.RoleServiceClient;
+import com.carousel.inventory.client.UserServiceClient;
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.domain.InventoryItem;
+import com.carousel.inventory.domain.LocationStock;
+import com.carousel.inventory.domain.StockTransfer;
+import com.carousel.inventory.domain.TransferKind;
+import com.carousel.inventory.domain.TransferStatus;
+import com.carousel.inventory.dto.StockTransferDto;
+import com.carousel.inventory.dto.StockTransferRequest;
+import com.carousel.inventory.dto.UserDto;
+import com.carousel.inventory.repository.InventoryItemRepository;
+import com.carousel.inventory.repository.LocationStockRepository;
+import com.carousel.inventory.repository.QuantityLedgerRepository;
+import com.carousel.inventory.repository.QuantitySnapshotRepository;
+import com.carousel.inventory.repository.ResourceTypeRepository;
+import com.carousel.inventory.repository.StockAlertRepository;
+import com.carousel.inventory.repository.StockTransferRepository;
+import com.carousel.inventory.service.AuthorizationCache;
+import com.carousel.inventory.service.InventoryAuthorizationService;
+import com.carousel.inventory.service.InventoryChangeHub;
+import com.carousel.inventory.service.LocationStockService;
+import com.carousel.inventory.service.LowStockAlertService;
+import com.carousel.inventory.service.QuantityLedgerService;
+import com.carousel.inventory.service.ResourceTypeCatalog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class LocationStockServiceTest {
+
+    @Mock
+    private LocationStockRepository locationStockRepository;
+
+    @Mock
+    private StockTransferRepository transferRepository;
+
+    @Mock
+    private InventoryItemRepository inventoryItemRepository;
+
+    @Mock
+    private QuantityLedgerRepository ledgerRepository;
+
+    @Mock
+    private QuantitySnapshotRepository snapshotRepository;
+
+    @Mock
+    private StockAlertRepository stockAlertRepository;
+
+    @Mock
+    private ResourceTypeRepository resourceTypeRepository;
+
+    @Mock
+    private RoleServiceClient roleServiceClient;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    private LocationStockService locationStockService;
+
+    @BeforeEach
+    public void setUp() {
+        InventoryAuthorizationService authorizationService = new InventoryAuthorizationService(
+                userServiceClient,
+                roleServiceClient,
+                new AuthorizationCache(new InventoryProperties(), new SimpleMeterRegistry())
+        );
+        InventoryProperties inventoryProperties = new InventoryProperties();
+        InventoryChangeHub changeHub = new InventoryChangeHub(inventoryProperties);
+        locationStockService = new LocationStockService(
+                locationStockRepository,
+                transferRepository,
+                inventoryItemRepository,
+                authorizationService,
+                changeHub,
+                new QuantityLedgerService(ledgerRepository, snapshotRepository, inventoryItemRepository, authorizationService, inventoryProperties, new SimpleMeterRegistry()),
+                new LowStockAlertService(stockAlertRepository, inventoryItemRepository,
+                        new ResourceTypeCatalog(resourceTypeRepository, inventoryProperties), changeHub, authorizationService,
+                        inventoryProperties, new SimpleMeterRegistry()),
+                inventoryProperties
+        );
+    }
+
+    @Test
+    public void locationAdjustmentIsJournaledAndIncrementsLocationThenItemTotals() {
+        allowInventoryUser();
+        when(inventoryItemRepository.existsById("item-1")).thenReturn(true);
+        ArgumentCaptor<StockTransfer> journal = journalAs("adj-1");
+        when(locationStockRepository.applyTransferLeg(eq("item-1"), eq("workshop-a"), eq("adj-1"), eq(4), any(LocalDateTime.class))).thenReturn(true);
+        when(transferRepository.advance(eq("adj-1"), anyString(), eq(TransferStatus.PENDING), any(TransferStatus.class), any(LocalDateTime.class), isNull()))
+                .thenReturn(true);
+        when(inventoryItemRepository.applyAdjustmentLeg(eq("item-1"), eq("adj-1"), eq(4), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(item("item-1", 20)));
+        when(locationStockRepository.findById(LocationStock.idOf("item-1", "workshop-a")))
+                .thenReturn(Optional.of(stock("item-1", "workshop-a", 9)));
+
+        var result = locationStockService.adjustAtLocation("item-1", " workshop-a ", 4, "inventory.user@example.com");
+
+        assertEquals(9, result.getQuantity());
+        assertEquals("workshop-a", result.getLocationId());
+        assertEquals(TransferKind.LOCATION_ADJUSTMENT, journal.getValue().getKind());
+        verify(locationStockRepository).clearTransfer("item-1", "workshop-a", "adj-1");
+        verify(inventoryItemRepository).clearTransfer("item-1", "adj-1");
+        verify(transferRepository).advance(eq("adj-1"), eq(journal.getValue().getOwner()), eq(TransferStatus.APPLIED), eq(TransferStatus.COMPLETED),
+                any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void locationAdjustmentIsRejectedWhenLocationWouldGoNegative() {
+        allowInventoryUser();
+        when(inventoryItemRepository.existsById("item-1")).thenReturn(true);
+        journalAs("adj-1");
+        when(locationStockRepository.applyTransferLeg(eq("item-1"), eq("workshop-a"), eq("adj-1"), eq(-4), any(LocalDateTime.class))).thenReturn(false);
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> locationStockService.adjustAtLocation("item-1", "workshop-a", -4, "inventory.user@example.com"));
+
+        assertEquals("Insufficient quantity at location", ex.getMessage());
+        verify(transferRepository).advance(eq("adj-1"), anyString(), eq(TransferStatus.PENDING), eq(TransferStatus.CANCELLED), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(inventoryItemRepository, never()).applyAdjustmentLeg(anyString(), anyString(), anyInt(), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void transferDebitsSourceCreditsDestinationAndClearsMarkers() {
+        allowInventoryUser();
+        when(inventoryItemRepository.existsById("item-1")).thenReturn(true);
+        journalAs("tr-1");
+        when(locationStockRepository.applyTransferLeg(eq("item-1"), eq("workshop-a"), eq("tr-1"), eq(-3), any(LocalDateTime.class))).thenReturn(true);
+        when(locationStockRepository.applyTransferLeg(eq("item-1"), eq("workshop-b"), eq("tr-1"), eq(3), any(LocalDateTime.class))).thenReturn(true);
+        when(transferRepository.advance(eq("tr-1"), anyString(), eq(TransferStatus.PENDING), any(TransferStatus.class), any(LocalDateTime.class), isNull()))
+                .thenReturn(true);
+
+        StockTransferDto result = locationStockService.transfer("item-1", request("workshop-a", "workshop-b", 3), "inventory.user@example.com");
+
+        assertEquals("COMPLETED", result.getStatus());
+        verify(transferRepository).advance(eq("tr-1"), anyString(), eq(TransferStatus.PENDING), eq(TransferStatus.APPLIED), any(LocalDateTime.class), isNull());
+        verify(locationStockRepository).clearTransfer("item-1", "workshop-a", "tr-1");
+        verify(locationStockRepository).clearTransfer("item-1", "workshop-b", "tr-1");
+        verify(transferRepository).advance(eq("tr-1"), anyString(), eq(TransferStatus.APPLIED), eq(TransferStatus.COMPLETED), any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void transferTakenOverByRecoveryIsNotCreditedAgainByTheRequest() {
+        allowInventoryUser();
+        when(inventoryItemRepository.existsById("item-1")).thenReturn(true);
+        journalAs("tr-1");
+        when(locationStockRepository.applyTransferLeg(eq("item-1"), eq("workshop-a"), eq("tr-1"), eq(-3), any(LocalDateTime.class))).thenReturn(true);
+        StockTransfer claimed = transfer("tr-1", "workshop-a", "workshop-b");
+        claimed.setStatus(TransferStatus.APPLIED);
+        when(transferRepository.findById("tr-1")).thenReturn(Optional.of(claimed));
+
+        StockTransferDto result = locationStockService.transfer("item-1", request("workshop-a", "workshop-b", 3), "inventory.user@example.com");
+
+        assertEquals("APPLIED", result.getStatus());
+        verify(locationStockRepository, never()).applyTransferLeg(eq("item-1"), eq("workshop-b"), anyString(), anyInt(), any(LocalDateTime.class));
+        verify(locationStockRepository, never()).clearTransfer(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    public void transferFromUnlocatedStockIsCancelledWhenTooLittleIsUnlocated() {
+        allowInventoryUser();
+        when(inventoryItemRepository.existsById("item-1")).thenReturn(true);
+        journalAs("tr-1");
+        when(inventoryItemRepository.applyTransferLeg(eq("item-1"), eq("tr-1"), eq(5), any(LocalDateTime.class))).thenReturn(false);
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> locationStockService.transfer("item-1", request(null, "workshop-b", 5), "inventory.user@example.com"));
+
+        assertEquals("Insufficient unlocated quantity", ex.getMessage());
+        verify(transferRepository).advance(eq("tr-1"), anyString(), eq(TransferStatus.PENDING), eq(TransferStatus.CANCELLED), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(locationStockRepository, never()).applyTransferLeg(anyString(), anyString(), anyString(), anyInt(), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void recoveryClaimsThenFinishesDebitedTransfersAndCancelsTheRest() {
+        StockTransfer debited = transfer("tr-1", "workshop-a", "workshop-b");
+        StockTransfer untouched = transfer("tr-2", "workshop-a", "workshop-c");
+        StockTransfer moved = transfer("tr-3", "workshop-a", "workshop-d");
+        when(transferRepository.findByStatusInAndUpdatedAtBeforeOrderByUpdatedAtAsc(any(), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(debited, untouched, moved));
+        when(transferRepository.claim(eq("tr-1"), eq(TransferStatus.PENDING), any(), anyString(), any(LocalDateTime.class))).thenReturn(true);
+        when(transferRepository.claim(eq("tr-2"), eq(TransferStatus.PENDING), any(), anyString(), any(LocalDateTime.class))).thenReturn(true);
+        when(transferRepository.claim(eq("tr-3"), eq(TransferStatus.PENDING), any(), anyString(), any(LocalDateTime.class))).thenReturn(false);
+        when(locationStockRepository.hasTransfer("item-1", "workshop-a", "tr-1")).thenReturn(true);
+        when(locationStockRepository.hasTransfer("item-1", "workshop-a", "tr-2")).thenReturn(false);
+        when(transferRepository.advance(eq("tr-1"), anyString(), eq(TransferStatus.PENDING), eq(TransferStatus.APPLIED), any(LocalDateTime.class), isNull()))
+                .thenReturn(true);
+
+        locationStockService.recoverTransfers();
+
+        verify(locationStockRepository).applyTransferLeg(eq("item-1"), eq("workshop-b"), eq("tr-1"), eq(2), any(LocalDateTime.class));
+        verify(transferRepository).advance(eq("tr-1"), anyString(), eq(TransferStatus.APPLIED), eq(TransferStatus.COMPLETED), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(transferRepository).advance(eq("tr-2"), anyString(), eq(TransferStatus.PENDING), eq(TransferStatus.CANCELLED), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(locationStockRepository, never()).applyTransferLeg(eq("item-1"), eq("workshop-c"), eq("tr-2"), anyInt(), any(LocalDateTime.class));
+        verify(locationStockRepository, never()).hasTransfer("item-1", "workshop-a", "tr-3");
+        verify(locationStockRepository, never()).applyTransferLeg(eq("item-1"), eq("workshop-d"), eq("tr-3"), anyInt(), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void recoveryAppliesItemSideOfInterruptedLocationAdjustment() {
+        StockTransfer adjustment = transfer("adj-1", null, "workshop-a");
+        adjustment.setKind(TransferKind.LOCATION_ADJUSTMENT);
+        adjustment.setQuantity(-2);
+        adjustment.setRequesterEmail("inventory.user@example.com");
+        when(transferRepository.findByStatusInAndUpdatedAtBeforeOrderByUpdatedAtAsc(any(), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(adjustment));
+        when(transferRepository.claim(eq("adj-1"), eq(TransferStatus.PENDING), any(), anyString(), any(LocalDateTime.class))).thenReturn(true);
+        when(locationStockRepository.hasTransfer("item-1", "workshop-a", "adj-1")).thenReturn(true);
+        when(inventoryItemRepository.applyAdjustmentLeg(eq("item-1"), eq("adj-1"), eq(-2), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(item("item-1", 18)));
+        when(transferRepository.advance(eq("adj-1"), anyString(), eq(TransferStatus.PENDING), eq(TransferStatus.APPLIED), any(LocalDateTime.class), isNull()))
+                .thenReturn(true);
+
+        locationStockService.recoverTransfers();
+
+        verify(ledgerRepository).insert(anyList());
+        verify(locationStockRepository).clearTransfer("item-1", "workshop-a", "adj-1");
+        verify(inventoryItemRepository).clearTransfer("item-1", "adj-1");
+        verify(transferRepository).advance(eq("adj-1"), anyString(), eq(TransferStatus.APPLIED), eq(TransferStatus.COMPLETED), any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+
+    private void allowInventoryUser() {
+        when(userServiceClient.getUserByEmail("inventory.user@example.com"))
+                .thenReturn(new UserDto("2", "Inventory", "User", "inventory.user@example.com", "User"));
+        when(roleServiceClient.getRolesForUser("inventory.user@example.com")).thenReturn(List.of("InventoryUser"));
+    }
+
+    private ArgumentCaptor<StockTransfer> journalAs(String id) {
+        ArgumentCaptor<StockTransfer> journal = ArgumentCaptor.forClass(StockTransfer.class);
+        when(transferRepository.insert(journal.capture())).thenAnswer(invocation -> {
+            StockTransfer transfer = invocation.getArgument(0);
+            transfer.setId(id);
+            return transfer;
+        });
+        return journal;
+    }
+
+    private StockTransferRequest request(String fromLocationId, String toLocationId, int quantity) {
+        StockTransferRequest request = new StockTransferRequest();
+        request.setFromLocationId(fromLocationId);
+        request.setToLocationId(toLocationId);
+        request.setQuantity(quantity);
+        return request;
+    }
+
+    private StockTransfer transfer(String id, String fromLocationId, String toLocationId) {
+        StockTransfer transfer = new StockTransfer();
+        transfer.setId(id);
+        transfer.setItemId("item-1");
+        transfer.setFromLocationId(fromLocationId);
+        transfer.setToLocationId(toLocationId);
+        transfer.setQuantity(2);
+        transfer.setStatus(TransferStatus.PENDING);
+        return transfer;
+    }
+
+    private LocationStock stock(String itemId, String locationId, int quantity) {
+        LocationStock stock = new LocationStock();
+        stock.setId(LocationStock.idOf(itemId, locationId));
+        stock.setItemId(itemId);
+        stock.setLocationId(locationId);
+        stock.setQuantity(quantity);
+        return stock;
+    }
+
+    private InventoryItem item(String id, int availableQuantity) {
+        InventoryItem item = new InventoryItem();
+        item.setId(id);
+        item.setName(id);
+        item.setAvailableQuantity(availableQuantity);
+        return item;
+    }
+}
@@ -0,0 +1,144 @@
+package com.carousel.inventory;
+
+import com.carousel.inventory.client.RoleServiceClient;
+import com.carousel.inventory.client.UserServiceClient;
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.domain.InventoryItem;
+import com.carousel.inventory.domain.ResourceType;
+import com.carousel.inventory.domain.StockAlert;
+import com.carousel.inventory.repository.InventoryItemRepository;
+import com.carousel.inventory.repository.ResourceTypeRepository;
+import com.carousel.inventory.repository.StockAlertRepository;
+import com.carousel.inventory.service.AuthorizationCache;
+import com.carousel.inventory.service.InventoryAuthorizationService;
+import com.carousel.inventory.service.InventoryChangeHub;
+import com.carousel.inventory.service.LowStockAlertService;
+import com.carousel.inventory.service.ResourceTypeCatalog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class LowStockAlertServiceTest {
+
+    @Mock
+    private StockAlertRepository alertRepository;
+
+    @Mock
+    private InventoryItemRepository inventoryItemRepository;
+
+    @Mock
+    private ResourceTypeRepository resourceTypeRepository;
+
+    @Mock
+    private RoleServiceClient roleServiceClient;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LowStockAlertService alertService;
+
+    @BeforeEach
+    public void setUp() {
+        InventoryAuthorizationService authorizationService = new InventoryAuthorizationService(
+                userServiceClient,
+                roleServiceClient,
+                new AuthorizationCache(new InventoryProperties(), new SimpleMeterRegistry())
+        );
+        InventoryProperties inventoryProperties = new InventoryProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        alertService = new LowStockAlertService(
+                alertRepository,
+                inventoryItemRepository,
+                new ResourceTypeCatalog(resourceTypeRepository, inventoryProperties),
+                new InventoryChangeHub(inventoryProperties),
+                authorizationService,
+                inventoryProperties,
+                meterRegistry
+        );
+    }
+
+    @Test
+    public void crossingBelowInheritedThresholdRaisesOneAlertPerDebouncePeriod() {
+        ResourceType metal = type("type-1", null);
+        ResourceType gold = type("type-2", 10);
+        when(resourceTypeRepository.findAll()).thenReturn(List.of(metal, gold));
+        when(alertRepository.claimAlert(eq("item-1"), any(LocalDateTime.class), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(true)
+                .thenReturn(false);
+
+        alertService.onQuantityChanged(item(8, null), 12);
+        alertService.onQuantityChanged(item(7, null), 11);
+
+        ArgumentCaptor<LocalDateTime> raisedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> debouncedBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(alertRepository, times(2)).claimAlert(eq("item-1"), raisedAt.capture(), debouncedBefore.capture(), any(LocalDateTime.class));
+        // The period runs back from each crossing, not from a fixed bucket boundary
+        assertEquals(raisedAt.getValue().minusHours(1), debouncedBefore.getValue());
+        ArgumentCaptor<StockAlert> alert = ArgumentCaptor.forClass(StockAlert.class);
+        verify(alertRepository).insert(alert.capture());
+        assertEquals(10, alert.getValue().getThreshold());
+        assertEquals(8, alert.getValue().getQuantity());
+        assertEquals(1.0, meterRegistry.get("inventory.low_stock.alerts").tag("outcome", "raised").counter().count());
+        assertEquals(1.0, meterRegistry.get("inventory.low_stock.alerts").tag("outcome", "debounced").counter().count());
+    }
+
+    @Test
+    public void changesThatDoNotCrossTheThresholdRaiseNothing() {
+        alertService.onQuantityChanged(item(5, 10), 8);
+        alertService.onQuantityChanged(item(15, 10), 30);
+        alertService.onQuantityChanged(item(12, 10), 4);
+        alertService.onQuantityChanged(item(0, 0), 3);
+
+        verify(alertRepository, never()).insert(any(StockAlert.class));
+    }
+
+    @Test
+    public void dispatchPublishesClaimedAlerts() {
+        StockAlert alert = new StockAlert();
+        alert.setItemId("item-1");
+        when(alertRepository.claimUndispatched(anyInt(), anyString(), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1L);
+        when(alertRepository.findByDispatchRunId(anyString())).thenReturn(List.of(alert));
+        when(inventoryItemRepository.findAllById(List.of("item-1"))).thenReturn(List.of(item(3, 10)));
+
+        alertService.dispatchAlerts();
+
+        verify(alertRepository).claimUndispatched(eq(100), anyString(), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(inventoryItemRepository).findAllById(List.of("item-1"));
+    }
+
+    private ResourceType type(String id, Integer lowStockThreshold) {
+        ResourceType type = new ResourceType(id, id, id, "💎", null, null, LocalDateTime.now(), LocalDateTime.now());
+        type.setLowStockThreshold(lowStockThreshold);
+        return type;
+    }
+
+    private InventoryItem item(int availableQuantity, Integer lowStockThreshold) {
+        InventoryItem item = new InventoryItem();
+        item.setId("item-1");
+        item.setName("Gold wire");
+        item.setResourceTypeId("type-1");
+        item.setTypePath(List.of("type-1", "type-2"));
+        item.setAvailableQuantity(availableQuantity);
+        item.setLowStockThreshold(lowStockThreshold);
+        return item;
+    }
+}
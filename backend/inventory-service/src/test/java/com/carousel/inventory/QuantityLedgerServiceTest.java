@@ -0,0 +1,200 @@
+package com.carousel.inventory;
+
+import com.carousel.inventory.client.RoleServiceClient;
+import com.carousel.inventory.client.UserServiceClient;
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.domain.InventoryItem;
+import com.carousel.inventory.domain.QuantityLedgerEntry;
+import com.carousel.inventory.domain.QuantitySnapshot;
+import com.carousel.inventory.dto.QuantityAsOf;
+import com.carousel.inventory.dto.UserDto;
+import com.carousel.inventory.repository.InventoryItemRepository;
+import com.carousel.inventory.repository.QuantityLedgerRepository;
+import com.carousel.inventory.repository.QuantitySnapshotRepository;
+import com.carousel.inventory.service.AuthorizationCache;
+import com.carousel.inventory.service.InventoryAuthorizationService;
+import com.carousel.inventory.service.QuantityLedgerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class QuantityLedgerServiceTest {
+
+    @Mock
+    private QuantityLedgerRepository ledgerRepository;
+
+    @Mock
+    private QuantitySnapshotRepository snapshotRepository;
+
+    @Mock
+    private InventoryItemRepository inventoryItemRepository;
+
+    @Mock
+    private RoleServiceClient roleServiceClient;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    private QuantityLedgerService ledgerService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        InventoryAuthorizationService authorizationService = new InventoryAuthorizationService(
+                userServiceClient,
+                roleServiceClient,
+                new AuthorizationCache(new InventoryProperties(), new SimpleMeterRegistry())
+        );
+        meterRegistry = new SimpleMeterRegistry();
+        ledgerService = new QuantityLedgerService(
+                ledgerRepository,
+                snapshotRepository,
+                inventoryItemRepository,
+                authorizationService,
+                new InventoryProperties(),
+                meterRegistry
+        );
+    }
+
+    @Test
+    public void quantityAsOfReplaysLedgerOnTopOfLatestSnapshot() {
+        LocalDateTime asOf = LocalDateTime.of(2026, 3, 1, 12, 0);
+        LocalDateTime snapshotAt = LocalDateTime.of(2026, 3, 1, 11, 0);
+        when(userServiceClient.getUserByEmail("inventory.user@example.com"))
+                .thenReturn(new UserDto("2", "Inventory", "User", "inventory.user@example.com", "User"));
+        when(roleServiceClient.getRolesForUser("inventory.user@example.com")).thenReturn(List.of("InventoryUser"));
+        when(snapshotRepository.findFirstByItemIdAndTakenAtLessThanEqualOrderByTakenAtDesc("item-1", asOf))
+                .thenReturn(Optional.of(new QuantitySnapshot("item-1", 40, snapshotAt)));
+        when(ledgerRepository.sumDeltas("item-1", snapshotAt, asOf)).thenReturn(-7L);
+
+        QuantityAsOf result = ledgerService.getQuantityAsOf("item-1", "2026-03-01T12:00:00", "inventory.user@example.com");
+
+        assertEquals(33, result.getQuantity());
+        assertEquals(snapshotAt, result.getSnapshotTakenAt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void compactionRollsWindowTotalsOntoPreviousSnapshots() {
+        LocalDateTime previousCutoff = LocalDateTime.now().minusHours(2);
+        when(snapshotRepository.findFirstByOrderByTakenAtDesc())
+                .thenReturn(Optional.of(new QuantitySnapshot("item-1", 10, previousCutoff)));
+        when(ledgerRepository.sumDeltasByItem(eq(previousCutoff), any(LocalDateTime.class)))
+                .thenReturn(Map.of("item-1", 5L, "item-2", 3L));
+        when(snapshotRepository.findFirstByItemIdAndTakenAtLessThanEqualOrderByTakenAtDesc("item-1", previousCutoff))
+                .thenReturn(Optional.of(new QuantitySnapshot("item-1", 10, previousCutoff)));
+        when(snapshotRepository.findFirstByItemIdAndTakenAtLessThanEqualOrderByTakenAtDesc("item-2", previousCutoff))
+                .thenReturn(Optional.empty());
+        when(ledgerRepository.sumDeltas("item-2", null, previousCutoff)).thenReturn(20L);
+
+        ledgerService.compactSnapshots();
+
+        ArgumentCaptor<List<QuantitySnapshot>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(snapshotRepository).insert(inserted.capture());
+        Map<String, Long> quantities = new java.util.HashMap<>();
+        inserted.getValue().forEach(snapshot -> quantities.put(snapshot.getItemId(), snapshot.getQuantity()));
+        assertEquals(Map.of("item-1", 15L, "item-2", 23L), quantities);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void compactionCatchesUpItemsMissedByAPartialRunAndWritesPastDuplicates() {
+        LocalDateTime olderCutoff = LocalDateTime.now().minusHours(3);
+        LocalDateTime previousCutoff = LocalDateTime.now().minusHours(2);
+        when(snapshotRepository.findFirstByOrderByTakenAtDesc())
+                .thenReturn(Optional.of(new QuantitySnapshot("item-1", 10, previousCutoff)));
+        when(ledgerRepository.sumDeltasByItem(eq(previousCutoff), any(LocalDateTime.class)))
+                .thenReturn(Map.of("item-1", 5L, "item-2", 3L));
+        when(snapshotRepository.findFirstByItemIdAndTakenAtLessThanEqualOrderByTakenAtDesc("item-1", previousCutoff))
+                .thenReturn(Optional.of(new QuantitySnapshot("item-1", 10, previousCutoff)));
+        when(snapshotRepository.findFirstByItemIdAndTakenAtLessThanEqualOrderByTakenAtDesc("item-2", previousCutoff))
+                .thenReturn(Optional.of(new QuantitySnapshot("item-2", 20, olderCutoff)));
+        when(ledgerRepository.sumDeltas("item-2", olderCutoff, previousCutoff)).thenReturn(4L);
+        when(snapshotRepository.insert(anyList())).thenThrow(new DuplicateKeyException("duplicate snapshot"));
+        when(snapshotRepository.insert(any(QuantitySnapshot.class))).thenAnswer(invocation -> {
+            QuantitySnapshot snapshot = invocation.getArgument(0);
+            if (snapshot.getItemId().equals("item-1")) {
+                throw new DuplicateKeyException("duplicate snapshot");
+            }
+            return snapshot;
+        });
+
+        ledgerService.compactSnapshots();
+
+        ArgumentCaptor<QuantitySnapshot> inserted = ArgumentCaptor.forClass(QuantitySnapshot.class);
+        verify(snapshotRepository, times(2)).insert(inserted.capture());
+        QuantitySnapshot caughtUp = inserted.getAllValues().stream()
+                .filter(snapshot -> snapshot.getItemId().equals("item-2"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(27L, caughtUp.getQuantity());
+    }
+
+    @Test
+    public void failedLedgerWriteFlagsItemsForReconciliation() {
+        when(ledgerRepository.insert(anyList())).thenThrow(new DataAccessResourceFailureException("connection reset"));
+
+        ledgerService.recordAll(List.of(
+                ledgerService.entry("item-1", -2, 8, QuantityLedgerService.ADJUST, "inventory.user@example.com"),
+                ledgerService.entry("item-2", 4, 4, QuantityLedgerService.ADJUST, "inventory.user@example.com")
+        ));
+
+        verify(inventoryItemRepository).markLedgerDrift(Set.of("item-1", "item-2"));
+        assertEquals(2.0, meterRegistry.get("inventory.ledger.write.failures").counter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void reconciliationBooksDifferenceAndSkipsItemsChangedSinceRead() {
+        InventoryItem drifted = driftedItem("item-1", 8, 3L);
+        InventoryItem changed = driftedItem("item-2", 5, 7L);
+        when(inventoryItemRepository.findLedgerDrift(any(LocalDateTime.class), anyInt())).thenReturn(List.of(drifted, changed));
+        when(ledgerRepository.sumDeltas(eq("item-1"), isNull(), any(LocalDateTime.class))).thenReturn(10L);
+        when(ledgerRepository.sumDeltas(eq("item-2"), isNull(), any(LocalDateTime.class))).thenReturn(9L);
+        when(inventoryItemRepository.clearLedgerDrift("item-1", 3L)).thenReturn(true);
+        when(inventoryItemRepository.clearLedgerDrift("item-2", 7L)).thenReturn(false);
+
+        ledgerService.reconcileDrift();
+
+        ArgumentCaptor<List<QuantityLedgerEntry>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(ledgerRepository).insert(inserted.capture());
+        QuantityLedgerEntry correction = inserted.getValue().get(0);
+        assertEquals("item-1", correction.getItemId());
+        assertEquals(-2, correction.getDelta());
+        assertEquals(QuantityLedgerService.RECONCILE, correction.getReason());
+        assertEquals(1.0, meterRegistry.get("inventory.ledger.drift.corrections").counter().count());
+    }
+
+    private InventoryItem driftedItem(String id, int availableQuantity, Long version) {
+        InventoryItem item = new InventoryItem();
+        item.setId(id);
+        item.setAvailableQuantity(availableQuantity);
+        item.setVersion(version);
+        item.setLedgerDrift(true);
+        return item;
+    }
+}
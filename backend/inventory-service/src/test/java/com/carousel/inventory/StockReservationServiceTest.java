@@ -0,0 +1,224 @@
+package com.carousel.inventory;
+
+import com.carousel.inventory.client.RoleServiceClient;
+import com.carousel.inventory.client.UserServiceClient;
+import com.carousel.inventory.config.InventoryProperties;
+import com.carousel.inventory.domain.InventoryItem;
+import com.carousel.inventory.domain.QuantityLedgerEntry;
+import com.carousel.inventory.domain.ReservationStatus;
+import com.carousel.inventory.domain.StockReservation;
+import com.carousel.inventory.dto.StockReservationRequest;
+import com.carousel.inventory.dto.UserDto;
+import com.carousel.inventory.repository.InventoryItemRepository;
+import com.carousel.inventory.repository.QuantityLedgerRepository;
+import com.carousel.inventory.repository.QuantitySnapshotRepository;
+import com.carousel.inventory.repository.ResourceTypeRepository;
+import com.carousel.inventory.repository.StockAlertRepository;
+import com.carousel.inventory.repository.StockReservationRepository;
+import com.carousel.inventory.service.AuthorizationCache;
+import com.carousel.inventory.service.InventoryAuthorizationService;
+import com.carousel.inventory.service.InventoryChangeHub;
+import com.carousel.inventory.service.LowStockAlertService;
+import com.carousel.inventory.service.QuantityLedgerService;
+import com.carousel.inventory.service.ResourceTypeCatalog;
+import com.carousel.inventory.service.StockReservationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class StockReservationServiceTest {
+
+    @Mock
+    private StockReservationRepository reservationRepository;
+
+    @Mock
+    private InventoryItemRepository inventoryItemRepository;
+
+    @Mock
+    private QuantityLedgerRepository ledgerRepository;
+
+    @Mock
+    private QuantitySnapshotRepository snapshotRepository;
+
+    @Mock
+    private StockAlertRepository stockAlertRepository;
+
+    @Mock
+    private ResourceTypeRepository resourceTypeRepository;
+
+    @Mock
+    private RoleServiceClient roleServiceClient;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    private InventoryProperties inventoryProperties;
+    private StockReservationService reservationService;
+
+    @BeforeEach
+    public void setUp() {
+        InventoryAuthorizationService authorizationService = new InventoryAuthorizationService(
+                userServiceClient,
+                roleServiceClient,
+                new AuthorizationCache(new InventoryProperties(), new SimpleMeterRegistry())
+        );
+        inventoryProperties = new InventoryProperties();
+        InventoryChangeHub changeHub = new InventoryChangeHub(inventoryProperties);
+        reservationService = new StockReservationService(
+                reservationRepository,
+                inventoryItemRepository,
+                authorizationService,
+                changeHub,
+                new QuantityLedgerService(ledgerRepository, snapshotRepository, inventoryItemRepository, authorizationService, inventoryProperties, new SimpleMeterRegistry()),
+                new LowStockAlertService(stockAlertRepository, inventoryItemRepository,
+                        new ResourceTypeCatalog(resourceTypeRepository, inventoryProperties), changeHub, authorizationService,
+                        inventoryProperties, new SimpleMeterRegistry()),
+                inventoryProperties
+        );
+    }
+
+    @Test
+    public void reserveRejectsWhenGuardedDecrementFails() {
+        allowInventoryUser();
+        when(inventoryItemRepository.adjustQuantity(eq("item-1"), eq(-5), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        when(inventoryItemRepository.existsById("item-1")).thenReturn(true);
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> reservationService.reserve(request("item-1", 5), "inventory.user@example.com"));
+
+        assertEquals("Insufficient available quantity", ex.getMessage());
+        verify(reservationRepository, never()).insert(any(StockReservation.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void releaseReturnsHeldStockOnce() {
+        allowInventoryUser();
+        StockReservation returning = reservation("res-1", "item-1", 3, ReservationStatus.RELEASED);
+        when(reservationRepository.startReturn(eq("res-1"), eq(ReservationStatus.RELEASED), any(LocalDateTime.class), anyString()))
+                .thenReturn(Optional.of(returning))
+                .thenReturn(Optional.empty());
+        when(reservationRepository.existsById("res-1")).thenReturn(true);
+        when(inventoryItemRepository.bulkAdjustQuantities(eq(Map.of("item-1", 3)), anyString(), any(LocalDateTime.class))).thenReturn(Set.of());
+        when(inventoryItemRepository.findAllById(any(Iterable.class))).thenReturn(List.of(item("item-1", 10)));
+
+        assertEquals("RELEASED", reservationService.release("res-1", "inventory.user@example.com").getStatus());
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> reservationService.release("res-1", "inventory.user@example.com"));
+
+        assertEquals("Reservation is no longer held", ex.getMessage());
+        verify(inventoryItemRepository, times(1)).bulkAdjustQuantities(any(), anyString(), any(LocalDateTime.class));
+        verify(reservationRepository).finishReturn(anyString(), eq(ReservationStatus.RELEASED), any(LocalDateTime.class));
+        verify(ledgerRepository).insert(anyList());
+    }
+
+    @Test
+    public void failedReleaseLeavesTheHoldReturning() {
+        allowInventoryUser();
+        when(reservationRepository.startReturn(eq("res-1"), eq(ReservationStatus.RELEASED), any(LocalDateTime.class), anyString()))
+                .thenReturn(Optional.of(reservation("res-1", "item-1", 3, ReservationStatus.RELEASED)));
+        when(inventoryItemRepository.bulkAdjustQuantities(any(), anyString(), any(LocalDateTime.class)))
+                .thenThrow(new RuntimeException("connection reset"));
+
+        assertThrows(RuntimeException.class, () -> reservationService.release("res-1", "inventory.user@example.com"));
+
+        verify(reservationRepository, never()).finishReturn(anyString(), any(), any());
+        verify(ledgerRepository, never()).insert(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void reaperReturnsExpiredStockInBatchesGroupedByItem() {
+        inventoryProperties.getReservations().setReaperBatchSize(2);
+        when(reservationRepository.claimExpired(any(LocalDateTime.class), eq(2), anyString()))
+                .thenReturn(2L)
+                .thenReturn(0L);
+        when(reservationRepository.findByReturnRunIdAndStatus(anyString(), eq(ReservationStatus.RETURNING))).thenReturn(List.of(
+                reservation("res-1", "item-1", 2, ReservationStatus.EXPIRED),
+                reservation("res-2", "item-1", 4, ReservationStatus.EXPIRED)
+        ));
+        when(inventoryItemRepository.bulkAdjustQuantities(any(), anyString(), any(LocalDateTime.class))).thenReturn(Set.of());
+        when(inventoryItemRepository.findAllById(any(Iterable.class))).thenReturn(List.of(item("item-1", 6)));
+
+        reservationService.reapExpiredReservations();
+
+        verify(reservationRepository, times(2)).claimExpired(any(LocalDateTime.class), anyInt(), anyString());
+        verify(inventoryItemRepository).bulkAdjustQuantities(eq(Map.of("item-1", 6)), anyString(), any(LocalDateTime.class));
+        verify(reservationRepository).finishReturn(anyString(), eq(ReservationStatus.EXPIRED), any(LocalDateTime.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void stalledReturnIsResumedUnderItsOwnRunAndLedgersOnlyAppliedItems() {
+        StockReservation first = reservation("res-1", "item-1", 2, ReservationStatus.EXPIRED);
+        StockReservation second = reservation("res-2", "item-gone", 4, ReservationStatus.EXPIRED);
+        first.setReturnRunId("run-1");
+        second.setReturnRunId("run-1");
+        when(reservationRepository.findStalledReturns(any(LocalDateTime.class), anyInt())).thenReturn(List.of(first, second));
+        when(inventoryItemRepository.bulkAdjustQuantities(eq(Map.of("item-1", 2, "item-gone", 4)), eq("run-1"), any(LocalDateTime.class)))
+                .thenReturn(Set.of("item-gone"));
+        when(inventoryItemRepository.findAllById(any(Iterable.class))).thenReturn(List.of(item("item-1", 8)));
+
+        reservationService.resumeStalledReturns();
+
+        verify(reservationRepository).finishReturn(eq("run-1"), eq(ReservationStatus.EXPIRED), any(LocalDateTime.class));
+        verify(inventoryItemRepository).clearAppliedBatch(any(), eq("run-1"));
+        ArgumentCaptor<List<QuantityLedgerEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(ledgerRepository).insert(entries.capture());
+        assertEquals(List.of("item-1"), entries.getValue().stream().map(QuantityLedgerEntry::getItemId).toList());
+    }
+
+    private void allowInventoryUser() {
+        when(userServiceClient.getUserByEmail("inventory.user@example.com"))
+                .thenReturn(new UserDto("2", "Inventory", "User", "inventory.user@example.com", "User"));
+        when(roleServiceClient.getRolesForUser("inventory.user@example.com")).thenReturn(List.of("InventoryUser"));
+    }
+
+    private StockReservationRequest request(String itemId, int quantity) {
+        StockReservationRequest request = new StockReservationRequest();
+        request.setItemId(itemId);
+        request.setQuantity(quantity);
+        return request;
+    }
+
+    private StockReservation reservation(String id, String itemId, int quantity, ReservationStatus resolution) {
+        StockReservation reservation = new StockReservation();
+        reservation.setId(id);
+        reservation.setItemId(itemId);
+        reservation.setQuantity(quantity);
+        reservation.setStatus(ReservationStatus.RETURNING);
+        reservation.setResolution(resolution);
+        return reservation;
+    }
+
+    private InventoryItem item(String id, int availableQuantity) {
+        InventoryItem item = new InventoryItem();
+        item.setId(id);
+        item.setName(id);
+        item.setAvailableQuantity(availableQuantity);
+        return item;
+    }
+}
@@ -0,0 +1,14 @@
+package com.carousel.role.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@FeignClient(name = "inventory-service", path = "/api/inventory")
+public interface InventoryServiceClient {
+    @DeleteMapping("/authorization-cache")
+    String invalidateAuthorizationCache(
+            @RequestParam(value = "email", required = false) String email,
+            @RequestParam("requesterEmail") String requesterEmail
+    );
+}
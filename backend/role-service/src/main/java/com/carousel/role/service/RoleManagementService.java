@@ -1,5 +1,6 @@
 package com.carousel.role.service;
 
+import com.carousel.role.client.InventoryServiceClient;
 import com.carousel.role.client.UserServiceClient;
 import com.carousel.role.config.PredefinedRolesConfig;
 import com.carousel.role.domain.Role;
@@ -24,17 +25,20 @@ public class RoleManagementService {
     private final UserRoleAssignmentRepository assignmentRepository;
     private final UserServiceClient userServiceClient;
     private final PredefinedRolesConfig predefinedRolesConfig;
+    private final InventoryServiceClient inventoryServiceClient;
 
     public RoleManagementService(
             RoleRepository roleRepository,
             UserRoleAssignmentRepository assignmentRepository,
             UserServiceClient userServiceClient,
-            PredefinedRolesConfig predefinedRolesConfig
+            PredefinedRolesConfig predefinedRolesConfig,
+            InventoryServiceClient inventoryServiceClient
     ) {
         this.roleRepository = roleRepository;
         this.assignmentRepository = assignmentRepository;
         this.userServiceClient = userServiceClient;
         this.predefinedRolesConfig = predefinedRolesConfig;
+        this.inventoryServiceClient = inventoryServiceClient;
     }
 
     @PostConstruct
@@ -132,6 +136,7 @@ public class RoleManagementService {
                 assignmentRepository.save(assignment);
             }
         });
+        invalidateInventoryAuthorizationQuietly(null, requesterEmail);
     }
 
     public void assignRole(RoleAssignmentRequest request, String requesterEmail) {
@@ -147,6 +152,7 @@ public class RoleManagementService {
         if (!assignment.getRoles().stream().anyMatch(role -> role.equalsIgnoreCase(roleName))) {
             assignment.getRoles().add(roleName);
             assignment.setUpdatedAt(LocalDateTime.now());
+            // Inventory re-checks a cached denial against this service, so a new grant needs no invalidation
             assignmentRepository.save(assignment);
         }
     }
@@ -163,6 +169,7 @@ public class RoleManagementService {
 
         assignment.setUpdatedAt(LocalDateTime.now());
         assignmentRepository.save(assignment);
+        invalidateInventoryAuthorizationQuietly(request.getUserEmail(), requesterEmail);
     }
 
     public List<String> getRolesForUser(String email) {
@@ -209,6 +216,14 @@ public class RoleManagementService {
         }
     }
 
+    private void invalidateInventoryAuthorizationQuietly(String userEmail, String requesterEmail) {
+        // Inventory caches role lookups; a failed call only delays the change until the cache entry expires
+        try {
+            inventoryServiceClient.invalidateAuthorizationCache(userEmail, requesterEmail);
+        } catch (Exception ignored) {
+        }
+    }
+
     private void validateAdmin(String requesterEmail) {
         UserDto user = userServiceClient.getUserByEmail(requesterEmail);
         if (user == null || user.getAccessLevel() == null || !"Admin".equalsIgnoreCase(user.getAccessLevel())) {
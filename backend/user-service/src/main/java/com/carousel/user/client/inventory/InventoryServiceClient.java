@@ -0,0 +1,11 @@
+package com.carousel.user.client.inventory;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@FeignClient(name = "inventory-service", path = "/api/inventory")
+public interface InventoryServiceClient {
+    @DeleteMapping("/internal/authorization-cache")
+    String invalidateAuthorization(@RequestParam("email") String email);
+}
@@ -1,6 +1,7 @@
 package com.carousel.user.domain;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -14,14 +15,17 @@ public class PendingUser {
     private String email;
     private String password; // Store password temporarily until approval
     private AccessLevel requestedAccessLevel;
-    private String emailVerificationToken;
+    @Indexed(sparse = true)
+    private String emailVerificationToken; // Plain token of registrations made before tokens were hashed
+    @Indexed(unique = true, sparse = true)
+    private String emailVerificationTokenHash;
     private boolean emailVerified;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
     public PendingUser() {}
 
-    public PendingUser(String id, String firstName, String lastName, String email, String password, AccessLevel requestedAccessLevel, String emailVerificationToken, boolean emailVerified, LocalDateTime createdAt, LocalDateTime updatedAt) {
+    public PendingUser(String id, String firstName, String lastName, String email, String password, AccessLevel requestedAccessLevel, String emailVerificationToken, String emailVerificationTokenHash, boolean emailVerified, LocalDateTime createdAt, LocalDateTime updatedAt) {
         this.id = id;
         this.firstName = firstName;
         this.lastName = lastName;
@@ -29,6 +33,7 @@ public class PendingUser {
         this.password = password;
         this.requestedAccessLevel = requestedAccessLevel;
         this.emailVerificationToken = emailVerificationToken;
+        this.emailVerificationTokenHash = emailVerificationTokenHash;
         this.emailVerified = emailVerified;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
@@ -48,6 +53,8 @@ public class PendingUser {
     public void setRequestedAccessLevel(AccessLevel requestedAccessLevel) { this.requestedAccessLevel = requestedAccessLevel; }
     public String getEmailVerificationToken() { return emailVerificationToken; }
     public void setEmailVerificationToken(String emailVerificationToken) { this.emailVerificationToken = emailVerificationToken; }
+    public String getEmailVerificationTokenHash() { return emailVerificationTokenHash; }
+    public void setEmailVerificationTokenHash(String emailVerificationTokenHash) { this.emailVerificationTokenHash = emailVerificationTokenHash; }
     public boolean isEmailVerified() { return emailVerified; }
     public void setEmailVerified(boolean emailVerified) { this.emailVerified = emailVerified; }
     public LocalDateTime getCreatedAt() { return createdAt; }
@@ -67,6 +74,7 @@ public class PendingUser {
         private String password;
         private AccessLevel requestedAccessLevel;
         private String emailVerificationToken;
+        private String emailVerificationTokenHash;
         private boolean emailVerified;
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
@@ -78,12 +86,13 @@ public class PendingUser {
         public PendingUserBuilder password(String password) { this.password = password; return this; }
         public PendingUserBuilder requestedAccessLevel(AccessLevel requestedAccessLevel) { this.requestedAccessLevel = requestedAccessLevel; return this; }
         public PendingUserBuilder emailVerificationToken(String emailVerificationToken) { this.emailVerificationToken = emailVerificationToken; return this; }
+        public PendingUserBuilder emailVerificationTokenHash(String emailVerificationTokenHash) { this.emailVerificationTokenHash = emailVerificationTokenHash; return this; }
         public PendingUserBuilder emailVerified(boolean emailVerified) { this.emailVerified = emailVerified; return this; }
         public PendingUserBuilder createdAt(LocalDateTime createdAt) { this.createdAt = createdAt; return this; }
         public PendingUserBuilder updatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; return this; }
 
         public PendingUser build() {
-            return new PendingUser(id, firstName, lastName, email, password, requestedAccessLevel, emailVerificationToken, emailVerified, createdAt, updatedAt);
+            return new PendingUser(id, firstName, lastName, email, password, requestedAccessLevel, emailVerificationToken, emailVerificationTokenHash, emailVerified, createdAt, updatedAt);
         }
     }
 }
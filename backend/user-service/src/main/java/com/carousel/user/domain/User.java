@@ -1,6 +1,7 @@
 package com.carousel.user.domain;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -22,13 +23,16 @@ public class User {
     private String email;
     private AccessLevel accessLevel;
     private boolean emailVerified;
-    private String emailVerificationToken;
+    @Indexed(sparse = true)
+    private String emailVerificationToken; // Plain token of users created before tokens were hashed
+    @Indexed(unique = true, sparse = true)
+    private String emailVerificationTokenHash;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
     public User() {}
 
-    public User(String id, String firstName, String lastName, String email, AccessLevel accessLevel, boolean emailVerified, String emailVerificationToken, LocalDateTime createdAt, LocalDateTime updatedAt) {
+    public User(String id, String firstName, String lastName, String email, AccessLevel accessLevel, boolean emailVerified, String emailVerificationToken, String emailVerificationTokenHash, LocalDateTime createdAt, LocalDateTime updatedAt) {
         this.id = id;
         this.firstName = firstName;
         this.lastName = lastName;
@@ -36,6 +40,7 @@ public class User {
         this.accessLevel = accessLevel;
         this.emailVerified = emailVerified;
         this.emailVerificationToken = emailVerificationToken;
+        this.emailVerificationTokenHash = emailVerificationTokenHash;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
     }
@@ -96,6 +101,14 @@ public class User {
         this.emailVerificationToken = emailVerificationToken;
     }
 
+    public String getEmailVerificationTokenHash() {
+        return emailVerificationTokenHash;
+    }
+
+    public void setEmailVerificationTokenHash(String emailVerificationTokenHash) {
+        this.emailVerificationTokenHash = emailVerificationTokenHash;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -124,6 +137,7 @@ public class User {
         private AccessLevel accessLevel;
         private boolean emailVerified;
         private String emailVerificationToken;
+        private String emailVerificationTokenHash;
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
 
@@ -162,6 +176,11 @@ public class User {
             return this;
         }
 
+        public UserBuilder emailVerificationTokenHash(String emailVerificationTokenHash) {
+            this.emailVerificationTokenHash = emailVerificationTokenHash;
+            return this;
+        }
+
         public UserBuilder createdAt(LocalDateTime createdAt) {
             this.createdAt = createdAt;
             return this;
@@ -173,7 +192,7 @@ public class User {
         }
 
         public User build() {
-            return new User(id, firstName, lastName, email, accessLevel, emailVerified, emailVerificationToken, createdAt, updatedAt);
+            return new User(id, firstName, lastName, email, accessLevel, emailVerified, emailVerificationToken, emailVerificationTokenHash, createdAt, updatedAt);
         }
     }
 }
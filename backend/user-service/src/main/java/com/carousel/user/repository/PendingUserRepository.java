@@ -11,5 +11,7 @@ import java.util.Optional;
 public interface PendingUserRepository extends MongoRepository<PendingUser, String> {
     Optional<PendingUser> findByEmail(String email);
     List<PendingUser> findByEmailVerifiedTrue();
+    Optional<PendingUser> findByEmailVerificationTokenHash(String emailVerificationTokenHash);
+    Optional<PendingUser> findByEmailVerificationToken(String emailVerificationToken);
 }
 
@@ -9,5 +9,7 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByEmail(String email);
+    Optional<User> findByEmailVerificationTokenHash(String emailVerificationTokenHash);
+    Optional<User> findByEmailVerificationToken(String emailVerificationToken);
 }
 
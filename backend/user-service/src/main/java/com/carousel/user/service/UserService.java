@@ -9,10 +9,12 @@ import com.carousel.user.dto.RegisterResponse;
 import com.carousel.user.dto.UserDto;
 import com.carousel.user.repository.PendingUserRepository;
 import com.carousel.user.repository.UserRepository;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import com.carousel.user.client.AuthServiceClient;
+import com.carousel.user.client.inventory.InventoryServiceClient;
 import com.carousel.user.client.role.RoleServiceClient;
 import com.carousel.user.client.dto.RegisterCredentialRequest;
 import org.springframework.stereotype.Service;
@@ -29,18 +31,21 @@ public class UserService {
     private final PendingUserRepository pendingUserRepository;
     private final AuthServiceClient authServiceClient;
     private final RoleServiceClient roleServiceClient;
+    private final InventoryServiceClient inventoryServiceClient;
     private JavaMailSender javaMailSender;
 
     public UserService(
             UserRepository userRepository,
             PendingUserRepository pendingUserRepository,
             AuthServiceClient authServiceClient,
-            RoleServiceClient roleServiceClient
+            RoleServiceClient roleServiceClient,
+            InventoryServiceClient inventoryServiceClient
     ) {
         this.userRepository = userRepository;
         this.pendingUserRepository = pendingUserRepository;
         this.authServiceClient = authServiceClient;
         this.roleServiceClient = roleServiceClient;
+        this.inventoryServiceClient = inventoryServiceClient;
     }
 
     @Autowired(required = false)
@@ -67,7 +72,7 @@ public class UserService {
             .email(request.getEmail())
             .password(request.getPassword())
             .requestedAccessLevel(requestedAccessLevel)
-            .emailVerificationToken(verificationToken)
+            .emailVerificationTokenHash(hashVerificationToken(verificationToken))
             .emailVerified(false)
             .createdAt(LocalDateTime.now())
             .updatedAt(LocalDateTime.now())
@@ -88,19 +93,37 @@ public class UserService {
                 .build();
     }
 
+    /**
+     * Verifies the pending registration or directly created user the token was mailed to.
+     * Tokens are stored as a SHA-256 hash and found through its unique index; tokens issued
+     * before hashing are still matched on their plain value.
+     */
     public void verifyEmail(String token) {
-        Optional<PendingUser> pendingUser = pendingUserRepository.findAll().stream()
-                .filter(u -> u.getEmailVerificationToken().equals(token))
-                .findFirst();
-
-        if (pendingUser.isEmpty()) {
+        if (token == null || token.isBlank()) {
             throw new RuntimeException("Invalid verification token");
         }
 
-        PendingUser user = pendingUser.get();
+        String tokenHash = hashVerificationToken(token);
+        Optional<PendingUser> pendingUser = pendingUserRepository.findByEmailVerificationTokenHash(tokenHash)
+                .or(() -> pendingUserRepository.findByEmailVerificationToken(token));
+        if (pendingUser.isPresent()) {
+            PendingUser user = pendingUser.get();
+            user.setEmailVerified(true);
+            user.setUpdatedAt(LocalDateTime.now());
+            pendingUserRepository.save(user);
+            return;
+        }
+
+        User user = userRepository.findByEmailVerificationTokenHash(tokenHash)
+                .or(() -> userRepository.findByEmailVerificationToken(token))
+                .orElseThrow(() -> new RuntimeException("Invalid verification token"));
         user.setEmailVerified(true);
         user.setUpdatedAt(LocalDateTime.now());
-        pendingUserRepository.save(user);
+        userRepository.save(user);
+    }
+
+    public static String hashVerificationToken(String token) {
+        return DigestUtils.sha256Hex(token);
     }
 
     public void approvePendingUser(String pendingUserId) {
@@ -171,6 +194,7 @@ public class UserService {
         user.setAccessLevel(accessLevel);
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        invalidateInventoryAuthorizationQuietly(user.getEmail());
     }
 
     public List<PendingUserDto> getVerifiedPendingUsers() {
@@ -212,7 +236,7 @@ public class UserService {
                 .lastName(lastName)
                 .email(email)
             .accessLevel(effectiveAccessLevel)
-                .emailVerificationToken(verificationToken)
+                .emailVerificationTokenHash(hashVerificationToken(verificationToken))
                 .emailVerified(false)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
@@ -254,6 +278,7 @@ public class UserService {
         user.setUpdatedAt(LocalDateTime.now());
 
         userRepository.save(user);
+        invalidateInventoryAuthorizationQuietly(user.getEmail());
         return convertToDto(user);
     }
 
@@ -314,6 +339,14 @@ public class UserService {
         }
     }
 
+    private void invalidateInventoryAuthorizationQuietly(String userEmail) {
+        // Inventory caches access levels; a failed call only delays the change until the cache entry expires
+        try {
+            inventoryServiceClient.invalidateAuthorization(userEmail);
+        } catch (Exception e) {
+        }
+    }
+
     private void sendVerificationEmail(String email, String token) {
         if (mailSender == null) {
             return; // Skip if mail sender not configured
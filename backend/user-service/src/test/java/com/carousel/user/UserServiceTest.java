@@ -1,5 +1,6 @@
 package com.carousel.user;
 
+import com.carousel.user.client.inventory.InventoryServiceClient;
 import com.carousel.user.domain.AccessLevel;
 import com.carousel.user.domain.PendingUser;
 import com.carousel.user.domain.User;
@@ -9,11 +10,20 @@ import com.carousel.user.repository.UserRepository;
 import com.carousel.user.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -28,6 +38,12 @@ public class UserServiceTest {
     @Autowired
     private PendingUserRepository pendingUserRepository;
 
+    @MockBean
+    private JavaMailSender mailSender;
+
+    @MockBean
+    private InventoryServiceClient inventoryServiceClient;
+
     @BeforeEach
     public void setUp() {
         userRepository.deleteAll();
@@ -91,7 +107,9 @@ public class UserServiceTest {
 
         var response = userService.register(request);
         var pendingUser = pendingUserRepository.findByEmail("john@example.com").get();
-        String token = pendingUser.getEmailVerificationToken();
+        assertNull(pendingUser.getEmailVerificationToken());
+        String token = mailedToken("john@example.com");
+        assertNotEquals(token, pendingUser.getEmailVerificationTokenHash());
 
         userService.verifyEmail(token);
         
@@ -113,7 +131,7 @@ public class UserServiceTest {
         var pendingUser = pendingUserRepository.findByEmail("john@example.com").get();
         
         // Verify email first
-        userService.verifyEmail(pendingUser.getEmailVerificationToken());
+        userService.verifyEmail(mailedToken("john@example.com"));
         
         // Approve user
         userService.approvePendingUser(pendingUser.getId());
@@ -126,6 +144,25 @@ public class UserServiceTest {
         assertFalse(stillPending.isPresent());
     }
 
+    @Test
+    public void testLegacyPlainVerificationTokenStillVerifies() {
+        PendingUser pendingUser = PendingUser.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@example.com")
+                .requestedAccessLevel(AccessLevel.User)
+                .emailVerificationToken("legacy-token")
+                .emailVerified(false)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        pendingUserRepository.save(pendingUser);
+
+        userService.verifyEmail("legacy-token");
+
+        assertTrue(pendingUserRepository.findByEmail("john@example.com").get().isEmailVerified());
+    }
+
     @Test
     public void testInvalidEmailVerificationToken() {
         assertThrows(RuntimeException.class, () -> 
@@ -159,6 +196,25 @@ public class UserServiceTest {
         assertEquals(AccessLevel.User, userDto.getAccessLevel());
     }
 
+    @Test
+    public void testDirectlyCreatedUserVerifiesWithMailedToken() {
+        User adminUser = new User();
+        adminUser.setFirstName("Admin");
+        adminUser.setLastName("User");
+        adminUser.setEmail("admin@example.com");
+        adminUser.setPassword("password");
+        adminUser.setAccessLevel(AccessLevel.Admin);
+        adminUser.setEmailVerified(true);
+        userRepository.save(adminUser);
+
+        userService.createUserDirectly("User", "User", "support@example.com", AccessLevel.User, "admin@example.com");
+        assertFalse(userRepository.findByEmail("support@example.com").get().isEmailVerified());
+
+        userService.verifyEmail(mailedToken("support@example.com"));
+
+        assertTrue(userRepository.findByEmail("support@example.com").get().isEmailVerified());
+    }
+
     @Test
     public void testCreateUserDirectlyAsNonAdmin() {
         // Create a regular (non-admin) user first
@@ -216,6 +272,7 @@ public class UserServiceTest {
         assertEquals("Jane", updatedUserDto.getFirstName());
         assertEquals("Smith", updatedUserDto.getLastName());
         assertEquals(AccessLevel.Admin, updatedUserDto.getAccessLevel());
+        verify(inventoryServiceClient).invalidateAuthorization("john@example.com");
     }
 
     @Test
@@ -361,5 +418,15 @@ public class UserServiceTest {
             userService.getAllUsers("regular@example.com")
         );
     }
-}
 
+    // Only the hash is stored, so the token is read back from the verification mail
+    private String mailedToken(String email) {
+        ArgumentCaptor<SimpleMailMessage> sent = ArgumentCaptor.forClass(SimpleMailMessage.class);
+        verify(mailSender, atLeastOnce()).send(sent.capture());
+        SimpleMailMessage message = sent.getAllValues().stream()
+                .filter(candidate -> Arrays.asList(candidate.getTo()).contains(email))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        return message.getText().substring(message.getText().indexOf("token=") + "token=".length());
+    }
+}
@@ -0,0 +1,220 @@
+﻿# Benchmarks for Carousel response encoding
+# Cbor:        hot internal endpoints, JSON against CBOR: payload size and round-trip time, serialization included
+# Compression: large list endpoints through the gateway, identity against gzip: bytes on the wire and time,
+#              then an offline sweep of gzip levels and Brotli over the same payloads to weigh CPU against bytes
+
+param(
+    [ValidateSet("All", "Cbor", "Compression")]
+    [string]$Suite = "All",
+    [int]$ApiGatewayPort = 8000,
+    [int]$UserServicePort = 8002,
+    [int]$RoleServicePort = 8004,
+    [string]$Email = "alice.johnson@acmecorp.com",
+    [string]$RoleName = "Admin",
+    [int]$Iterations = 500,
+    [int]$Warmup = 50
+)
+
+$ErrorActionPreference = "Stop"
+
+# ANSI color codes for terminal output
+$Green = "`e[32m"
+$Red = "`e[31m"
+$Cyan = "`e[36m"
+$Reset = "`e[0m"
+
+$encodedEmail = [Uri]::EscapeDataString($Email)
+
+# Responses are read as sent, so gzip bodies stay compressed and their size is what crossed the wire
+$handler = New-Object System.Net.Http.HttpClientHandler
+$handler.AutomaticDecompression = [System.Net.DecompressionMethods]::None
+$client = New-Object System.Net.Http.HttpClient($handler)
+
+function Invoke-Once($url, $headers) {
+    $request = New-Object System.Net.Http.HttpRequestMessage([System.Net.Http.HttpMethod]::Get, $url)
+    foreach ($name in $headers.Keys) {
+        $request.Headers.TryAddWithoutValidation($name, $headers[$name]) | Out-Null
+    }
+    $response = $client.SendAsync($request).GetAwaiter().GetResult()
+    $body = $response.Content.ReadAsByteArrayAsync().GetAwaiter().GetResult()
+    $wireBytes = $body.Length
+    $encoding = "$($response.Content.Headers.ContentEncoding)"
+    if ($encoding -eq "gzip") {
+        # Decoding is part of what a client pays for a compressed response
+        $body = Expand-Gzip $body
+    }
+    return @{
+        StatusCode = [int]$response.StatusCode
+        ContentType = "$($response.Content.Headers.ContentType)"
+        ContentEncoding = $(if ($encoding) { $encoding } else { "identity" })
+        WireBytes = $wireBytes
+        Body = $body
+    }
+}
+
+function Expand-Gzip([byte[]]$bytes) {
+    $source = New-Object System.IO.MemoryStream(, $bytes)
+    $gzip = New-Object System.IO.Compression.GZipStream($source, [System.IO.Compression.CompressionMode]::Decompress)
+    $output = New-Object System.IO.MemoryStream
+    $gzip.CopyTo($output)
+    $gzip.Dispose()
+    return ,$output.ToArray()
+}
+
+function Measure-Endpoint($url, $headers) {
+    for ($i = 0; $i -lt $Warmup; $i++) {
+        Invoke-Once $url $headers | Out-Null
+    }
+
+    $timings = New-Object System.Collections.Generic.List[double]
+    $last = $null
+    for ($i = 0; $i -lt $Iterations; $i++) {
+        $watch = [System.Diagnostics.Stopwatch]::StartNew()
+        $last = Invoke-Once $url $headers
+        $watch.Stop()
+        $timings.Add($watch.Elapsed.TotalMilliseconds)
+    }
+
+    $stats = Get-TimingStats $timings
+    return @{
+        StatusCode = $last.StatusCode
+        ContentType = $last.ContentType
+        ContentEncoding = $last.ContentEncoding
+        WireBytes = $last.WireBytes
+        Body = $last.Body
+        MeanMs = $stats.MeanMs
+        P95Ms = $stats.P95Ms
+    }
+}
+
+function Get-TimingStats($timings) {
+    $sorted = $timings | Sort-Object
+    return @{
+        MeanMs = ($timings | Measure-Object -Average).Average
+        P95Ms = $sorted[[Math]::Min($sorted.Count - 1, [int][Math]::Floor($sorted.Count * 0.95))]
+    }
+}
+
+function Invoke-Suite($title, $endpoints, $variants) {
+    Write-Host "${Cyan}--- $title ---${Reset}"
+    $rows = @()
+    $bodies = @{}
+    foreach ($endpoint in $endpoints) {
+        $baseline = $null
+        foreach ($variant in $variants) {
+            try {
+                $result = Measure-Endpoint $endpoint.Url $variant.Headers
+            } catch {
+                Write-Host "${Red}$($endpoint.Name) [$($variant.Name)] failed: $($_.Exception.Message)${Reset}"
+                Write-Host "Start the services first with: .\launch-backend.ps1 --fast"
+                exit 1
+            }
+            if ($result.StatusCode -ne 200) {
+                Write-Host "${Red}$($endpoint.Name) [$($variant.Name)] returned HTTP $($result.StatusCode)${Reset}"
+                continue
+            }
+            if (-not $baseline) {
+                $baseline = $result
+                $bodies[$endpoint.Name] = $result.Body
+            }
+
+            $rows += [PSCustomObject]@{
+                Endpoint = $endpoint.Name
+                Variant = $variant.Name
+                ContentType = $result.ContentType
+                Encoding = $result.ContentEncoding
+                Bytes = $result.WireBytes
+                "Size %" = [Math]::Round(100.0 * $result.WireBytes / [Math]::Max(1, $baseline.WireBytes), 1)
+                "Mean ms" = [Math]::Round($result.MeanMs, 3)
+                "P95 ms" = [Math]::Round($result.P95Ms, 3)
+            }
+        }
+    }
+    $rows | Format-Table -AutoSize | Out-Host
+    return $bodies
+}
+
+function Compress-Bytes([byte[]]$bytes, $algorithm, $level) {
+    $output = New-Object System.IO.MemoryStream
+    $stream = if ($algorithm -eq "brotli") {
+        New-Object System.IO.Compression.BrotliStream($output, $level, $true)
+    } else {
+        New-Object System.IO.Compression.GZipStream($output, $level, $true)
+    }
+    $stream.Write($bytes, 0, $bytes.Length)
+    $stream.Dispose()
+    return $output.Length
+}
+
+function Invoke-LevelSweep($bodies) {
+    Write-Host "${Cyan}--- Compression levels (offline, same payloads) ---${Reset}"
+    $levels = @(
+        @{ Name = "gzip fastest"; Algorithm = "gzip"; Level = [System.IO.Compression.CompressionLevel]::Fastest },
+        @{ Name = "gzip optimal"; Algorithm = "gzip"; Level = [System.IO.Compression.CompressionLevel]::Optimal },
+        @{ Name = "gzip smallest"; Algorithm = "gzip"; Level = [System.IO.Compression.CompressionLevel]::SmallestSize },
+        @{ Name = "brotli fastest"; Algorithm = "brotli"; Level = [System.IO.Compression.CompressionLevel]::Fastest },
+        @{ Name = "brotli optimal"; Algorithm = "brotli"; Level = [System.IO.Compression.CompressionLevel]::Optimal }
+    )
+
+    $rows = @()
+    foreach ($name in $bodies.Keys) {
+        $body = $bodies[$name]
+        foreach ($level in $levels) {
+            $timings = New-Object System.Collections.Generic.List[double]
+            $size = 0
+            for ($i = 0; $i -lt [Math]::Max(1, [int]($Iterations / 10)); $i++) {
+                $watch = [System.Diagnostics.Stopwatch]::StartNew()
+                $size = Compress-Bytes $body $level.Algorithm $level.Level
+                $watch.Stop()
+                $timings.Add($watch.Elapsed.TotalMilliseconds)
+            }
+            $stats = Get-TimingStats $timings
+            $rows += [PSCustomObject]@{
+                Endpoint = $name
+                Level = $level.Name
+                Raw = $body.Length
+                Bytes = $size
+                "Size %" = [Math]::Round(100.0 * $size / [Math]::Max(1, $body.Length), 1)
+                "CPU ms" = [Math]::Round($stats.MeanMs, 3)
+                "MB/s" = [Math]::Round($body.Length / 1MB / [Math]::Max(0.000001, $stats.MeanMs / 1000), 1)
+            }
+        }
+    }
+    $rows | Format-Table -AutoSize | Out-Host
+}
+
+Write-Host "${Cyan}=== Carousel Response Encoding Benchmark ===${Reset}"
+Write-Host "Iterations: $Iterations (after $Warmup warm-up calls) per endpoint and variant"
+Write-Host ""
+
+if ($Suite -eq "All" -or $Suite -eq "Cbor") {
+    $internalEndpoints = @(
+        @{ Name = "user by email"; Url = "http://localhost:${UserServicePort}/api/users/email/$encodedEmail" },
+        @{ Name = "roles for user"; Url = "http://localhost:${RoleServicePort}/api/roles/user/$encodedEmail" },
+        @{ Name = "user has role"; Url = "http://localhost:${RoleServicePort}/api/roles/user/$encodedEmail/has/$RoleName" }
+    )
+    $formats = @(
+        @{ Name = "JSON"; Headers = @{ "Accept" = "application/json" } },
+        @{ Name = "CBOR"; Headers = @{ "Accept" = "application/cbor" } }
+    )
+    Invoke-Suite "Internal calls: JSON vs CBOR" $internalEndpoints $formats | Out-Null
+}
+
+if ($Suite -eq "All" -or $Suite -eq "Compression") {
+    $listEndpoints = @(
+        @{ Name = "inventory items"; Url = "http://localhost:${ApiGatewayPort}/api/inventory/items?requesterEmail=$encodedEmail" },
+        @{ Name = "all users"; Url = "http://localhost:${ApiGatewayPort}/api/users/admin/all?requesterEmail=$encodedEmail" },
+        @{ Name = "pending approvals"; Url = "http://localhost:${ApiGatewayPort}/api/approvals/pending" }
+    )
+    $encodings = @(
+        @{ Name = "identity"; Headers = @{ "Accept" = "application/json"; "Accept-Encoding" = "identity" } },
+        @{ Name = "gzip"; Headers = @{ "Accept" = "application/json"; "Accept-Encoding" = "gzip" } }
+    )
+    $bodies = Invoke-Suite "List endpoints through the gateway: identity vs gzip" $listEndpoints $encodings
+    Write-Host "Responses under server.compression.min-response-size stay identity even when gzip is accepted."
+    Write-Host ""
+    Invoke-LevelSweep $bodies
+}
+
+$client.Dispose()
+Write-Host "${Green}Done.${Reset} Sizes are relative to the first variant of each endpoint, or to the raw payload for levels."
@@ -83,6 +83,8 @@ export interface ResourceType {
   icon: string;
   parentTypeId?: string;
   parentTypeName?: string;
+  ancestorIds?: string[];
+  lowStockThreshold?: number;
 }
 
 export interface ResourceTypeRequest {
@@ -90,6 +92,7 @@ export interface ResourceTypeRequest {
   description: string;
   icon: string;
   parentTypeId?: string;
+  lowStockThreshold?: number;
 }
 
 export interface InventoryItem {
@@ -101,6 +104,7 @@ export interface InventoryItem {
   resourceSubTypeId?: string;
   resourceSubTypeName?: string;
   availableQuantity: number;
+  lowStockThreshold?: number;
   createdAt?: string;
   updatedAt?: string;
 }
@@ -111,4 +115,5 @@ export interface InventoryItemRequest {
   resourceTypeId: string;
   resourceSubTypeId?: string;
   availableQuantity?: number;
+  lowStockThreshold?: number;
 }